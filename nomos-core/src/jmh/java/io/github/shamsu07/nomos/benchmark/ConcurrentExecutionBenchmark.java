@@ -0,0 +1,119 @@
+package io.github.shamsu07.nomos.benchmark;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.engine.RuleEngine;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for rule execution scaling across threads.
+ *
+ * <p>All threads share one engine. Throughput per thread should stay roughly flat as the thread
+ * count grows, since execution reads an immutable rule snapshot without locking.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConcurrentExecutionBenchmark {
+
+  private RuleEngine engine;
+  private Facts facts;
+
+  @Setup
+  public void setup() {
+    FunctionRegistry functionRegistry = new FunctionRegistry();
+    functionRegistry.registerFunctionsFrom(new BenchmarkFunctions());
+
+    String yaml =
+        """
+        rules:
+          - name: "Rule1"
+            priority: 100
+            when: "isVIP() && balance > 100"
+            then:
+              - discount = 10
+          - name: "Rule2"
+            priority: 90
+            when: "balance > 500"
+            then:
+              - discount = 15
+          - name: "Rule3"
+            priority: 80
+            when: "age >= 18 && age < 65"
+            then:
+              - eligible = true
+          - name: "Rule4"
+            priority: 70
+            when: 'city == "NYC"'
+            then:
+              - tax = 8.875
+          - name: "Rule5"
+            priority: 60
+            when: "orderCount > 10"
+            then:
+              - loyal = true
+        """;
+
+    YAMLRuleLoader loader =
+        new YAMLRuleLoader(
+            new ExpressionEvaluator(functionRegistry), functionRegistry, new ActionRegistry());
+    engine = new RuleEngine();
+    engine.addRules(loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))));
+
+    facts =
+        new Facts()
+            .put("vip", true)
+            .put("balance", 150.0)
+            .put("age", 30)
+            .put("city", "NYC")
+            .put("orderCount", 5);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void execute1Thread(Blackhole blackhole) {
+    blackhole.consume(engine.execute(facts));
+  }
+
+  @Benchmark
+  @Threads(2)
+  public void execute2Threads(Blackhole blackhole) {
+    blackhole.consume(engine.execute(facts));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void execute4Threads(Blackhole blackhole) {
+    blackhole.consume(engine.execute(facts));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void execute8Threads(Blackhole blackhole) {
+    blackhole.consume(engine.execute(facts));
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void execute32Threads(Blackhole blackhole) {
+    blackhole.consume(engine.execute(facts));
+  }
+
+  public static class BenchmarkFunctions {
+    @NomosFunction("isVIP")
+    public boolean isVIP(Facts facts) {
+      return Boolean.TRUE.equals(facts.get("vip"));
+    }
+  }
+}
@@ -1,6 +1,12 @@
 package io.github.shamsu07.nomos.benchmark;
 
 import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.compile.BytecodeCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.MethodHandleCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.TieredCompiler;
+import io.github.shamsu07.nomos.core.facts.FactSchema;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.function.NomosFunction;
@@ -22,15 +28,69 @@ import org.openjdk.jmh.infra.Blackhole;
 public class ExpressionEvaluationBenchmark {
 
   private ExpressionEvaluator evaluator;
+  private ExpressionEvaluator uncachedEvaluator;
   private Facts facts;
+  private Expression parsedCondition;
+  private Facts nestedMapFacts;
+  private Facts schemaFacts;
+  private Expression parsedProperty;
+  private Expression parsedMissingProperty;
+  private Expression parsedFunctionCondition;
+  private Facts pojoFacts;
+  private Expression parsedComplex;
+  private Expression parsedArithmetic;
+  private Expression compiledCondition;
+  private Expression compiledFunctionCondition;
+  private Expression compiledComplex;
+  private Expression compiledArithmetic;
+  private Expression handleCondition;
+  private Expression handleFunctionCondition;
+  private Expression handleComplex;
+  private Expression handleArithmetic;
+  private Expression tieredComplex;
 
   @Setup
   public void setup() {
     FunctionRegistry registry = new FunctionRegistry();
     registry.registerFunctionsFrom(new BenchmarkFunctions());
     evaluator = new ExpressionEvaluator(registry);
+    uncachedEvaluator = new ExpressionEvaluator(registry, ExpressionCompiler.interpreter(), 0);
 
     facts = new Facts().put("age", 30).put("balance", 150.0).put("name", "John").put("vip", true);
+
+    // Fixed-shape facts read through string keys vs schema slots
+    parsedCondition = evaluator.parse("cart.total > 100 && user.tier == \"GOLD\"");
+    nestedMapFacts = new Facts().put("cart.total", 150.0).put("user.tier", "GOLD");
+    schemaFacts =
+        new Facts(FactSchema.of("cart.total", "user.tier"))
+            .put("cart.total", 150.0)
+            .put("user.tier", "GOLD");
+
+    parsedProperty = evaluator.parse("user.name");
+    parsedMissingProperty = evaluator.parse("user.nickname");
+    parsedFunctionCondition = evaluator.parse("isVIP() && balance > 100");
+    pojoFacts = new Facts().put("user", new User("John", 30));
+
+    // Same ASTs compiled to hidden classes
+    parsedComplex = evaluator.parse("isVIP() && (balance > 100 || age > 25) && name != null");
+    parsedArithmetic = evaluator.parse("(age + 10) * 2 - balance / 3");
+    ExpressionEvaluator compiling = new ExpressionEvaluator(registry, new BytecodeCompiler());
+    compiledCondition = compiling.compile(parsedCondition);
+    compiledFunctionCondition = compiling.compile(parsedFunctionCondition);
+    compiledComplex = compiling.compile(parsedComplex);
+    compiledArithmetic = compiling.compile(parsedArithmetic);
+
+    // Same ASTs as method handle trees
+    MethodHandleCompiler handles = new MethodHandleCompiler(registry);
+    handleCondition = handles.compile(parsedCondition);
+    handleFunctionCondition = handles.compile(parsedFunctionCondition);
+    handleComplex = handles.compile(parsedComplex);
+    handleArithmetic = handles.compile(parsedArithmetic);
+
+    // Starts interpreted, compiled in the background during warmup
+    tieredComplex =
+        new TieredCompiler(new BytecodeCompiler(), TieredCompiler.DEFAULT_THRESHOLD)
+            .compile(parsedComplex);
   }
 
   @Benchmark
@@ -63,6 +123,13 @@ public class ExpressionEvaluationBenchmark {
     blackhole.consume(result);
   }
 
+  @Benchmark
+  public void uncachedLogicalExpression(Blackhole blackhole) {
+    // Same string as logicalExpression, lexed and parsed on every call
+    Object result = uncachedEvaluator.evaluate("age >= 18 && balance > 50", facts);
+    blackhole.consume(result);
+  }
+
   @Benchmark
   public void functionCallExpression(Blackhole blackhole) {
     Object result = evaluator.evaluate("isVIP()", facts);
@@ -83,6 +150,91 @@ public class ExpressionEvaluationBenchmark {
     blackhole.consume(result);
   }
 
+  @Benchmark
+  public void parsedNestedAccess(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedCondition, nestedMapFacts));
+  }
+
+  @Benchmark
+  public void parsedNestedAccessWithSchema(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedCondition, schemaFacts));
+  }
+
+  @Benchmark
+  public void parsedPropertyAccess(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedProperty, pojoFacts));
+  }
+
+  @Benchmark
+  public void parsedMissingPropertyAccess(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedMissingProperty, pojoFacts));
+  }
+
+  @Benchmark
+  public void parsedFunctionCondition(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedFunctionCondition, facts));
+  }
+
+  @Benchmark
+  public void compiledNestedAccess(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(compiledCondition, nestedMapFacts));
+  }
+
+  @Benchmark
+  public void compiledNestedAccessWithSchema(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(compiledCondition, schemaFacts));
+  }
+
+  @Benchmark
+  public void compiledFunctionCondition(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(compiledFunctionCondition, facts));
+  }
+
+  @Benchmark
+  public void parsedComplexExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedComplex, facts));
+  }
+
+  @Benchmark
+  public void compiledComplexExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(compiledComplex, facts));
+  }
+
+  @Benchmark
+  public void parsedArithmeticExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(parsedArithmetic, facts));
+  }
+
+  @Benchmark
+  public void compiledArithmeticExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(compiledArithmetic, facts));
+  }
+
+  @Benchmark
+  public void methodHandleNestedAccess(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(handleCondition, nestedMapFacts));
+  }
+
+  @Benchmark
+  public void methodHandleFunctionCondition(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(handleFunctionCondition, facts));
+  }
+
+  @Benchmark
+  public void methodHandleComplexExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(handleComplex, facts));
+  }
+
+  @Benchmark
+  public void methodHandleArithmeticExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(handleArithmetic, facts));
+  }
+
+  @Benchmark
+  public void tieredComplexExpression(Blackhole blackhole) {
+    blackhole.consume(evaluator.evaluate(tieredComplex, facts));
+  }
+
   public static class BenchmarkFunctions {
     @NomosFunction("isVIP")
     public boolean isVIP(Facts facts) {
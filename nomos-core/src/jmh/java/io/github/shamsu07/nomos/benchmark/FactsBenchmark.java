@@ -0,0 +1,53 @@
+package io.github.shamsu07.nomos.benchmark;
+
+import io.github.shamsu07.nomos.core.facts.Facts;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for Facts updates and lookups.
+ *
+ * <p>Mirrors a rule with four assignments over 40 facts. Run with {@code -prof gc} to see the
+ * allocation per put.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FactsBenchmark {
+
+  private Facts facts;
+
+  @Setup
+  public void setup() {
+    Facts f = new Facts();
+    for (int i = 0; i < 38; i++) {
+      f = f.put("fact" + i, i);
+    }
+    facts = f.put("user.name", "John").put("user.tier", "GOLD");
+  }
+
+  @Benchmark
+  public void fourPuts(Blackhole blackhole) {
+    blackhole.consume(
+        facts.put("discount", 10).put("tax", 8.875).put("eligible", true).put("fact7", 70));
+  }
+
+  @Benchmark
+  public void nestedPut(Blackhole blackhole) {
+    blackhole.consume(facts.put("user.tier", "PLATINUM"));
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    blackhole.consume(facts.get("fact20"));
+  }
+
+  @Benchmark
+  public void nestedGet(Blackhole blackhole) {
+    blackhole.consume(facts.get("user.name"));
+  }
+}
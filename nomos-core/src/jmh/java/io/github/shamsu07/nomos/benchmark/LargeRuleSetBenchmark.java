@@ -0,0 +1,208 @@
+package io.github.shamsu07.nomos.benchmark;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.engine.RuleEngine;
+import io.github.shamsu07.nomos.core.engine.RuleSession;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for executing large rule sets whose conditions the engine can index.
+ *
+ * <p>{@code partitionedExecution} runs 8,000 rules guarded by {@code country == ... && channel ==
+ * ...} (50 countries, 4 channels), so each request matches 40 rules. {@code tieredExecution} runs
+ * 8,000 rules over disjoint {@code balance >= lo && balance < hi} bands, so one rule matches. The
+ * {@code Unindexed} variants wrap the same conditions in lambdas, which the engine cannot inspect,
+ * so every condition is evaluated.
+ *
+ * <p>{@code partitionedSessionUpdate} changes {@code cart.total} in a {@link RuleSession} over the
+ * partitioned rules and fires the rules affected by the change.
+ *
+ * <p>{@code chainedExecution} adds a chain of 100 rules ({@code level == i} sets {@code level = i +
+ * 1}, lowest priority first) to the partitioned rules and runs to the fixpoint. {@code
+ * chainedExecutionLoop} reaches the same fixpoint by calling {@code execute} until the facts stop
+ * changing.
+ *
+ * <p>{@code goalDirectedExecution} runs a catalogue of 8,000 unindexed rules spread over 100
+ * outputs, asking for one of them, so 80 rules are evaluated. {@code catalogueExecution} runs the
+ * whole catalogue.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeRuleSetBenchmark {
+
+  private static final String[] CHANNELS = {"WEB", "APP", "STORE", "PHONE"};
+  private static final int COUNTRIES = 50;
+  private static final int RULES = 8_000;
+  private static final int CHAIN = 100;
+  private static final int OUTPUTS = 100;
+  private static final Set<String> REQUESTED = Set.of("out7");
+
+  private RuleEngine partitionedEngine;
+  private RuleEngine partitionedUnindexedEngine;
+  private Facts partitionedFacts;
+  private RuleSession partitionedSession;
+  private RuleEngine chainedEngine;
+  private Facts chainedFacts;
+  private double cartTotal;
+  private RuleEngine tieredEngine;
+  private RuleEngine tieredUnindexedEngine;
+  private Facts tieredFacts;
+  private RuleEngine catalogueEngine;
+  private Facts catalogueFacts;
+
+  @Setup
+  public void setup() {
+    FunctionRegistry functionRegistry = new FunctionRegistry();
+    YAMLRuleLoader loader =
+        new YAMLRuleLoader(
+            new ExpressionEvaluator(functionRegistry), functionRegistry, new ActionRegistry());
+
+    StringBuilder yaml = new StringBuilder("rules:\n");
+    for (int i = 0; i < RULES; i++) {
+      String condition =
+          String.format(
+              "country == \"C%d\" && channel == \"%s\" && cart.total > %d",
+              i % COUNTRIES, CHANNELS[(i / COUNTRIES) % CHANNELS.length], i % 300);
+      appendRule(yaml, "Partitioned" + i, i, condition, "discount = " + (i % 30));
+    }
+    List<Rule> partitioned = load(loader, yaml);
+
+    partitionedEngine = new RuleEngine();
+    partitionedEngine.addRules(partitioned);
+    partitionedUnindexedEngine = new RuleEngine();
+    partitionedUnindexedEngine.addRules(withoutParsedConditions(partitioned));
+    partitionedFacts =
+        new Facts().put("country", "C7").put("channel", "APP").put("cart.total", 150.0);
+    partitionedSession = partitionedEngine.newSession(functionRegistry);
+    partitionedSession.insert("country", "C7");
+    partitionedSession.insert("channel", "APP");
+    partitionedSession.insert("cart.total", 150.0);
+    partitionedSession.fireAllRules();
+
+    yaml = new StringBuilder("rules:\n");
+    for (int i = 0; i < CHAIN; i++) {
+      appendRule(yaml, "Level" + i, -CHAIN + i, "level == " + i, "level = " + (i + 1));
+    }
+    chainedEngine = new RuleEngine();
+    chainedEngine.addRules(partitioned);
+    chainedEngine.addRules(load(loader, yaml));
+    chainedFacts = partitionedFacts.put("level", 0.0);
+
+    yaml = new StringBuilder("rules:\n");
+    for (int i = 0; i < RULES; i++) {
+      String condition = String.format("balance >= %d && balance < %d", i * 10, (i + 1) * 10);
+      appendRule(yaml, "Tier" + i, i, condition, "tier = " + i);
+    }
+    List<Rule> tiered = load(loader, yaml);
+
+    tieredEngine = new RuleEngine();
+    tieredEngine.addRules(tiered);
+    tieredUnindexedEngine = new RuleEngine();
+    tieredUnindexedEngine.addRules(withoutParsedConditions(tiered));
+    tieredFacts = new Facts().put("balance", 41_235.5);
+
+    yaml = new StringBuilder("rules:\n");
+    for (int i = 0; i < RULES; i++) {
+      String condition = String.format("cart.total * %d > %d", i % 7 + 1, i % 900);
+      appendRule(yaml, "Catalogue" + i, i, condition, "out" + (i % OUTPUTS) + " = " + i);
+    }
+    catalogueEngine = new RuleEngine();
+    catalogueEngine.addRules(load(loader, yaml));
+    catalogueFacts = new Facts().put("cart.total", 150.0);
+  }
+
+  @Benchmark
+  public void partitionedExecution(Blackhole blackhole) {
+    blackhole.consume(partitionedEngine.execute(partitionedFacts));
+  }
+
+  @Benchmark
+  public void partitionedExecutionUnindexed(Blackhole blackhole) {
+    blackhole.consume(partitionedUnindexedEngine.execute(partitionedFacts));
+  }
+
+  @Benchmark
+  public void partitionedSessionUpdate(Blackhole blackhole) {
+    cartTotal = cartTotal == 150.0 ? 250.0 : 150.0;
+    partitionedSession.update("cart.total", cartTotal);
+    blackhole.consume(partitionedSession.fireAllRules());
+  }
+
+  @Benchmark
+  public void chainedExecution(Blackhole blackhole) {
+    blackhole.consume(chainedEngine.executeChained(chainedFacts));
+  }
+
+  @Benchmark
+  public void chainedExecutionLoop(Blackhole blackhole) {
+    Facts facts = chainedFacts;
+    Facts next = chainedEngine.execute(facts);
+    while (!next.asMap().equals(facts.asMap())) {
+      facts = next;
+      next = chainedEngine.execute(facts);
+    }
+    blackhole.consume(next);
+  }
+
+  @Benchmark
+  public void goalDirectedExecution(Blackhole blackhole) {
+    blackhole.consume(catalogueEngine.execute(catalogueFacts, REQUESTED));
+  }
+
+  @Benchmark
+  public void catalogueExecution(Blackhole blackhole) {
+    blackhole.consume(catalogueEngine.execute(catalogueFacts));
+  }
+
+  @Benchmark
+  public void tieredExecution(Blackhole blackhole) {
+    blackhole.consume(tieredEngine.execute(tieredFacts));
+  }
+
+  @Benchmark
+  public void tieredExecutionUnindexed(Blackhole blackhole) {
+    blackhole.consume(tieredUnindexedEngine.execute(tieredFacts));
+  }
+
+  private static void appendRule(
+      StringBuilder yaml, String name, int priority, String condition, String action) {
+    yaml.append("  - name: \"").append(name).append("\"\n");
+    yaml.append("    priority: ").append(priority).append('\n');
+    yaml.append("    when: '").append(condition).append("'\n");
+    yaml.append("    then:\n");
+    yaml.append("      - ").append(action).append('\n');
+  }
+
+  private static List<Rule> load(YAMLRuleLoader loader, StringBuilder yaml) {
+    byte[] bytes = yaml.toString().getBytes(StandardCharsets.UTF_8);
+    return loader.load(new ByteArrayInputStream(bytes));
+  }
+
+  // Same conditions behind lambdas, so the engine evaluates every rule
+  private static List<Rule> withoutParsedConditions(List<Rule> rules) {
+    List<Rule> opaque = new ArrayList<>(rules.size());
+    for (Rule rule : rules) {
+      Rule.Builder builder =
+          Rule.builder().name(rule.getName()).priority(rule.getPriority()).when(rule::evaluate);
+      rule.getActions().forEach(builder::then);
+      opaque.add(builder.build());
+    }
+    return opaque;
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.shamsu07.nomos.benchmark;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.ExpressionParser;
+import io.github.shamsu07.nomos.core.expression.Lexer;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for parsing the expressions of a large rule set, as done on every reload.
+ *
+ * <p>Compares the streaming lexer with building the token list first, and measures a full load of
+ * the same rules from YAML.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+  @Param({"8000"})
+  private int ruleCount;
+
+  private List<String> expressions;
+  private byte[] yaml;
+  private YAMLRuleLoader loader;
+
+  @Setup
+  public void setup() {
+    FunctionRegistry functionRegistry = new FunctionRegistry();
+    functionRegistry.registerFunctionsFrom(new BenchmarkFunctions());
+    loader =
+        new YAMLRuleLoader(
+            new ExpressionEvaluator(functionRegistry), functionRegistry, new ActionRegistry());
+
+    // One condition and three action values per rule, as in typical pricing rules
+    expressions = new ArrayList<>(ruleCount * 4);
+    StringBuilder rules = new StringBuilder("rules:\n");
+    for (int i = 0; i < ruleCount; i++) {
+      String condition =
+          String.format(
+              "isVIP() && cart.total >= %d.5 || user.region == \"EU-%d\" && !(user.blocked)",
+              i % 500, i);
+      String reason = String.format("Rule %d applied", i);
+      String[] values = {
+        String.format("cart.total * 0.%02d", i % 100),
+        "'" + reason + "'",
+        String.format("(user.points + %d) / 2 - cart.items", i)
+      };
+      expressions.add(condition);
+      expressions.addAll(List.of(values));
+
+      rules.append("  - name: \"Rule").append(i).append("\"\n");
+      rules.append("    priority: ").append(i).append('\n');
+      rules.append("    when: '").append(condition).append("'\n");
+      rules.append("    then:\n");
+      rules.append("      - discount.amount = ").append(values[0]).append('\n');
+      rules.append("      - discount.reason = \"").append(reason).append("\"\n");
+      rules.append("      - user.points = ").append(values[2]).append('\n');
+    }
+    yaml = rules.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public void parseStreaming(Blackhole blackhole) {
+    for (String expression : expressions) {
+      blackhole.consume(new ExpressionParser(new Lexer(expression)).parse());
+    }
+  }
+
+  @Benchmark
+  public void parseTokenList(Blackhole blackhole) {
+    for (String expression : expressions) {
+      blackhole.consume(new ExpressionParser(new Lexer(expression).tokenize()).parse());
+    }
+  }
+
+  @Benchmark
+  public void loadRuleSet(Blackhole blackhole) {
+    blackhole.consume(loader.load(new ByteArrayInputStream(yaml)));
+  }
+
+  public static class BenchmarkFunctions {
+    @NomosFunction("isVIP")
+    public boolean isVIP() {
+      return true;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
 import io.github.shamsu07.nomos.core.rule.Rule;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.*;
@@ -20,6 +21,14 @@ import org.openjdk.jmh.infra.Blackhole;
  * Benchmarks for rule execution performance.
  *
  * <p>Target: >100K rule evaluations per second
+ *
+ * <p>{@code complexRuleExecutionReparsing} re-lexes and re-parses every condition on each
+ * evaluation (the pre parse-once behavior) and serves as the baseline for {@code
+ * complexRuleExecution}.
+ *
+ * <p>{@code sharedCallExecution} runs five rules that all call {@code cartTotal()}, loaded
+ * together so the call is shared and computed once per execution; {@code unsharedCallExecution}
+ * loads the same rules one by one, so every rule calls the function again.
  */
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
@@ -31,8 +40,12 @@ public class RuleExecutionBenchmark {
 
   private RuleEngine simpleEngine;
   private RuleEngine complexEngine;
+  private RuleEngine reparsingEngine;
+  private RuleEngine sharedCallEngine;
+  private RuleEngine unsharedCallEngine;
   private Facts simpleFacts;
   private Facts complexFacts;
+  private Facts cartFacts;
 
   @Setup
   public void setup() throws Exception {
@@ -114,7 +127,20 @@ public class RuleExecutionBenchmark {
 
     YAMLRuleLoader loader = new YAMLRuleLoader(evaluator, functionRegistry, actionRegistry);
     List<Rule> rules = loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
-    rules.forEach(complexEngine::addRule);
+    complexEngine.addRules(rules);
+
+    // Same rules, but conditions evaluated from their source string every time
+    reparsingEngine = new RuleEngine();
+    for (Rule rule : rules) {
+      String condition = rule.getConditionExpression();
+      Rule.Builder builder =
+          Rule.builder()
+              .name(rule.getName())
+              .priority(rule.getPriority())
+              .when(facts -> Boolean.TRUE.equals(evaluator.evaluate(condition, facts)));
+      rule.getActions().forEach(builder::then);
+      reparsingEngine.addRule(builder.build());
+    }
 
     complexFacts =
         new Facts()
@@ -123,6 +149,36 @@ public class RuleExecutionBenchmark {
             .put("age", 30)
             .put("city", "NYC")
             .put("orderCount", 5);
+
+    // Same function call in every condition, written facts do not touch the cart
+    StringBuilder sharedYaml = new StringBuilder("rules:\n");
+    List<String> singleRules = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      String rule =
+          "  - name: \"Tier"
+              + i
+              + "\"\n    priority: "
+              + i
+              + "\n    when: \"cartTotal() > "
+              + (i * 100)
+              + "\"\n    then:\n      - tier"
+              + i
+              + " = true\n";
+      sharedYaml.append(rule);
+      singleRules.add("rules:\n" + rule);
+    }
+    sharedCallEngine = new RuleEngine();
+    sharedCallEngine.addRules(load(loader, sharedYaml.toString()));
+    unsharedCallEngine = new RuleEngine();
+    for (String single : singleRules) {
+      unsharedCallEngine.addRules(load(loader, single));
+    }
+
+    cartFacts = new Facts().put("cart", new double[] {120.0, 80.5, 240.0, 99.9, 15.0, 310.0});
+  }
+
+  private static List<Rule> load(YAMLRuleLoader loader, String yaml) {
+    return loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
   }
 
   @Benchmark
@@ -137,6 +193,22 @@ public class RuleExecutionBenchmark {
     blackhole.consume(result);
   }
 
+  @Benchmark
+  public void complexRuleExecutionReparsing(Blackhole blackhole) {
+    Facts result = reparsingEngine.execute(complexFacts);
+    blackhole.consume(result);
+  }
+
+  @Benchmark
+  public void sharedCallExecution(Blackhole blackhole) {
+    blackhole.consume(sharedCallEngine.execute(cartFacts));
+  }
+
+  @Benchmark
+  public void unsharedCallExecution(Blackhole blackhole) {
+    blackhole.consume(unsharedCallEngine.execute(cartFacts));
+  }
+
   @Benchmark
   public void simpleRuleExecutionWithTrace(Blackhole blackhole) {
     RuleEngine.ExecutionResult result = simpleEngine.executeWithTrace(simpleFacts);
@@ -148,6 +220,15 @@ public class RuleExecutionBenchmark {
     public boolean isVIP(Facts facts) {
       return Boolean.TRUE.equals(facts.get("vip"));
     }
+
+    @NomosFunction(value = "cartTotal", reads = "cart")
+    public double cartTotal(Facts facts) {
+      double total = 0;
+      for (double price : facts.get("cart", double[].class)) {
+        total += price;
+      }
+      return total;
+    }
   }
 
   public static class BenchmarkActions {
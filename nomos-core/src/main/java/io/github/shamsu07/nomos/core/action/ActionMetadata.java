@@ -3,6 +3,7 @@ package io.github.shamsu07.nomos.core.action;
 import java.lang.invoke.MethodHandle;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Metadata for a registered action including its MethodHandle and parameter types.
@@ -17,6 +18,7 @@ public final class ActionMetadata {
   private final Class<?> returnType;
   private final boolean hasFactsParameter;
   private final boolean returnsVoid;
+  private final Set<String> writes;
   private final MethodHandle spreader;
 
   public ActionMetadata(
@@ -25,12 +27,23 @@ public final class ActionMetadata {
       Class<?>[] parameterTypes,
       Class<?> returnType,
       boolean hasFactsParameter) {
+    this(name, methodHandle, parameterTypes, returnType, hasFactsParameter, Set.of());
+  }
+
+  public ActionMetadata(
+      String name,
+      MethodHandle methodHandle,
+      Class<?>[] parameterTypes,
+      Class<?> returnType,
+      boolean hasFactsParameter,
+      Set<String> writes) {
     this.name = Objects.requireNonNull(name, "Action name cannot be null");
     this.methodHandle = Objects.requireNonNull(methodHandle, "MethodHandle cannot be null");
     this.parameterTypes = Objects.requireNonNull(parameterTypes, "Parameter types cannot be null");
     this.returnType = Objects.requireNonNull(returnType, "Return type cannot be null");
     this.hasFactsParameter = hasFactsParameter;
     this.returnsVoid = void.class.equals(returnType) || Void.class.equals(returnType);
+    this.writes = Set.copyOf(Objects.requireNonNull(writes, "Writes cannot be null"));
     this.spreader = methodHandle.asSpreader(Object[].class, parameterTypes.length);
   }
 
@@ -62,6 +75,15 @@ public final class ActionMetadata {
     return returnsVoid;
   }
 
+  /**
+   * Get the top-level fact keys the action declares it writes.
+   *
+   * @return Fact roots; empty if not declared
+   */
+  public Set<String> getWrites() {
+    return writes;
+  }
+
   public int getParameterCount() {
     return parameterTypes.length;
   }
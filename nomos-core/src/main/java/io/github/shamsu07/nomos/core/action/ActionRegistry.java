@@ -1,12 +1,18 @@
 package io.github.shamsu07.nomos.core.action;
 
+import io.github.shamsu07.nomos.core.expression.ReadSets;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.rule.Rule;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -52,7 +58,13 @@ public final class ActionRegistry {
           boolean hasFactsParam = paramTypes.length > 0 && Facts.class.equals(paramTypes[0]);
 
           ActionMetadata metadata =
-              new ActionMetadata(actionName, handle, paramTypes, returnType, hasFactsParam);
+              new ActionMetadata(
+                  actionName,
+                  handle,
+                  paramTypes,
+                  returnType,
+                  hasFactsParam,
+                  rootsOf(annotation.writes()));
           registerAction(actionName, metadata);
         } catch (IllegalAccessException e) {
           throw new IllegalStateException(
@@ -149,36 +161,33 @@ public final class ActionRegistry {
     ActionMetadata metadata = getAction(name);
 
     return facts -> {
-      try {
-        // Build full arguments array
-        Object[] fullArgs;
-        if (metadata.hasFactsParameter()) {
-          fullArgs = new Object[args.length + 1];
-          fullArgs[0] = facts;
-          System.arraycopy(args, 0, fullArgs, 1, args.length);
-        } else {
-          fullArgs = args;
-        }
-
-        // Invoke action - validation done at registration
-        Object result = metadata.getSpreader().invoke(fullArgs);
-
-        // Return Facts: either from result or unchanged
-        if (metadata.returnsVoid()) {
-          return facts;
-        } else if (result instanceof Facts) {
-          return (Facts) result;
-        } else {
-          return facts;
-        }
-
-      } catch (Throwable t) {
-        throw new RuntimeException(
-            String.format("Error invoking action '%s': %s", name, t.getMessage()), t);
+      // Build full arguments array
+      Object[] fullArgs;
+      if (metadata.hasFactsParameter()) {
+        fullArgs = new Object[args.length + 1];
+        fullArgs[0] = facts;
+        System.arraycopy(args, 0, fullArgs, 1, args.length);
+      } else {
+        fullArgs = args;
       }
+      return invoke(metadata, facts, fullArgs);
     };
   }
 
+  /**
+   * Bind an action call to its metadata once, keeping argument expressions parsed.
+   *
+   * @param name Action name
+   * @param arguments Parsed argument expressions (excluding Facts if present)
+   * @param functionRegistry Registry used to evaluate function calls inside arguments
+   * @return Bound action
+   * @throws ActionNotFoundException if action not registered
+   */
+  public BoundAction bind(
+      String name, List<Expression> arguments, FunctionRegistry functionRegistry) {
+    return new BoundAction(getAction(name), arguments, functionRegistry);
+  }
+
   /**
    * Invoke an action directly with given arguments.
    *
@@ -194,6 +203,40 @@ public final class ActionRegistry {
     return action.execute(facts);
   }
 
+  /**
+   * Invoke action handle with a complete argument array (Facts already injected if needed).
+   *
+   * @return Facts returned by the action, or the input facts for void actions
+   */
+  static Facts invoke(ActionMetadata metadata, Facts facts, Object[] fullArgs) {
+    try {
+      // Invoke action - validation done at registration
+      Object result = metadata.getSpreader().invoke(fullArgs);
+
+      // Return Facts: either from result or unchanged
+      if (metadata.returnsVoid()) {
+        return facts;
+      } else if (result instanceof Facts) {
+        return (Facts) result;
+      } else {
+        return facts;
+      }
+
+    } catch (Throwable t) {
+      throw new RuntimeException(
+          String.format("Error invoking action '%s': %s", metadata.getName(), t.getMessage()), t);
+    }
+  }
+
+  // Writes are tracked per top-level key, so "discount.percent" counts as "discount"
+  private static Set<String> rootsOf(String[] writes) {
+    Set<String> roots = new HashSet<>();
+    for (String write : writes) {
+      roots.add(ReadSets.rootOf(write));
+    }
+    return roots;
+  }
+
   private void validateActionName(String name) {
     if (name == null || name.trim().isEmpty()) {
       throw new IllegalArgumentException("Action name cannot be null or empty");
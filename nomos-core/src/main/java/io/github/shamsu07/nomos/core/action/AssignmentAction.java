@@ -0,0 +1,80 @@
+package io.github.shamsu07.nomos.core.action;
+
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.facts.FactsTransaction;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.Objects;
+
+/**
+ * Assignment action ({@code key = expression}) with the value expression parsed at load time.
+ *
+ * <p>Inside an execution transaction the value is written straight into the working copy. Literal
+ * values do not read facts, so no snapshot is taken for them.
+ */
+public final class AssignmentAction implements Rule.Action {
+
+  private static final Facts NO_FACTS = new Facts();
+
+  private final String key;
+  private final Expression value;
+  private final Expression source;
+  private final FunctionRegistry functionRegistry;
+
+  public AssignmentAction(String key, Expression value, FunctionRegistry functionRegistry) {
+    this(key, value, value, functionRegistry);
+  }
+
+  /**
+   * Create an assignment whose value was compiled.
+   *
+   * @param key Fact key to write
+   * @param value Value expression to evaluate, possibly compiled
+   * @param source Value expression before compilation, kept for analysis
+   * @param functionRegistry Registry used to evaluate function calls in the value
+   */
+  public AssignmentAction(
+      String key, Expression value, Expression source, FunctionRegistry functionRegistry) {
+    this.key = Objects.requireNonNull(key, "Assignment key cannot be null");
+    this.value = Objects.requireNonNull(value, "Assignment value cannot be null");
+    this.source = Objects.requireNonNull(source, "Assignment source cannot be null");
+    this.functionRegistry =
+        Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+  }
+
+  @Override
+  public Facts execute(Facts facts) {
+    return facts.put(key, value.evaluate(facts, functionRegistry));
+  }
+
+  @Override
+  public void apply(FactsTransaction transaction) {
+    Facts view = value instanceof LiteralExpression ? NO_FACTS : transaction.snapshot();
+    transaction.put(key, value.evaluate(view, functionRegistry));
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public Expression getValue() {
+    return value;
+  }
+
+  /**
+   * Get the value expression before compilation. Compiled expressions cannot be inspected, so
+   * analysis such as {@link io.github.shamsu07.nomos.core.expression.ReadSets} uses this one.
+   *
+   * @return Source expression; the same as {@link #getValue()} when the value was not compiled
+   */
+  public Expression getSource() {
+    return source;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AssignmentAction[%s = %s]", key, value);
+  }
+}
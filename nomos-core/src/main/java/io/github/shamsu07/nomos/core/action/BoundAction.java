@@ -0,0 +1,57 @@
+package io.github.shamsu07.nomos.core.action;
+
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Action call bound at load time: metadata is resolved and argument expressions are parsed once.
+ *
+ * <p>Immutable and thread-safe. Firing only evaluates the argument ASTs and invokes the action
+ * handle - no string splitting, lexing, parsing or registry lookup on the execution path.
+ */
+public final class BoundAction implements Rule.Action {
+
+  private final ActionMetadata metadata;
+  private final Expression[] arguments;
+  private final FunctionRegistry functionRegistry;
+
+  public BoundAction(
+      ActionMetadata metadata, List<Expression> arguments, FunctionRegistry functionRegistry) {
+    this.metadata = Objects.requireNonNull(metadata, "Action metadata cannot be null");
+    this.arguments =
+        Objects.requireNonNull(arguments, "Arguments cannot be null").toArray(new Expression[0]);
+    this.functionRegistry =
+        Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+  }
+
+  @Override
+  public Facts execute(Facts facts) {
+    int offset = metadata.hasFactsParameter() ? 1 : 0;
+    Object[] fullArgs = new Object[arguments.length + offset];
+    if (offset == 1) {
+      fullArgs[0] = facts;
+    }
+    for (int i = 0; i < arguments.length; i++) {
+      fullArgs[i + offset] = arguments[i].evaluate(facts, functionRegistry);
+    }
+
+    return ActionRegistry.invoke(metadata, facts, fullArgs);
+  }
+
+  public ActionMetadata getMetadata() {
+    return metadata;
+  }
+
+  public List<Expression> getArguments() {
+    return List.of(arguments);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BoundAction[%s, args=%s]", metadata.getName(), List.of(arguments));
+  }
+}
@@ -26,4 +26,13 @@ public @interface NomosAction {
    * @return Action identifier
    */
   String value();
+
+  /**
+   * Top-level fact keys an action returning Facts writes, e.g. {@code "discount"}. Used to find the
+   * rules that can produce a requested output. Empty means the action may write any fact; void
+   * actions never write facts.
+   *
+   * @return Fact keys written through the returned Facts
+   */
+  String[] writes() default {};
 }
@@ -0,0 +1,298 @@
+package io.github.shamsu07.nomos.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded concurrent cache with time-to-live expiry, used for results that are reused across
+ * executions (function results, parsed expressions). Keys may come from untrusted input: the size
+ * bound always holds.
+ *
+ * <p>Entries are spread over independent stripes by key hash. Reads are lock-free: a hit is one
+ * {@link ConcurrentHashMap} lookup plus marking the entry as referenced. Inserts lock only their
+ * stripe.
+ *
+ * <p>Eviction is segmented LRU, approximated with reference bits so reads never reorder queues:
+ *
+ * <ul>
+ *   <li>New entries enter the probation segment.
+ *   <li>When a stripe is full, entries leave probation in insertion order. An entry read since it
+ *       entered is promoted to the protected segment (80% of the stripe); otherwise it is evicted.
+ *   <li>When the protected segment overflows, its oldest entry is demoted back to probation.
+ * </ul>
+ *
+ * <p>One-off keys are evicted from probation without displacing entries that are read repeatedly.
+ * Expired entries are never returned and are evicted first once they reach the front of a queue.
+ *
+ * <p>Thread-safe.
+ */
+public final class BoundedCache<K, V> {
+
+  private static final int MAX_STRIPES = 16;
+  private static final int ENTRIES_PER_STRIPE = 16; // Smallest stripe before adding more stripes
+
+  private final int maximumSize;
+  private final Duration timeToLive;
+  private final long timeToLiveNanos; // 0 when entries do not expire
+  private final LongSupplier ticker;
+  private final Stripe[] stripes;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create a cache.
+   *
+   * @param maximumSize Maximum number of entries
+   * @param timeToLive Time an entry stays valid after it is stored; {@link Duration#ZERO} for no
+   *     expiry
+   * @throws IllegalArgumentException if the size is not positive or the time to live is negative
+   */
+  public BoundedCache(int maximumSize, Duration timeToLive) {
+    this(maximumSize, timeToLive, System::nanoTime);
+  }
+
+  /**
+   * Create a cache with a custom time source.
+   *
+   * @param maximumSize Maximum number of entries
+   * @param timeToLive Time an entry stays valid after it is stored; {@link Duration#ZERO} for no
+   *     expiry
+   * @param ticker Current time in nanoseconds, as {@link System#nanoTime()}
+   * @throws IllegalArgumentException if the size is not positive or the time to live is negative
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"}) // Generic inner class arrays must be created raw
+  public BoundedCache(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+    Objects.requireNonNull(timeToLive, "Time to live cannot be null");
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+    }
+    if (timeToLive.isNegative()) {
+      throw new IllegalArgumentException("Time to live cannot be negative: " + timeToLive);
+    }
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.ticker = Objects.requireNonNull(ticker, "Ticker cannot be null");
+
+    // Power of two, and every stripe keeps at least a few entries
+    int count =
+        Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maximumSize / ENTRIES_PER_STRIPE)));
+    this.stripes = (Stripe[]) new BoundedCache.Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe(maximumSize / count);
+    }
+  }
+
+  /**
+   * Get the cached value for a key.
+   *
+   * @param key Cache key
+   * @return Cached value, or null if there is no live entry
+   */
+  public V get(K key) {
+    Objects.requireNonNull(key, "Key cannot be null");
+    Node<K, V> node = stripeFor(key).map.get(key);
+    if (node == null || isExpired(node)) {
+      misses.increment();
+      return null;
+    }
+    node.referenced = true; // Racy on purpose: a lost mark only costs one promotion
+    hits.increment();
+    return node.value;
+  }
+
+  /**
+   * Store a value, replacing any entry for the same key.
+   *
+   * @param key Cache key
+   * @param value Value to store
+   */
+  public void put(K key, V value) {
+    Objects.requireNonNull(key, "Key cannot be null");
+    Objects.requireNonNull(value, "Value cannot be null");
+    long expiresAt = timeToLiveNanos == 0 ? 0 : ticker.getAsLong() + timeToLiveNanos;
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      stripe.insert(new Node<>(key, value, expiresAt));
+    }
+  }
+
+  /** Remove all entries. Statistics are kept. */
+  public void invalidateAll() {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.clear();
+      }
+    }
+  }
+
+  /** Number of lookups that returned a cached value. */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /** Number of lookups that found no live entry. */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /** Number of entries removed to stay within the maximum size or because they expired. */
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  /** Fraction of lookups that returned a cached value, or 0 before the first lookup. */
+  public double hitRate() {
+    long hitCount = hitCount();
+    long total = hitCount + missCount();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /** Current number of entries, including expired ones not yet evicted. */
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.map.size();
+    }
+    return size;
+  }
+
+  // Nodes queued for eviction, including replaced ones; for tests
+  int queuedCount() {
+    int queued = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        queued += stripe.probation.size() + stripe.protectedQueue.size();
+      }
+    }
+    return queued;
+  }
+
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  public Duration getTimeToLive() {
+    return timeToLive;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "BoundedCache[size=%d, hits=%d, misses=%d, evictions=%d]",
+        size(), hitCount(), missCount(), evictionCount());
+  }
+
+  private Stripe stripeFor(K key) {
+    int h = key.hashCode();
+    return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+  }
+
+  private boolean isExpired(Node<K, V> node) {
+    return node.expiresAt != 0 && ticker.getAsLong() - node.expiresAt >= 0;
+  }
+
+  private static final class Node<K, V> {
+    private final K key;
+    private final V value;
+    private final long expiresAt; // 0 when the entry does not expire
+    private boolean referenced; // Read since entering its current segment
+    private boolean replaced; // Superseded by a newer node for the same key; guarded by stripe
+
+    Node(K key, V value, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /** One lock domain: a map for lock-free reads and the two segment queues, guarded by this. */
+  private final class Stripe {
+    private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final ArrayDeque<Node<K, V>> probation = new ArrayDeque<>();
+    private final ArrayDeque<Node<K, V>> protectedQueue = new ArrayDeque<>();
+    private final int capacity;
+    private final int protectedCapacity;
+    private int size; // Live nodes in both queues
+    private int stale; // Replaced nodes still queued
+
+    Stripe(int capacity) {
+      this.capacity = capacity;
+      this.protectedCapacity = capacity * 4 / 5;
+    }
+
+    void insert(Node<K, V> node) {
+      Node<K, V> previous = map.put(node.key, node);
+      if (previous != null) {
+        previous.replaced = true; // Dropped when it reaches the front of its queue
+        stale++;
+      } else {
+        size++;
+      }
+      probation.addLast(node);
+
+      while (size > capacity) {
+        evictOne();
+      }
+      // Re-puts below capacity never evict, so drop replaced nodes once they outnumber the rest
+      if (stale > capacity) {
+        probation.removeIf(queued -> queued.replaced);
+        protectedQueue.removeIf(queued -> queued.replaced);
+        stale = 0;
+      }
+    }
+
+    private void evictOne() {
+      while (true) {
+        Node<K, V> candidate = probation.pollFirst();
+        if (candidate == null) {
+          // Everything was promoted: fall back to the oldest protected entry
+          demote();
+          continue;
+        }
+        if (candidate.replaced) {
+          stale--;
+          continue;
+        }
+        if (candidate.referenced && !isExpired(candidate)) {
+          candidate.referenced = false;
+          protectedQueue.addLast(candidate);
+          if (protectedQueue.size() > protectedCapacity) {
+            demote();
+          }
+          continue;
+        }
+        map.remove(candidate.key, candidate);
+        size--;
+        evictions.increment();
+        return;
+      }
+    }
+
+    // Oldest protected entry goes back to probation and must be read again to stay
+    private void demote() {
+      Node<K, V> demoted;
+      while ((demoted = protectedQueue.pollFirst()) != null && demoted.replaced) {
+        stale--;
+      }
+      if (demoted != null) {
+        demoted.referenced = false;
+        probation.addLast(demoted);
+      }
+    }
+
+    void clear() {
+      map.clear();
+      probation.clear();
+      protectedQueue.clear();
+      size = 0;
+      stale = 0;
+    }
+  }
+}
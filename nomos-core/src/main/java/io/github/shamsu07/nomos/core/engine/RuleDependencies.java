@@ -0,0 +1,177 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read and write sets of a priority-ordered rule set, used by chained execution to find the rules
+ * a firing may have made true or false, and by goal-directed execution to find the rules that can
+ * produce a fact.
+ *
+ * <p>Built from {@link Rule#getReads()} and {@link Rule#getWrites()}. A rule with unknown reads
+ * depends on every fact; a rule with unknown writes is checked against every fact some rule reads.
+ * Facts only count as changed when their value changes ({@code Objects.equals}), so writing an
+ * equal value does not wake anything up.
+ *
+ * <p>Immutable and thread-safe.
+ */
+final class RuleDependencies {
+
+  private final Map<String, BitSet> readers; // Positions of the rules reading each top-level fact
+  private final BitSet readsAnything;
+  private final String[][] reads; // Top-level facts each rule reads, or null if unknown
+  private final String[][] writes; // Top-level facts each rule writes, or null if unknown
+  private final String[] readRoots; // Every fact some rule reads
+  private final Map<String, BitSet> writers; // Positions of the rules writing each top-level fact
+  private final BitSet writesAnything;
+  private final BitSet writesSomething; // Rules writing anything at all
+
+  private RuleDependencies(
+      Map<String, BitSet> readers,
+      BitSet readsAnything,
+      String[][] reads,
+      String[][] writes,
+      Map<String, BitSet> writers,
+      BitSet writesAnything,
+      BitSet writesSomething) {
+    this.readers = readers;
+    this.readsAnything = readsAnything;
+    this.reads = reads;
+    this.writes = writes;
+    this.readRoots = readers.keySet().toArray(new String[0]);
+    this.writers = writers;
+    this.writesAnything = writesAnything;
+    this.writesSomething = writesSomething;
+  }
+
+  /**
+   * Collect the dependencies of a rule set.
+   *
+   * @param rules Rules in execution order
+   * @return Dependencies by rule position
+   */
+  static RuleDependencies build(Rule[] rules) {
+    Map<String, BitSet> readers = new HashMap<>();
+    BitSet readsAnything = new BitSet(rules.length);
+    String[][] reads = new String[rules.length][];
+    String[][] writes = new String[rules.length][];
+    Map<String, BitSet> writers = new HashMap<>();
+    BitSet writesAnything = new BitSet(rules.length);
+    BitSet writesSomething = new BitSet(rules.length);
+
+    for (int i = 0; i < rules.length; i++) {
+      Set<String> read = rules[i].getReads();
+      if (read == null) {
+        readsAnything.set(i);
+      } else {
+        reads[i] = read.toArray(new String[0]);
+        for (String root : read) {
+          readers.computeIfAbsent(root, key -> new BitSet(rules.length)).set(i);
+        }
+      }
+
+      Set<String> written = rules[i].getWrites();
+      if (written == null) {
+        writesAnything.set(i);
+        writesSomething.set(i);
+      } else {
+        writes[i] = written.toArray(new String[0]);
+        for (String root : written) {
+          writers.computeIfAbsent(root, key -> new BitSet(rules.length)).set(i);
+          writesSomething.set(i);
+        }
+      }
+    }
+    return new RuleDependencies(
+        readers, readsAnything, reads, writes, writers, writesAnything, writesSomething);
+  }
+
+  /**
+   * Find the rules that can affect the given facts: the rules writing them, and transitively the
+   * rules writing what those rules read. Rules that may write any fact are always included, and a
+   * rule that may read any fact pulls in every rule that writes something.
+   *
+   * @param roots Top-level facts of interest
+   * @return Positions of the producing rules
+   */
+  BitSet producers(Set<String> roots) {
+    BitSet selected = (BitSet) writesAnything.clone();
+    Set<String> seen = new HashSet<>(roots);
+    ArrayDeque<String> pending = new ArrayDeque<>(roots);
+    BitSet expanded = new BitSet(reads.length); // Rules whose reads were queued
+
+    while (true) {
+      for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+        if (expanded.get(i)) {
+          continue;
+        }
+        expanded.set(i);
+        if (reads[i] == null) {
+          selected.or(writesSomething); // Reads anything, so anything written matters
+          i = -1; // Rescan: newly selected rules may sit before this one
+          continue;
+        }
+        for (String root : reads[i]) {
+          if (seen.add(root)) {
+            pending.add(root);
+          }
+        }
+      }
+      if (pending.isEmpty()) {
+        return selected;
+      }
+      while (!pending.isEmpty()) {
+        BitSet producing = writers.get(pending.poll());
+        if (producing != null) {
+          selected.or(producing);
+        }
+      }
+    }
+  }
+
+  /**
+   * Put the rules affected by a firing on the agenda. A rule that may read any fact is not put back
+   * by its own firing, since it is not known to read what it wrote.
+   *
+   * @param before Facts before the rule fired
+   * @param after Facts after its actions
+   * @param position Position of the fired rule
+   * @param agenda Positions of the rules to evaluate
+   * @return Whether any rule was put on the agenda
+   */
+  boolean propagate(Facts before, Facts after, int position, BitSet agenda) {
+    if (before == after) {
+      return false;
+    }
+
+    boolean scheduled = false;
+    boolean changed = false;
+    String[] written = writes[position];
+    for (String root : written != null ? written : readRoots) {
+      if (!Objects.equals(before.get(root), after.get(root))) {
+        changed = true;
+        BitSet dependents = readers.get(root);
+        if (dependents != null) {
+          agenda.or(dependents);
+          scheduled = true;
+        }
+      }
+    }
+
+    if (!readsAnything.isEmpty()
+        && (written != null ? changed : !before.asMap().equals(after.asMap()))) {
+      boolean pending = agenda.get(position);
+      agenda.or(readsAnything);
+      agenda.set(position, pending);
+      scheduled = true;
+    }
+    return scheduled;
+  }
+}
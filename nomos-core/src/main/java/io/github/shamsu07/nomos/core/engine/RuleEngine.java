@@ -1,19 +1,47 @@
 package io.github.shamsu07.nomos.core.engine;
 
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.facts.FactsTransaction;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.rule.Rule;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 
 /**
  * Forward-chaining rule execution engine. Thread-safe for concurrent reads and rule modifications.
+ *
+ * <p>Rules are published as an immutable, priority-sorted snapshot with a name index. Execution
+ * reads the current snapshot once and never blocks; modifications build a new snapshot and swap it
+ * in whole.
+ *
+ * <p>Each execution opens an {@link EvaluationCache}, so condition subexpressions shared by several
+ * rules are computed once per execution and recomputed only after an action writes a fact they
+ * read.
+ *
+ * <p>Rules whose parsed condition starts with equality guards such as {@code country == "US"} are
+ * indexed by the guarded values: an execution only evaluates the rules whose guards match the
+ * current facts, plus all rules without guards. Rules that start with numeric thresholds on one
+ * variable instead, such as {@code balance >= 100 && balance < 1000}, are indexed by the range they
+ * accept. Skipped rules are exactly those whose condition would have been false, and the remaining
+ * rules still fire in priority order. An action that changes an indexed fact makes the remaining
+ * rules be selected again.
+ *
+ * <p>{@link #execute} makes a single pass: a rule that only becomes true after a later rule fired
+ * does not fire. {@link #executeChained} runs to a fixpoint instead, re-evaluating only the rules
+ * that read a fact changed by a firing.
  */
 public final class RuleEngine {
 
-  private final List<Rule> rules;
-  private final Object rulesLock = new Object(); // Lock for rule modifications
+  /** Default bound on rule firings in {@link #executeChained(Facts)}. */
+  public static final int DEFAULT_MAX_FIRINGS = 10_000;
+
+  private volatile RuleSnapshot snapshot;
+  private final Object rulesLock = new Object(); // Serializes writers only
   private final boolean stopOnFirstAppliedRule;
 
   public RuleEngine() {
@@ -26,13 +54,14 @@ public final class RuleEngine {
    * @param stopOnFirstAppliedRule If true, stop after first matching rule fires
    */
   public RuleEngine(boolean stopOnFirstAppliedRule) {
-    this.rules = new CopyOnWriteArrayList<>();
+    this.snapshot = RuleSnapshot.EMPTY;
     this.stopOnFirstAppliedRule = stopOnFirstAppliedRule;
   }
 
   /**
-   * Add rule to engine. Rules are added and then sorted to maintain priority order (highest first).
-   * Thread-safe: uses lock to ensure atomic clear+addAll operation.
+   * Add rule to engine. Rules are kept sorted by priority (highest first); rules with equal
+   * priority keep insertion order. Publishes a new snapshot; concurrent executions keep using the
+   * old one.
    *
    * @param rule Rule to add
    * @throws NullPointerException if rule is null
@@ -41,16 +70,55 @@ public final class RuleEngine {
     Objects.requireNonNull(rule, "Rule cannot be null");
 
     synchronized (rulesLock) {
-      // Build a new sorted list with all rules including the new one
-      List<Rule> newRules = new ArrayList<>(rules);
-      newRules.add(rule);
-      // Sort by priority descending (highest first)
-      newRules.sort((r1, r2) -> Integer.compare(r2.getPriority(), r1.getPriority()));
-
-      // Replace the entire list content atomically within lock
-      // This prevents execute() from seeing an empty list during the transition
-      rules.clear();
-      rules.addAll(newRules);
+      snapshot = snapshot.with(rule);
+    }
+  }
+
+  /**
+   * Add several rules in one step. The batch is sorted once and merged into the existing rules, so
+   * loading N rules costs O(N log N) instead of N separate inserts.
+   *
+   * @param rules Rules to add
+   * @throws NullPointerException if rules or any rule is null
+   */
+  public void addRules(Collection<Rule> rules) {
+    Objects.requireNonNull(rules, "Rules cannot be null");
+
+    synchronized (rulesLock) {
+      snapshot = snapshot.withAll(rules);
+    }
+  }
+
+  /**
+   * Add rule, replacing any existing rules with the same name.
+   *
+   * @param rule Rule to add or replace
+   * @return true if an existing rule was replaced
+   * @throws NullPointerException if rule is null
+   */
+  public boolean upsertRule(Rule rule) {
+    Objects.requireNonNull(rule, "Rule cannot be null");
+
+    synchronized (rulesLock) {
+      boolean replaced = snapshot.contains(rule.getName());
+      snapshot = snapshot.upsert(rule);
+      return replaced;
+    }
+  }
+
+  /**
+   * Replace all rules atomically with a single O(N log N) build. Executions see either the old or
+   * the new rule set, never a mix.
+   *
+   * @param rules New rules
+   * @throws NullPointerException if rules or any rule is null
+   */
+  public void replaceAll(Collection<Rule> rules) {
+    Objects.requireNonNull(rules, "Rules cannot be null");
+
+    RuleSnapshot next = RuleSnapshot.of(rules);
+    synchronized (rulesLock) {
+      snapshot = next;
     }
   }
 
@@ -62,17 +130,60 @@ public final class RuleEngine {
    */
   public boolean removeRule(String name) {
     Objects.requireNonNull(name, "Rule name cannot be null");
-    return rules.removeIf(rule -> rule.getName().equals(name));
+
+    synchronized (rulesLock) {
+      RuleSnapshot current = snapshot;
+      if (!current.contains(name)) {
+        return false;
+      }
+      snapshot = current.without(name);
+      return true;
+    }
+  }
+
+  /**
+   * Check if a rule with the given name is registered.
+   *
+   * @param name Rule name
+   * @return true if at least one rule has that name
+   */
+  public boolean hasRule(String name) {
+    Objects.requireNonNull(name, "Rule name cannot be null");
+    return snapshot.contains(name);
   }
 
   /** Remove all rules. */
   public void clearRules() {
-    rules.clear();
+    synchronized (rulesLock) {
+      snapshot = RuleSnapshot.EMPTY;
+    }
   }
 
-  /** Get all registered rules (unmodifiable view). */
+  /** Get all registered rules (unmodifiable snapshot). */
   public List<Rule> getRules() {
-    return new ArrayList<>(rules);
+    return List.of(snapshot.rules());
+  }
+
+  /**
+   * Start a stateful session over the current rules. Conditions that call functions are treated
+   * as reading any fact, since their declared reads cannot be looked up.
+   *
+   * @return Session with no facts
+   */
+  public RuleSession newSession() {
+    return new RuleSession(snapshot.rules(), null);
+  }
+
+  /**
+   * Start a stateful session over the current rules. Later rule changes do not affect it.
+   *
+   * @param functionRegistry Registry used to look up what the functions in conditions read
+   * @return Session with no facts
+   * @throws NullPointerException if functionRegistry is null
+   */
+  public RuleSession newSession(FunctionRegistry functionRegistry) {
+    Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+    return new RuleSession(snapshot.rules(), functionRegistry);
   }
 
   /**
@@ -86,22 +197,138 @@ public final class RuleEngine {
   public Facts execute(Facts facts) {
     Objects.requireNonNull(facts, "Facts cannot be null");
 
-    Facts current = facts;
+    // Single volatile read: the whole execution sees one consistent snapshot
+    return execute(facts, snapshot);
+  }
 
-    // Iterate over rules. CopyOnWriteArrayList provides a consistent snapshot,
-    // but we need to ensure we don't read during clear+addAll window
-    synchronized (rulesLock) {
-      for (Rule rule : rules) {
-        if (rule.evaluate(current)) {
-          current = rule.execute(current);
+  /**
+   * Execute only the rules that can affect the requested facts (goal-directed execution). These
+   * are the rules writing a requested fact and, transitively, the rules writing a fact those rules
+   * read (see {@link Rule#getReads()} and {@link Rule#getWrites()}). They fire in priority order
+   * as in {@link #execute(Facts)}, so the requested facts end up with the same values.
+   *
+   * <p>Other rules are skipped, including their side effects and failures. The selection is cached
+   * per output set until the rules change. Rules that may write any fact are always executed. An
+   * engine that stops on the first applied rule executes all rules, since any rule may be first.
+   *
+   * @param facts Input facts
+   * @param requestedOutputs Fact keys the caller reads from the result, e.g. {@code
+   *     "discount.percent"}; nested keys count as their top-level fact
+   * @return Updated facts after rule execution
+   * @throws NullPointerException if facts or requestedOutputs is null
+   */
+  public Facts execute(Facts facts, Set<String> requestedOutputs) {
+    Objects.requireNonNull(facts, "Facts cannot be null");
+    Objects.requireNonNull(requestedOutputs, "Requested outputs cannot be null");
+
+    RuleSnapshot current = snapshot;
+    return execute(facts, stopOnFirstAppliedRule ? current : current.forOutputs(requestedOutputs));
+  }
+
+  private Facts execute(Facts facts, RuleSnapshot current) {
+    // Actions write into one working copy; only conditions need frozen views
+    FactsTransaction transaction = new FactsTransaction(facts);
+    Rule[] rules = current.rules();
+
+    // Subexpressions shared by several rules are computed once per execution
+    EvaluationCache cache = EvaluationCache.open();
+    try {
+      RuleIndex.Cursor candidates = current.index().cursor(transaction.snapshot());
+      for (int i = candidates.next(); i >= 0; i = candidates.next()) {
+        Rule rule = rules[i];
+        if (rule.evaluate(transaction.snapshot())) {
+          rule.apply(transaction);
+          if (stopOnFirstAppliedRule) {
+            break;
+          }
+          candidates.update(transaction.snapshot());
+        }
+      }
+    } finally {
+      cache.close();
+    }
+
+    return transaction.commit();
+  }
+
+  /**
+   * Execute rules until no rule can fire anymore (forward chaining to a fixpoint), with at most
+   * {@link #DEFAULT_MAX_FIRINGS} firings.
+   *
+   * @param facts Input facts
+   * @return Facts at the fixpoint
+   * @throws IllegalStateException if the rules keep firing past the limit
+   * @see #executeChained(Facts, int)
+   */
+  public Facts executeChained(Facts facts) {
+    return executeChained(facts, DEFAULT_MAX_FIRINGS);
+  }
+
+  /**
+   * Execute rules until no rule can fire anymore (forward chaining to a fixpoint).
+   *
+   * <p>Rules start in priority order, as in {@link #execute}. After a rule fires, the rules that
+   * read a fact it changed (see {@link Rule#getReads()} and {@link Rule#getWrites()}) are evaluated
+   * again, higher priorities first; other rules are not. A rule that fired does not fire again
+   * until a fact it reads changes (refraction), so a rule writing a value it already wrote stops.
+   * Rules that may read any fact are evaluated again after every other rule's change.
+   *
+   * @param facts Input facts
+   * @param maxFirings Maximum number of rule firings, guarding against rules that keep
+   *     re-activating each other
+   * @return Facts at the fixpoint
+   * @throws IllegalArgumentException if maxFirings is not positive
+   * @throws IllegalStateException if the rules keep firing past the limit
+   */
+  public Facts executeChained(Facts facts, int maxFirings) {
+    Objects.requireNonNull(facts, "Facts cannot be null");
+    if (maxFirings < 1) {
+      throw new IllegalArgumentException("Max firings must be positive");
+    }
+
+    FactsTransaction transaction = new FactsTransaction(facts);
+    RuleSnapshot current = snapshot;
+    Rule[] rules = current.rules();
+    RuleDependencies dependencies = current.dependencies();
+
+    EvaluationCache cache = EvaluationCache.open();
+    try {
+      // Rules the index rules out are false; a change to a fact they read brings them back
+      BitSet agenda = new BitSet(rules.length);
+      RuleIndex.Cursor candidates = current.index().cursor(transaction.snapshot());
+      for (int i = candidates.next(); i >= 0; i = candidates.next()) {
+        agenda.set(i);
+      }
+
+      int fired = 0;
+      int i = agenda.nextSetBit(0);
+      while (i >= 0) {
+        agenda.clear(i);
+        Rule rule = rules[i];
+        Facts before = transaction.snapshot();
+        if (rule.evaluate(before)) {
+          if (++fired > maxFirings) {
+            throw new IllegalStateException(
+                String.format(
+                    "Rules did not reach a fixpoint within %d firings (next: '%s')",
+                    maxFirings, rule.getName()));
+          }
+          rule.apply(transaction);
           if (stopOnFirstAppliedRule) {
             break;
           }
+          if (dependencies.propagate(before, transaction.snapshot(), i, agenda)) {
+            i = agenda.nextSetBit(0); // Higher priorities may have been activated
+            continue;
+          }
         }
+        i = agenda.nextSetBit(i + 1);
       }
+    } finally {
+      cache.close();
     }
 
-    return current;
+    return transaction.commit();
   }
 
   /**
@@ -113,23 +340,31 @@ public final class RuleEngine {
   public ExecutionResult executeWithTrace(Facts facts) {
     Objects.requireNonNull(facts, "Facts cannot be null");
 
-    Facts current = facts;
+    FactsTransaction transaction = new FactsTransaction(facts);
     List<String> firedRules = new ArrayList<>();
 
-    // Iterate over rules with lock to ensure consistent snapshot
-    synchronized (rulesLock) {
-      for (Rule rule : rules) {
-        if (rule.evaluate(current)) {
+    RuleSnapshot current = snapshot;
+    Rule[] rules = current.rules();
+
+    EvaluationCache cache = EvaluationCache.open();
+    try {
+      RuleIndex.Cursor candidates = current.index().cursor(transaction.snapshot());
+      for (int i = candidates.next(); i >= 0; i = candidates.next()) {
+        Rule rule = rules[i];
+        if (rule.evaluate(transaction.snapshot())) {
           firedRules.add(rule.getName());
-          current = rule.execute(current);
+          rule.apply(transaction);
           if (stopOnFirstAppliedRule) {
             break;
           }
+          candidates.update(transaction.snapshot());
         }
       }
+    } finally {
+      cache.close();
     }
 
-    return new ExecutionResult(current, firedRules);
+    return new ExecutionResult(transaction.commit(), firedRules);
   }
 
   /** Result of rule execution with trace information. */
@@ -0,0 +1,600 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import io.github.shamsu07.nomos.core.expression.TokenType;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discrimination index over the conditions of a priority-ordered rule set, used to skip rules whose
+ * condition cannot match without evaluating them.
+ *
+ * <p>Rules are indexed by the leading conjuncts of their parsed condition:
+ *
+ * <ul>
+ *   <li>Equality guards, {@code variable == literal} (or {@code literal == variable}). Rules with
+ *       the same guarded variables form a group with a hash table from the literal values to the
+ *       rules, so one lookup per group finds the rules whose guards all hold.
+ *   <li>Otherwise, numeric thresholds on one variable, such as {@code balance > 100} or {@code age
+ *       >= 18 && age < 65}. They are intersected into one interval per rule, and the intervals on a
+ *       variable are kept in an interval tree, so one O(log n) query per variable finds the rules
+ *       whose interval contains the current value.
+ * </ul>
+ *
+ * <p>Rules with neither, including lambda-only rules, are always candidates.
+ *
+ * <p>Skipping is exact. Guards only count while every conjunct before them is a guard as well, so
+ * a skipped rule would have short-circuited to false without evaluating anything else. {@code ==}
+ * compares numbers by value and other values with {@code Objects.equals}; the hash lookup keys
+ * numbers by their double value, which every equal pair of numbers shares. Comparisons against a
+ * number literal use {@code Double.compare} order, which is what the intervals use. A value the
+ * index cannot decide on (an equality value that is not a plain JDK value, a threshold value that
+ * is not a boxed primitive number) makes every rule of its group or tree a candidate, so those
+ * rules are evaluated and behave as before, errors included.
+ *
+ * <p>Immutable and thread-safe; each execution gets its own {@link Cursor}.
+ */
+final class RuleIndex {
+
+  private static final Object NULL_KEY = new Object(); // Hash key for a null value
+  private static final Object UNINDEXABLE = new Object(); // Value the index cannot decide on
+  private static final int[] NO_POSITIONS = new int[0];
+
+  private final int ruleCount;
+  private final VariableExpression[] variables; // Read once per selection
+  private final int[] unindexed; // Positions of rules that are always candidates
+  private final Partition[] partitions;
+
+  private RuleIndex(
+      int ruleCount, VariableExpression[] variables, int[] unindexed, Partition[] partitions) {
+    this.ruleCount = ruleCount;
+    this.variables = variables;
+    this.unindexed = unindexed;
+    this.partitions = partitions;
+  }
+
+  /**
+   * Build the index of a rule set.
+   *
+   * @param rules Rules in execution order
+   * @return Index; without any guarded rule, cursors simply visit every rule
+   */
+  static RuleIndex build(Rule[] rules) {
+    Map<String, Integer> variableSlots = new LinkedHashMap<>();
+    Map<List<Integer>, GroupBuilder> groups = new LinkedHashMap<>();
+    Map<Integer, List<Interval>> ranges = new LinkedHashMap<>();
+    List<Integer> unindexed = new ArrayList<>();
+
+    for (int position = 0; position < rules.length; position++) {
+      List<Expression> conjuncts = conjuncts(rules[position].getParsedCondition());
+      Map<String, Object> guards = equalityGuards(conjuncts);
+      if (!guards.isEmpty()) {
+        // Sorted names, so guards written in any order share a group
+        List<String> names = new ArrayList<>(guards.keySet());
+        names.sort(null);
+        List<Integer> slots = new ArrayList<>(names.size());
+        Object[] literals = new Object[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+          slots.add(slotOf(names.get(i), variableSlots));
+          literals[i] = guards.get(names.get(i));
+        }
+        groups.computeIfAbsent(slots, GroupBuilder::new).add(literals, position);
+        continue;
+      }
+
+      Interval range = rangeGuard(conjuncts, position);
+      if (range != null) {
+        ranges
+            .computeIfAbsent(slotOf(range.variable, variableSlots), slot -> new ArrayList<>())
+            .add(range);
+        continue;
+      }
+      unindexed.add(position);
+    }
+
+    VariableExpression[] variables = new VariableExpression[variableSlots.size()];
+    for (Map.Entry<String, Integer> entry : variableSlots.entrySet()) {
+      variables[entry.getValue()] = new VariableExpression(entry.getKey());
+    }
+    List<Partition> partitions = new ArrayList<>();
+    for (GroupBuilder group : groups.values()) {
+      partitions.add(group.build());
+    }
+    for (Map.Entry<Integer, List<Interval>> entry : ranges.entrySet()) {
+      partitions.add(new Ranges(entry.getKey(), entry.getValue()));
+    }
+    return new RuleIndex(
+        rules.length, variables, toArray(unindexed), partitions.toArray(new Partition[0]));
+  }
+
+  /**
+   * Start selecting candidates for one execution.
+   *
+   * @param facts Facts at the start of the execution
+   * @return Cursor over candidate positions in execution order
+   */
+  Cursor cursor(Facts facts) {
+    return new Cursor(facts);
+  }
+
+  /** Number of equality groups and threshold trees. */
+  int partitionCount() {
+    return partitions.length;
+  }
+
+  private static int slotOf(String variable, Map<String, Integer> variableSlots) {
+    return variableSlots.computeIfAbsent(variable, name -> variableSlots.size());
+  }
+
+  // Conjuncts in evaluation order: a && b && c parses as (a && b) && c
+  static List<Expression> conjuncts(Expression condition) {
+    List<Expression> conjuncts = new ArrayList<>();
+    if (condition != null) {
+      flatten(condition, conjuncts);
+    }
+    return conjuncts;
+  }
+
+  private static void flatten(Expression expression, List<Expression> conjuncts) {
+    if (expression.getClass() == BinaryExpression.class
+        && ((BinaryExpression) expression).getOperator() == TokenType.AND) {
+      flatten(((BinaryExpression) expression).getLeft(), conjuncts);
+      flatten(((BinaryExpression) expression).getRight(), conjuncts);
+    } else {
+      conjuncts.add(expression);
+    }
+  }
+
+  // Leading equality guards, by variable name
+  private static Map<String, Object> equalityGuards(List<Expression> conjuncts) {
+    Map<String, Object> guards = new HashMap<>();
+    for (Expression conjunct : conjuncts) {
+      if (!isComparison(conjunct, TokenType.EQUAL)) {
+        break; // Later guards may be preceded by side effects or errors
+      }
+      BinaryExpression binary = (BinaryExpression) conjunct;
+      boolean variableLeft = binary.getLeft() instanceof VariableExpression;
+      Expression variable = variableLeft ? binary.getLeft() : binary.getRight();
+      Expression literal = variableLeft ? binary.getRight() : binary.getLeft();
+      // A repeated variable is checked by evaluation; the first guard is enough to index it
+      guards.putIfAbsent(
+          ((VariableExpression) variable).getName(), ((LiteralExpression) literal).getValue());
+    }
+    return guards;
+  }
+
+  // Leading thresholds on one variable, intersected into one interval
+  private static Interval rangeGuard(List<Expression> conjuncts, int position) {
+    String variable = null;
+    long low = Long.MIN_VALUE;
+    long high = Long.MAX_VALUE;
+    for (Expression conjunct : conjuncts) {
+      if (!isThreshold(conjunct)) {
+        break;
+      }
+      BinaryExpression binary = (BinaryExpression) conjunct;
+      boolean variableLeft = binary.getLeft() instanceof VariableExpression;
+      Expression side = variableLeft ? binary.getLeft() : binary.getRight();
+      String name = ((VariableExpression) side).getName();
+      if (variable != null && !variable.equals(name)) {
+        break; // A threshold on another variable could fail on a non-numeric value
+      }
+      variable = name;
+
+      Expression literal = variableLeft ? binary.getRight() : binary.getLeft();
+      long bound = sortable((Double) ((LiteralExpression) literal).getValue());
+      switch (variableLeft ? binary.getOperator() : mirror(binary.getOperator())) {
+        case GREATER:
+          low = Math.max(low, bound + 1);
+          break;
+        case GREATER_EQUAL:
+          low = Math.max(low, bound);
+          break;
+        case LESS:
+          high = Math.min(high, bound - 1);
+          break;
+        default: // LESS_EQUAL
+          high = Math.min(high, bound);
+          break;
+      }
+    }
+    return variable == null ? null : new Interval(variable, low, high, position);
+  }
+
+  private static boolean isThreshold(Expression expression) {
+    if (!(isComparison(expression, TokenType.GREATER)
+        || isComparison(expression, TokenType.GREATER_EQUAL)
+        || isComparison(expression, TokenType.LESS)
+        || isComparison(expression, TokenType.LESS_EQUAL))) {
+      return false;
+    }
+    BinaryExpression binary = (BinaryExpression) expression;
+    Expression literal =
+        binary.getLeft() instanceof LiteralExpression ? binary.getLeft() : binary.getRight();
+    return ((LiteralExpression) literal).getValue() instanceof Double;
+  }
+
+  // variable OP literal or literal OP variable
+  private static boolean isComparison(Expression expression, TokenType operator) {
+    if (expression.getClass() != BinaryExpression.class
+        || ((BinaryExpression) expression).getOperator() != operator) {
+      return false;
+    }
+    Expression left = ((BinaryExpression) expression).getLeft();
+    Expression right = ((BinaryExpression) expression).getRight();
+    return (left instanceof VariableExpression && right instanceof LiteralExpression)
+        || (left instanceof LiteralExpression && right instanceof VariableExpression);
+  }
+
+  // 100 < x is x > 100
+  private static TokenType mirror(TokenType operator) {
+    switch (operator) {
+      case GREATER:
+        return TokenType.LESS;
+      case GREATER_EQUAL:
+        return TokenType.LESS_EQUAL;
+      case LESS:
+        return TokenType.GREATER;
+      default:
+        return TokenType.GREATER_EQUAL;
+    }
+  }
+
+  /**
+   * Map a double to a long with the same order as {@code Double.compare}: -0.0 before 0.0, NaN
+   * after positive infinity. Adjacent doubles map to adjacent longs, so strict bounds become
+   * inclusive ones by adding or subtracting one.
+   */
+  private static long sortable(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  // Values whose equals and hashCode agree with == against literals
+  private static Object keyOf(Object value) {
+    if (value == null) {
+      return NULL_KEY;
+    }
+    if (isNumber(value)) {
+      return ((Number) value).doubleValue();
+    }
+    if (value instanceof String
+        || value instanceof Boolean
+        || value instanceof Character
+        || value instanceof Enum) {
+      return value;
+    }
+    return UNINDEXABLE;
+  }
+
+  // Numbers equal by value share their double value; other literals are their own key
+  private static Object literalKeyOf(Object literal) {
+    if (literal == null) {
+      return NULL_KEY;
+    }
+    return literal instanceof Number ? (Object) ((Number) literal).doubleValue() : literal;
+  }
+
+  // Numbers compared with a double literal by their doubleValue, as Operators.compare does
+  private static boolean isNumber(Object value) {
+    return value instanceof Double
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Float
+        || value instanceof Short
+        || value instanceof Byte;
+  }
+
+  private static int[] toArray(List<Integer> positions) {
+    int[] array = new int[positions.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = positions.get(i);
+    }
+    return array;
+  }
+
+  /** Rules indexed together, selected from the values of their variables. */
+  private interface Partition {
+
+    /**
+     * Get the rules that may match.
+     *
+     * @param values Current variable values, by slot
+     * @return Positions in execution order
+     */
+    int[] candidates(Object[] values);
+  }
+
+  /** Rules guarded on the same variables, by their literal values. */
+  private static final class Group implements Partition {
+    private final int[] variableSlots;
+    private final Map<Object, int[]> buckets; // Key: single value, or a list for several
+    private final int[] all; // Candidates when a value cannot be looked up
+
+    Group(int[] variableSlots, Map<Object, int[]> buckets, int[] all) {
+      this.variableSlots = variableSlots;
+      this.buckets = buckets;
+      this.all = all;
+    }
+
+    @Override
+    public int[] candidates(Object[] values) {
+      if (variableSlots.length == 1) {
+        Object key = keyOf(values[variableSlots[0]]);
+        return key == UNINDEXABLE ? all : buckets.getOrDefault(key, NO_POSITIONS);
+      }
+      Object[] keys = new Object[variableSlots.length];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = keyOf(values[variableSlots[i]]);
+        if (keys[i] == UNINDEXABLE) {
+          return all;
+        }
+      }
+      return buckets.getOrDefault(Arrays.asList(keys), NO_POSITIONS);
+    }
+  }
+
+  private static final class GroupBuilder {
+    private final List<Integer> slots;
+    private final Map<Object, List<Integer>> buckets = new HashMap<>();
+    private final List<Integer> all = new ArrayList<>();
+
+    GroupBuilder(List<Integer> slots) {
+      this.slots = slots;
+    }
+
+    void add(Object[] literals, int position) {
+      for (int i = 0; i < literals.length; i++) {
+        literals[i] = literalKeyOf(literals[i]);
+      }
+      Object key = literals.length == 1 ? literals[0] : Arrays.asList(literals);
+      buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(position);
+      all.add(position);
+    }
+
+    Group build() {
+      Map<Object, int[]> arrays = new HashMap<>(buckets.size() * 2);
+      for (Map.Entry<Object, List<Integer>> entry : buckets.entrySet()) {
+        arrays.put(entry.getKey(), toArray(entry.getValue()));
+      }
+      int[] variableSlots = new int[slots.size()];
+      for (int i = 0; i < variableSlots.length; i++) {
+        variableSlots[i] = slots.get(i);
+      }
+      return new Group(variableSlots, arrays, toArray(all));
+    }
+  }
+
+  /** Closed interval of {@link #sortable} values a rule's thresholds accept. */
+  private static final class Interval {
+    private final String variable;
+    private final long low;
+    private final long high;
+    private final int position;
+
+    Interval(String variable, long low, long high, int position) {
+      this.variable = variable;
+      this.low = low;
+      this.high = high;
+      this.position = position;
+    }
+  }
+
+  /** Threshold rules on one variable, in a centered interval tree. */
+  private static final class Ranges implements Partition {
+    private final int variableSlot;
+    private final IntervalNode root; // Null when no interval is satisfiable
+    private final int[] all; // Candidates when the value is not a number
+
+    Ranges(int variableSlot, List<Interval> intervals) {
+      this.variableSlot = variableSlot;
+      List<Interval> satisfiable = new ArrayList<>(intervals.size());
+      int[] positions = new int[intervals.size()];
+      for (int i = 0; i < positions.length; i++) {
+        Interval interval = intervals.get(i);
+        positions[i] = interval.position;
+        if (interval.low <= interval.high) {
+          satisfiable.add(interval);
+        }
+      }
+      this.all = positions;
+      this.root = IntervalNode.build(satisfiable);
+    }
+
+    @Override
+    public int[] candidates(Object[] values) {
+      Object value = values[variableSlot];
+      if (!isNumber(value)) {
+        return all; // Comparisons fail or follow other rules; let the rules decide
+      }
+      long x = sortable(((Number) value).doubleValue());
+      int[] found = new int[8];
+      int count = 0;
+      for (IntervalNode node = root; node != null; ) {
+        if (x < node.center) {
+          // Every interval here reaches the center, so only the low end can exclude x
+          for (int i = 0; i < node.lows.length && node.lows[i] <= x; i++) {
+            found = append(found, count++, node.byLow[i]);
+          }
+          node = node.left;
+        } else if (x > node.center) {
+          for (int i = 0; i < node.highs.length && node.highs[i] >= x; i++) {
+            found = append(found, count++, node.byHigh[i]);
+          }
+          node = node.right;
+        } else {
+          for (int position : node.byLow) {
+            found = append(found, count++, position);
+          }
+          break;
+        }
+      }
+      int[] result = Arrays.copyOf(found, count);
+      Arrays.sort(result);
+      return result;
+    }
+
+    private static int[] append(int[] array, int index, int value) {
+      int[] target = index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+      target[index] = value;
+      return target;
+    }
+  }
+
+  /**
+   * Node of a centered interval tree: the intervals containing the center, sorted by low end
+   * ascending and by high end descending, and subtrees for intervals entirely below and above it.
+   */
+  private static final class IntervalNode {
+    private final long center;
+    private final long[] lows;
+    private final int[] byLow;
+    private final long[] highs;
+    private final int[] byHigh;
+    private final IntervalNode left;
+    private final IntervalNode right;
+
+    private IntervalNode(long center, List<Interval> here, IntervalNode left, IntervalNode right) {
+      this.center = center;
+      this.left = left;
+      this.right = right;
+      List<Interval> sorted = new ArrayList<>(here);
+      sorted.sort((a, b) -> Long.compare(a.low, b.low));
+      this.lows = new long[sorted.size()];
+      this.byLow = new int[sorted.size()];
+      for (int i = 0; i < lows.length; i++) {
+        lows[i] = sorted.get(i).low;
+        byLow[i] = sorted.get(i).position;
+      }
+      sorted.sort((a, b) -> Long.compare(b.high, a.high));
+      this.highs = new long[sorted.size()];
+      this.byHigh = new int[sorted.size()];
+      for (int i = 0; i < highs.length; i++) {
+        highs[i] = sorted.get(i).high;
+        byHigh[i] = sorted.get(i).position;
+      }
+    }
+
+    static IntervalNode build(List<Interval> intervals) {
+      if (intervals.isEmpty()) {
+        return null;
+      }
+      // The median low end is contained by its own interval, so every node keeps at least one
+      List<Interval> sorted = new ArrayList<>(intervals);
+      sorted.sort((a, b) -> Long.compare(a.low, b.low));
+      long center = sorted.get(sorted.size() / 2).low;
+
+      List<Interval> below = new ArrayList<>();
+      List<Interval> here = new ArrayList<>();
+      List<Interval> above = new ArrayList<>();
+      for (Interval interval : sorted) {
+        if (interval.high < center) {
+          below.add(interval);
+        } else if (interval.low > center) {
+          above.add(interval);
+        } else {
+          here.add(interval);
+        }
+      }
+      return new IntervalNode(center, here, build(below), build(above));
+    }
+  }
+
+  /**
+   * Candidate positions for one execution, in execution order. When a rule fires and changes an
+   * indexed value, the remaining candidates are selected again.
+   */
+  final class Cursor {
+    private final Object[] values;
+    private int[] positions; // Null when every rule is a candidate
+    private int next;
+    private int last = -1; // Last position returned
+
+    private Cursor(Facts facts) {
+      this.values = new Object[variables.length];
+      if (partitions.length > 0) {
+        read(facts, values);
+        positions = select();
+      }
+    }
+
+    /**
+     * Get the next candidate.
+     *
+     * @return Position of the next rule to evaluate, or -1 when done
+     */
+    int next() {
+      if (positions == null) {
+        return ++last < ruleCount ? last : -1;
+      }
+      if (next >= positions.length) {
+        return -1;
+      }
+      last = positions[next++];
+      return last;
+    }
+
+    /**
+     * Re-read the indexed values after a rule fired, and select the remaining candidates again if
+     * any of them changed.
+     *
+     * @param facts Facts after the rule's actions
+     */
+    void update(Facts facts) {
+      if (partitions.length == 0) {
+        return;
+      }
+      Object[] current = new Object[values.length];
+      read(facts, current);
+      if (Arrays.equals(current, values)) {
+        return;
+      }
+      System.arraycopy(current, 0, values, 0, values.length);
+      int[] selected = select();
+      int from = 0;
+      while (from < selected.length && selected[from] <= last) {
+        from++;
+      }
+      positions = selected;
+      next = from;
+    }
+
+    private void read(Facts facts, Object[] target) {
+      for (int i = 0; i < variables.length; i++) {
+        try {
+          target[i] = variables[i].evaluate(facts, null);
+        } catch (RuntimeException e) {
+          target[i] = UNINDEXABLE; // The rules report the error when evaluated
+        }
+      }
+    }
+
+    // Unindexed rules plus the candidates of every partition, merged in execution order
+    private int[] select() {
+      int[][] parts = new int[partitions.length + 1][];
+      int total = unindexed.length;
+      parts[0] = unindexed;
+      for (int i = 0; i < partitions.length; i++) {
+        parts[i + 1] = partitions[i].candidates(values);
+        total += parts[i + 1].length;
+      }
+      int[] merged = new int[total];
+      int k = 0;
+      for (int[] part : parts) {
+        System.arraycopy(part, 0, merged, k, part.length);
+        k += part.length;
+      }
+      Arrays.sort(merged); // Each rule belongs to exactly one part
+      return merged;
+    }
+  }
+}
@@ -0,0 +1,393 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
+import io.github.shamsu07.nomos.core.expression.ReadSets;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.facts.FactsTransaction;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Stateful session over long-lived facts that change one at a time. Each change only causes the
+ * work that depends on it: {@link #fireAllRules()} evaluates the rules that read a changed fact,
+ * not the whole rule set.
+ *
+ * <p>The session keeps a Rete-style network built from the rules' parsed conditions:
+ *
+ * <ul>
+ *   <li>Alpha nodes: leading conjuncts that test one top-level fact with operators only, such as
+ *       {@code country == "US"} or {@code cart.total > 100}. Equal tests are shared by all rules,
+ *       and each node remembers its result until its fact changes, so a rule whose alpha test is
+ *       known to be false is rejected without evaluating anything.
+ *   <li>Rule memories: the top-level facts each rule reads (see {@link ReadSets}). Facts are keyed
+ *       values rather than typed objects, so a rule has one possible match and joins reduce to the
+ *       conjunction of its tests. A change to a fact puts the rules reading it back on the agenda,
+ *       except those whose first test is on another fact and known to be false.
+ *   <li>Agenda: the rules to evaluate, in priority order. Rules are evaluated against the facts
+ *       current when they reach the head of the agenda, and fire if they match. An action's writes
+ *       put the rules reading the written facts back on the agenda, higher priorities first.
+ * </ul>
+ *
+ * <p>Matching is exact: a rule fires when its condition, evaluated in full, would be true. Alpha
+ * results stand in for the tests they remember; a rule with further conjuncts, or whose alpha test
+ * fails or is not a boolean, is evaluated in full as in {@link RuleEngine#execute}, with the same
+ * errors.
+ *
+ * <p>Refraction: a rule that fired does not fire again until a fact it reads changes or is passed
+ * to {@link #update}. A rule whose actions change facts it reads, such as {@code count < 10}
+ * setting {@code count = count + 1}, fires until its condition is false; {@link
+ * #fireAllRules(int)} bounds the number of firings.
+ *
+ * <p>Rules with lambda conditions, and rules calling functions that may read any fact, are
+ * evaluated again after every change, except the changes made by their own actions.
+ *
+ * <p>A session uses the rules of its engine at the time it was created. Not thread-safe.
+ */
+public final class RuleSession {
+
+  private static final byte UNKNOWN = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte ERROR = 3; // Not a boolean, or failed: the rule reports it
+  private static final AlphaNode[] NO_ALPHAS = new AlphaNode[0];
+
+  private final Rule[] rules; // Priority order
+  private final AlphaNode[][] alphas; // Leading alpha tests of each rule
+  private final boolean[] hasRest; // Condition continues after its alpha tests
+  private final Map<String, Root> roots; // Dependents of each top-level fact
+  private final BitSet readsAnything;
+  private final BitSet agenda;
+  private Facts facts;
+
+  RuleSession(Rule[] rules, FunctionRegistry functionRegistry) {
+    this.rules = rules;
+    this.alphas = new AlphaNode[rules.length][];
+    this.hasRest = new boolean[rules.length];
+    this.roots = new HashMap<>();
+    this.readsAnything = new BitSet(rules.length);
+    this.agenda = new BitSet(rules.length);
+    this.facts = new Facts();
+
+    Map<Expression, AlphaNode> shared = new HashMap<>();
+    for (int i = 0; i < rules.length; i++) {
+      Expression condition = rules[i].getParsedCondition();
+      if (condition == null) {
+        alphas[i] = NO_ALPHAS;
+        hasRest[i] = true;
+        readsAnything.set(i);
+        continue;
+      }
+
+      List<Expression> conjuncts = RuleIndex.conjuncts(condition);
+      List<AlphaNode> ruleAlphas = new ArrayList<>();
+      int k = 0;
+      while (k < conjuncts.size()) {
+        String root = singleRoot(conjuncts.get(k));
+        if (root == null) {
+          break; // Later tests may be preceded by function calls; they stay with the rule
+        }
+        ruleAlphas.add(alpha(conjuncts.get(k), root, shared));
+        k++;
+      }
+      alphas[i] = ruleAlphas.toArray(NO_ALPHAS);
+      hasRest[i] = k < conjuncts.size();
+
+      for (AlphaNode alpha : alphas[i]) {
+        addReader(i, alpha.root);
+      }
+      for (; k < conjuncts.size(); k++) {
+        Set<String> reads = ReadSets.of(conjuncts.get(k), functionRegistry);
+        if (reads == null) {
+          readsAnything.set(i);
+          break;
+        }
+        for (String read : reads) {
+          addReader(i, read);
+        }
+      }
+    }
+
+    agenda.set(0, rules.length); // Nothing has been evaluated yet
+  }
+
+  /**
+   * Add a fact.
+   *
+   * @param key Fact key (supports dot annotation for nested values)
+   * @param value Fact value
+   * @throws IllegalArgumentException if the fact already exists
+   */
+  public void insert(String key, Object value) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    if (facts.contains(key)) {
+      throw new IllegalArgumentException("Fact already exists: " + key);
+    }
+    String root = ReadSets.rootOf(key);
+    Object before = facts.get(root);
+    facts = facts.put(key, value);
+    if (!Objects.equals(before, facts.get(root))) {
+      changed(root);
+    }
+  }
+
+  /**
+   * Change an existing fact. The fact is treated as changed even when the new value equals the old
+   * one, so an object changed in place can be passed again to have the rules reading it evaluated.
+   *
+   * @param key Fact key (supports dot annotation for nested values)
+   * @param value New value
+   * @throws IllegalArgumentException if the fact does not exist
+   */
+  public void update(String key, Object value) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    if (!facts.contains(key)) {
+      throw new IllegalArgumentException("Fact does not exist: " + key);
+    }
+    facts = facts.put(key, value);
+    changed(ReadSets.rootOf(key));
+  }
+
+  /**
+   * Remove a top-level fact.
+   *
+   * @param key Top-level fact key
+   * @return true if the fact was removed
+   * @throws IllegalArgumentException if the key is a nested path
+   */
+  public boolean retract(String key) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    Facts next = facts.remove(key);
+    if (next == facts) {
+      return false;
+    }
+    facts = next;
+    changed(key);
+    return true;
+  }
+
+  /**
+   * Fire rules until the agenda is empty.
+   *
+   * @return Number of rules fired
+   */
+  public int fireAllRules() {
+    return fireAllRules(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Fire rules until the agenda is empty or the limit is reached. Rules not fired stay on the
+   * agenda for the next call.
+   *
+   * @param maxFirings Maximum number of rules to fire
+   * @return Number of rules fired
+   * @throws IllegalArgumentException if maxFirings is negative
+   */
+  public int fireAllRules(int maxFirings) {
+    if (maxFirings < 0) {
+      throw new IllegalArgumentException("Max firings cannot be negative");
+    }
+
+    int fired = 0;
+    EvaluationCache cache = EvaluationCache.open();
+    try {
+      int i = agenda.nextSetBit(0);
+      while (i >= 0 && fired < maxFirings) {
+        agenda.clear(i);
+        try {
+          if (!matches(i)) {
+            i = agenda.nextSetBit(i + 1);
+            continue;
+          }
+          FactsTransaction transaction = new FactsTransaction(facts);
+          rules[i].apply(transaction);
+          Facts before = facts;
+          facts = transaction.commit();
+          fired++;
+          if (propagate(before, facts, i)) {
+            i = agenda.nextSetBit(0); // The writes may have activated higher priorities
+            continue;
+          }
+        } catch (RuntimeException e) {
+          agenda.set(i); // Not fired; evaluated again next time
+          throw e;
+        }
+        i = agenda.nextSetBit(i + 1);
+      }
+    } finally {
+      cache.close();
+    }
+    return fired;
+  }
+
+  /** Current facts, including the writes of fired rules. */
+  public Facts getFacts() {
+    return facts;
+  }
+
+  /** Number of rules waiting to be evaluated. */
+  public int getAgendaSize() {
+    return agenda.cardinality();
+  }
+
+  private boolean matches(int position) {
+    for (AlphaNode alpha : alphas[position]) {
+      byte result = alpha.test(facts);
+      if (result == FALSE) {
+        return false;
+      }
+      if (result == ERROR) {
+        return rules[position].evaluate(facts); // Reports the error as the condition would
+      }
+    }
+    return !hasRest[position] || rules[position].evaluate(facts);
+  }
+
+  /**
+   * Put the rules affected by a firing back on the agenda. Facts only change through values, so
+   * only the roots something depends on are compared.
+   *
+   * @return Whether any rule may have been put back
+   */
+  private boolean propagate(Facts before, Facts after, int firedPosition) {
+    if (before == after) {
+      return false;
+    }
+    boolean changed = false;
+    for (Map.Entry<String, Root> entry : roots.entrySet()) {
+      if (!Objects.equals(before.get(entry.getKey()), after.get(entry.getKey()))) {
+        invalidate(entry.getValue());
+        changed = true;
+      }
+    }
+    if (!readsAnything.isEmpty() && !before.asMap().equals(after.asMap())) {
+      boolean wasPending = agenda.get(firedPosition);
+      agenda.or(readsAnything);
+      agenda.set(firedPosition, wasPending); // Not known to read what it wrote
+      changed = true;
+    }
+    return changed;
+  }
+
+  private void changed(String root) {
+    Root dependents = roots.get(root);
+    if (dependents != null) {
+      invalidate(dependents);
+    }
+    agenda.or(readsAnything);
+  }
+
+  private void invalidate(Root dependents) {
+    for (AlphaNode alpha : dependents.alphas) {
+      alpha.result = UNKNOWN;
+    }
+    agenda.or(dependents.readers);
+    for (Map.Entry<AlphaNode, BitSet> gate : dependents.gated.entrySet()) {
+      // A false first test short-circuits the condition, whatever else changed
+      if (gate.getKey().result != FALSE) {
+        agenda.or(gate.getValue());
+      }
+    }
+  }
+
+  /**
+   * Register a rule as reading a fact. A rule whose first test is on another fact only needs
+   * evaluating while that test is not known to be false, so it is gated on that test.
+   */
+  private void addReader(int position, String root) {
+    AlphaNode first = alphas[position].length > 0 ? alphas[position][0] : null;
+    Root dependents = root(root);
+    if (first == null || first.root.equals(root)) {
+      dependents.readers.set(position);
+    } else {
+      dependents.gated.computeIfAbsent(first, node -> new BitSet()).set(position);
+    }
+  }
+
+  private AlphaNode alpha(Expression test, String root, Map<Expression, AlphaNode> shared) {
+    AlphaNode node = shared.get(test);
+    if (node == null) {
+      node = new AlphaNode(test, root);
+      shared.put(test, node);
+      root(root).alphas.add(node);
+    }
+    return node;
+  }
+
+  private Root root(String name) {
+    return roots.computeIfAbsent(name, key -> new Root());
+  }
+
+  /**
+   * The fact root a test reads, if it reads exactly one and uses no function: only such tests can
+   * be evaluated without a registry and remembered until that fact changes.
+   */
+  private static String singleRoot(Expression test) {
+    String[] root = new String[1];
+    return collectRoot(test, root) ? root[0] : null;
+  }
+
+  private static boolean collectRoot(Expression expression, String[] root) {
+    if (expression instanceof LiteralExpression) {
+      return true;
+    }
+    if (expression instanceof VariableExpression) {
+      String name = ReadSets.rootOf(((VariableExpression) expression).getName());
+      if (root[0] != null && !root[0].equals(name)) {
+        return false;
+      }
+      root[0] = name;
+      return true;
+    }
+    if (expression.getClass() == BinaryExpression.class) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      return collectRoot(binary.getLeft(), root) && collectRoot(binary.getRight(), root);
+    }
+    if (expression.getClass() == UnaryExpression.class) {
+      return collectRoot(((UnaryExpression) expression).getOperand(), root);
+    }
+    return false;
+  }
+
+  /** Shared test of one fact, with its remembered result. */
+  private static final class AlphaNode {
+    private final Expression test;
+    private final String root;
+    private byte result = UNKNOWN;
+
+    AlphaNode(Expression test, String root) {
+      this.test = test;
+      this.root = root;
+    }
+
+    byte test(Facts facts) {
+      if (result == UNKNOWN) {
+        try {
+          Object value = test.evaluate(facts, null);
+          result = value instanceof Boolean ? ((Boolean) value ? TRUE : FALSE) : ERROR;
+        } catch (RuntimeException e) {
+          result = ERROR;
+        }
+      }
+      return result;
+    }
+  }
+
+  /** What depends on one top-level fact. */
+  private static final class Root {
+    private final List<AlphaNode> alphas = new ArrayList<>();
+    private final BitSet readers = new BitSet();
+    private final Map<AlphaNode, BitSet> gated = new HashMap<>(); // By their first test
+  }
+}
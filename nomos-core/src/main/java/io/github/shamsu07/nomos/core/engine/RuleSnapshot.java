@@ -0,0 +1,231 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import io.github.shamsu07.nomos.core.cache.BoundedCache;
+import io.github.shamsu07.nomos.core.expression.ReadSets;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, priority-ordered rule set with a name index.
+ *
+ * <p>Rules are sorted by priority (highest first); rules with equal priority keep insertion order.
+ * The name index makes membership checks O(1), so misses in remove/upsert never scan the rules.
+ * Every mutation returns a new snapshot and leaves this one untouched.
+ *
+ * <p>The {@link RuleIndex} over the rule conditions and the {@link RuleDependencies} for chained
+ * execution are built on the first execution that uses them, so a series of mutations does not
+ * rebuild them each time. Goal-directed executions cache one pruned snapshot per requested output
+ * set, at most {@link #MAX_PLANS} of them.
+ */
+final class RuleSnapshot {
+
+  static final RuleSnapshot EMPTY = new RuleSnapshot(new Rule[0], Map.of());
+
+  static final int MAX_PLANS = 256;
+
+  // Highest priority first. Stable sorts keep insertion order for equal priorities.
+  private static final Comparator<Rule> PRIORITY_ORDER =
+      (r1, r2) -> Integer.compare(r2.getPriority(), r1.getPriority());
+
+  private final Rule[] rules;
+  private final Map<String, Integer> nameCounts; // Duplicate names are allowed
+  private RuleIndex index; // Built on first use; immutable, so racy initialization is harmless
+  private RuleDependencies dependencies; // Same
+  private volatile BoundedCache<Set<String>, RuleSnapshot> plans; // Created on first use
+
+  private RuleSnapshot(Rule[] rules, Map<String, Integer> nameCounts) {
+    this.rules = rules;
+    this.nameCounts = nameCounts;
+  }
+
+  /** Build a snapshot from scratch with a single O(N log N) sort. */
+  static RuleSnapshot of(Collection<Rule> rules) {
+    Rule[] sorted = toArray(rules);
+    Arrays.sort(sorted, PRIORITY_ORDER);
+    return new RuleSnapshot(sorted, index(sorted));
+  }
+
+  Rule[] rules() {
+    return rules;
+  }
+
+  RuleIndex index() {
+    RuleIndex current = index;
+    if (current == null) {
+      current = RuleIndex.build(rules);
+      index = current;
+    }
+    return current;
+  }
+
+  RuleDependencies dependencies() {
+    RuleDependencies current = dependencies;
+    if (current == null) {
+      current = RuleDependencies.build(rules);
+      dependencies = current;
+    }
+    return current;
+  }
+
+  /**
+   * Get the rules that can affect the requested facts, in the same order. The result is cached by
+   * output set.
+   *
+   * @param outputs Requested fact keys, possibly nested
+   * @return Snapshot of the producing rules
+   */
+  RuleSnapshot forOutputs(Set<String> outputs) {
+    BoundedCache<Set<String>, RuleSnapshot> cache = plans;
+    if (cache == null) {
+      synchronized (this) {
+        cache = plans;
+        if (cache == null) {
+          cache = new BoundedCache<>(MAX_PLANS, Duration.ZERO);
+          plans = cache;
+        }
+      }
+    }
+
+    RuleSnapshot plan = cache.get(outputs);
+    if (plan == null) {
+      Set<String> key = Set.copyOf(outputs);
+      Set<String> roots = new HashSet<>();
+      for (String output : key) {
+        roots.add(ReadSets.rootOf(output));
+      }
+      BitSet producers = dependencies().producers(roots);
+      if (producers.cardinality() == rules.length) {
+        plan = this;
+      } else {
+        Rule[] selected = new Rule[producers.cardinality()];
+        int k = 0;
+        for (int i = producers.nextSetBit(0); i >= 0; i = producers.nextSetBit(i + 1)) {
+          selected[k++] = rules[i];
+        }
+        plan = new RuleSnapshot(selected, index(selected));
+      }
+      cache.put(key, plan);
+    }
+    return plan;
+  }
+
+  int size() {
+    return rules.length;
+  }
+
+  boolean contains(String name) {
+    return nameCounts.containsKey(name);
+  }
+
+  /** Insert one rule after all rules with the same or higher priority. O(log N) search + copy. */
+  RuleSnapshot with(Rule rule) {
+    int position = insertionPoint(rules, rule.getPriority());
+    Rule[] next = new Rule[rules.length + 1];
+    System.arraycopy(rules, 0, next, 0, position);
+    next[position] = rule;
+    System.arraycopy(rules, position, next, position + 1, rules.length - position);
+
+    Map<String, Integer> counts = new HashMap<>(nameCounts);
+    counts.merge(rule.getName(), 1, Integer::sum);
+    return new RuleSnapshot(next, counts);
+  }
+
+  /** Merge a batch: sort the batch only, then one linear merge with the existing rules. */
+  RuleSnapshot withAll(Collection<Rule> added) {
+    if (added.isEmpty()) {
+      return this;
+    }
+    Rule[] batch = toArray(added);
+    Arrays.sort(batch, PRIORITY_ORDER);
+
+    Rule[] merged = new Rule[rules.length + batch.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < rules.length && j < batch.length) {
+      // Existing rules win ties to keep insertion order
+      if (rules[i].getPriority() >= batch[j].getPriority()) {
+        merged[k++] = rules[i++];
+      } else {
+        merged[k++] = batch[j++];
+      }
+    }
+    while (i < rules.length) {
+      merged[k++] = rules[i++];
+    }
+    while (j < batch.length) {
+      merged[k++] = batch[j++];
+    }
+
+    Map<String, Integer> counts = new HashMap<>(nameCounts);
+    for (Rule rule : batch) {
+      counts.merge(rule.getName(), 1, Integer::sum);
+    }
+    return new RuleSnapshot(merged, counts);
+  }
+
+  /** Remove all rules with the given name. Returns this snapshot if no rule has that name. */
+  RuleSnapshot without(String name) {
+    Integer count = nameCounts.get(name);
+    if (count == null) {
+      return this;
+    }
+
+    Rule[] remaining = new Rule[rules.length - count];
+    int k = 0;
+    for (Rule rule : rules) {
+      if (!rule.getName().equals(name)) {
+        remaining[k++] = rule;
+      }
+    }
+
+    Map<String, Integer> counts = new HashMap<>(nameCounts);
+    counts.remove(name);
+    return new RuleSnapshot(remaining, counts);
+  }
+
+  /** Replace all rules with the rule's name by the given rule, or add it if none exists. */
+  RuleSnapshot upsert(Rule rule) {
+    return without(rule.getName()).with(rule);
+  }
+
+  // First index whose priority is lower than the given one (upper bound in descending order)
+  private static int insertionPoint(Rule[] rules, int priority) {
+    int low = 0;
+    int high = rules.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (rules[mid].getPriority() >= priority) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static Rule[] toArray(Collection<Rule> rules) {
+    Rule[] array = rules.toArray(new Rule[0]);
+    for (Rule rule : array) {
+      Objects.requireNonNull(rule, "Rule cannot be null");
+    }
+    return array;
+  }
+
+  private static Map<String, Integer> index(Rule[] rules) {
+    Map<String, Integer> counts = new HashMap<>(rules.length * 2);
+    for (Rule rule : rules) {
+      counts.merge(rule.getName(), 1, Integer::sum);
+    }
+    return counts;
+  }
+}
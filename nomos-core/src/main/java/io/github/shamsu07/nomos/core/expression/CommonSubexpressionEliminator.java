@@ -0,0 +1,166 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.SharedExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Finds subexpressions that occur more than once across a set of expressions and replaces every
+ * occurrence with one {@link SharedExpression}, so the value is computed once per execution.
+ *
+ * <p>Occurrences are matched structurally ({@code equals}/{@code hashCode} of the AST nodes).
+ * Function calls and operators are shared; literals and variables are cheaper to evaluate than to
+ * look up. A subexpression is only shared on its own if it also occurs outside its enclosing
+ * shared subexpression: in {@code cartTotal() > 100} occurring twice, {@code cartTotal()} is not
+ * wrapped again unless it is also used elsewhere.
+ *
+ * <p>Each shared node records the top-level facts it reads, as found by {@link ReadSets}.
+ *
+ * <p>Evaluation order and short-circuiting are unchanged: a shared subexpression is only computed
+ * when an expression reaches it.
+ *
+ * <p>Thread-safe.
+ */
+public final class CommonSubexpressionEliminator {
+
+  private final FunctionRegistry functionRegistry;
+  private final ExpressionCompiler compiler;
+
+  /**
+   * Create an eliminator.
+   *
+   * @param functionRegistry Registry used to look up what functions read
+   * @param compiler Compiler applied to each shared subexpression
+   */
+  public CommonSubexpressionEliminator(
+      FunctionRegistry functionRegistry, ExpressionCompiler compiler) {
+    this.functionRegistry =
+        Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+    this.compiler = Objects.requireNonNull(compiler, "Expression compiler cannot be null");
+  }
+
+  /**
+   * Share common subexpressions across the given expressions.
+   *
+   * @param expressions Parsed expressions, e.g. all rule conditions of a rule set
+   * @return Expressions in the same order; unchanged ones are the same instances
+   */
+  public List<Expression> eliminate(List<Expression> expressions) {
+    Objects.requireNonNull(expressions, "Expressions cannot be null");
+
+    Map<Expression, Integer> counts = new HashMap<>();
+    for (Expression expression : expressions) {
+      count(Objects.requireNonNull(expression, "Expression cannot be null"), counts);
+    }
+
+    // One node per distinct subexpression, reused by every occurrence
+    Map<Expression, Expression> shared = new HashMap<>();
+    List<Expression> result = new ArrayList<>(expressions.size());
+    for (Expression expression : expressions) {
+      result.add(rewrite(expression, 1, counts, shared));
+    }
+    return result;
+  }
+
+  private static void count(Expression expression, Map<Expression, Integer> counts) {
+    if (!isShareable(expression)) {
+      return;
+    }
+    counts.merge(expression, 1, Integer::sum);
+    for (Expression child : children(expression)) {
+      count(child, counts);
+    }
+  }
+
+  private Expression rewrite(
+      Expression expression,
+      int enclosingCount,
+      Map<Expression, Integer> counts,
+      Map<Expression, Expression> shared) {
+    if (!isShareable(expression)) {
+      return expression;
+    }
+
+    int count = counts.get(expression);
+    if (count > 1 && count > enclosingCount) {
+      Expression existing = shared.get(expression);
+      if (existing != null) {
+        return existing;
+      }
+      Expression body = rebuild(expression, count, counts, shared);
+      Expression node = new SharedExpression(compiler.compile(body), reads(body));
+      shared.put(expression, node);
+      return node;
+    }
+    return rebuild(expression, enclosingCount, counts, shared);
+  }
+
+  private Expression rebuild(
+      Expression expression,
+      int enclosingCount,
+      Map<Expression, Integer> counts,
+      Map<Expression, Expression> shared) {
+    if (expression instanceof BinaryExpression) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      Expression left = rewrite(binary.getLeft(), enclosingCount, counts, shared);
+      Expression right = rewrite(binary.getRight(), enclosingCount, counts, shared);
+      if (left == binary.getLeft() && right == binary.getRight()) {
+        return binary;
+      }
+      return new BinaryExpression(left, binary.getOperator(), right);
+    }
+    if (expression instanceof UnaryExpression) {
+      UnaryExpression unary = (UnaryExpression) expression;
+      Expression operand = rewrite(unary.getOperand(), enclosingCount, counts, shared);
+      return operand == unary.getOperand()
+          ? unary
+          : new UnaryExpression(unary.getOperator(), operand);
+    }
+
+    FunctionCallExpression call = (FunctionCallExpression) expression;
+    List<Expression> arguments = new ArrayList<>(call.getArguments().size());
+    boolean changed = false;
+    for (Expression argument : call.getArguments()) {
+      Expression rewritten = rewrite(argument, enclosingCount, counts, shared);
+      arguments.add(rewritten);
+      changed |= rewritten != argument;
+    }
+    return changed ? new FunctionCallExpression(call.getFunctionName(), arguments) : call;
+  }
+
+  // Top-level fact keys the expression reads, or null if it may read any fact
+  private List<String> reads(Expression expression) {
+    Set<String> roots = ReadSets.of(expression, functionRegistry);
+    return roots == null ? null : new ArrayList<>(roots);
+  }
+
+  private static boolean isShareable(Expression expression) {
+    return expression.getClass() == BinaryExpression.class
+        || expression.getClass() == UnaryExpression.class
+        || expression instanceof FunctionCallExpression;
+  }
+
+  private static List<Expression> children(Expression expression) {
+    if (expression instanceof BinaryExpression) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      return List.of(binary.getLeft(), binary.getRight());
+    }
+    if (expression instanceof UnaryExpression) {
+      return List.of(((UnaryExpression) expression).getOperand());
+    }
+    if (expression instanceof FunctionCallExpression) {
+      return ((FunctionCallExpression) expression).getArguments();
+    }
+    return List.of();
+  }
+}
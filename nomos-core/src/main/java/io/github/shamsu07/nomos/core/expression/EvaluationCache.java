@@ -0,0 +1,278 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import io.github.shamsu07.nomos.core.expression.ast.SharedExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionMetadata;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Values computed during one rule execution: {@link SharedExpression shared subexpressions} and
+ * results of cacheable function calls.
+ *
+ * <p>The engine opens a cache for each execution. Shared subexpressions evaluated while it is open
+ * are computed once and reused by every later rule; cacheable functions are called once per
+ * distinct argument list. A value stays valid until the facts it was computed from change in a way
+ * it can observe:
+ *
+ * <ul>
+ *   <li>With a known read set, the value is reused as long as every top-level fact it reads is
+ *       still the same instance. Writes to other facts do not invalidate it.
+ *   <li>With an unknown read set (a function taking Facts without declared reads), the value is
+ *       only reused for the exact same Facts instance, so any write invalidates it.
+ * </ul>
+ *
+ * <p>Function results live in an open-addressing table keyed by function and argument values
+ * (compared with {@code equals}). Lookups allocate nothing; each stored result costs one entry.
+ *
+ * <p>Errors are not cached: a failing subexpression or call fails again on its next evaluation.
+ *
+ * <p>Not thread-safe: a cache belongs to the thread running the execution and is only visible to
+ * that thread.
+ */
+public final class EvaluationCache implements AutoCloseable {
+
+  /** Returned by {@link #lookupCall} when no valid result is cached. */
+  public static final Object MISS = new Object();
+
+  private static final ThreadLocal<EvaluationCache> CURRENT = new ThreadLocal<>();
+  private static final int INITIAL_CAPACITY = 16; // Power of two
+
+  private final EvaluationCache previous; // Restored on close, for nested executions
+  private Map<SharedExpression, Entry> entries; // Created on first use
+  private CallEntry[] calls; // Open addressing with linear probing, created on first use
+  private int callCount;
+
+  private EvaluationCache(EvaluationCache previous) {
+    this.previous = previous;
+  }
+
+  /**
+   * Open a cache for the current thread. Must be closed by the same thread, typically with
+   * try-with-resources.
+   *
+   * @return Open cache
+   */
+  public static EvaluationCache open() {
+    EvaluationCache cache = new EvaluationCache(CURRENT.get());
+    CURRENT.set(cache);
+    return cache;
+  }
+
+  /**
+   * Get the cache open on the current thread.
+   *
+   * @return Open cache, or null outside an execution
+   */
+  public static EvaluationCache current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Evaluate a shared subexpression, reusing the value computed earlier in this execution if the
+   * facts it reads are unchanged.
+   *
+   * @param expression Shared subexpression
+   * @param facts Current facts
+   * @param functionRegistry Registry for function calls
+   * @return Evaluation result
+   */
+  public Object evaluate(
+      SharedExpression expression, Facts facts, FunctionRegistry functionRegistry) {
+    if (entries == null) {
+      entries = new IdentityHashMap<>();
+    }
+
+    Entry entry = entries.get(expression);
+    if (entry != null && entry.isValid(expression.getReads(), facts)) {
+      return entry.value;
+    }
+
+    Object value = expression.getDelegate().evaluate(facts, functionRegistry);
+    entries.put(expression, new Entry(expression.getReads(), facts, value));
+    return value;
+  }
+
+  /**
+   * Look up the result of an earlier call with equal arguments. Up to three arguments are passed
+   * individually; unused ones must be null. An injected Facts parameter is not an argument: it is
+   * covered by the read set.
+   *
+   * @param function Called function
+   * @param reads Top-level facts the function reads, or null if it may read any fact
+   * @param facts Current facts
+   * @param arity Number of arguments (0 to 3)
+   * @param a0 First argument, or null
+   * @param a1 Second argument, or null
+   * @param a2 Third argument, or null
+   * @return Cached result, or {@link #MISS}
+   */
+  public Object lookupCall(
+      FunctionMetadata function,
+      String[] reads,
+      Facts facts,
+      int arity,
+      Object a0,
+      Object a1,
+      Object a2) {
+    if (calls == null) {
+      return MISS;
+    }
+    int mask = calls.length - 1;
+    int hash = hash(function, a0, a1, a2);
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      CallEntry entry = calls[i];
+      if (entry == null) {
+        return MISS;
+      }
+      if (entry.matches(hash, function, arity, a0, a1, a2)) {
+        return entry.isValid(reads, facts) ? entry.value : MISS;
+      }
+    }
+  }
+
+  /**
+   * Store the result of a call, replacing any stale result for the same arguments. Parameters are
+   * as for {@link #lookupCall}.
+   *
+   * @param value Call result
+   */
+  public void storeCall(
+      FunctionMetadata function,
+      String[] reads,
+      Facts facts,
+      int arity,
+      Object a0,
+      Object a1,
+      Object a2,
+      Object value) {
+    if (calls == null) {
+      calls = new CallEntry[INITIAL_CAPACITY];
+    } else if ((callCount + 1) * 2 > calls.length) {
+      resize();
+    }
+
+    int mask = calls.length - 1;
+    int hash = hash(function, a0, a1, a2);
+    CallEntry entry = new CallEntry(reads, facts, value, hash, function, arity, a0, a1, a2);
+    for (int i = hash & mask; ; i = (i + 1) & mask) {
+      CallEntry existing = calls[i];
+      if (existing == null) {
+        calls[i] = entry;
+        callCount++;
+        return;
+      }
+      if (existing.matches(hash, function, arity, a0, a1, a2)) {
+        calls[i] = entry;
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (CURRENT.get() != this) {
+      throw new IllegalStateException("Evaluation cache closed out of order");
+    }
+    CURRENT.set(previous);
+  }
+
+  private void resize() {
+    CallEntry[] old = calls;
+    calls = new CallEntry[old.length * 2];
+    int mask = calls.length - 1;
+    for (CallEntry entry : old) {
+      if (entry != null) {
+        int i = entry.hash & mask;
+        while (calls[i] != null) {
+          i = (i + 1) & mask;
+        }
+        calls[i] = entry;
+      }
+    }
+  }
+
+  private static int hash(FunctionMetadata function, Object a0, Object a1, Object a2) {
+    int h = System.identityHashCode(function);
+    h = 31 * h + Objects.hashCode(a0);
+    h = 31 * h + Objects.hashCode(a1);
+    h = 31 * h + Objects.hashCode(a2);
+    return h ^ (h >>> 16);
+  }
+
+  private static class Entry {
+    private Facts facts;
+    private final Object[] readValues; // Null when the read set is unknown
+    final Object value;
+
+    Entry(String[] reads, Facts facts, Object value) {
+      this.facts = facts;
+      this.value = value;
+      if (reads == null) {
+        this.readValues = null;
+      } else {
+        this.readValues = new Object[reads.length];
+        for (int i = 0; i < reads.length; i++) {
+          readValues[i] = facts.get(reads[i]);
+        }
+      }
+    }
+
+    boolean isValid(String[] reads, Facts current) {
+      if (current == facts) {
+        return true;
+      }
+      if (readValues == null) {
+        return false;
+      }
+      // Writes replace the top-level value they go through, so identity means unchanged
+      for (int i = 0; i < reads.length; i++) {
+        if (current.get(reads[i]) != readValues[i]) {
+          return false;
+        }
+      }
+      facts = current; // Next lookup against the same facts skips the comparison
+      return true;
+    }
+  }
+
+  private static final class CallEntry extends Entry {
+    private final int hash;
+    private final FunctionMetadata function;
+    private final int arity;
+    private final Object a0;
+    private final Object a1;
+    private final Object a2;
+
+    CallEntry(
+        String[] reads,
+        Facts facts,
+        Object value,
+        int hash,
+        FunctionMetadata function,
+        int arity,
+        Object a0,
+        Object a1,
+        Object a2) {
+      super(reads, facts, value);
+      this.hash = hash;
+      this.function = function;
+      this.arity = arity;
+      this.a0 = a0;
+      this.a1 = a1;
+      this.a2 = a2;
+    }
+
+    boolean matches(
+        int hash, FunctionMetadata function, int arity, Object a0, Object a1, Object a2) {
+      return this.hash == hash
+          && this.function == function
+          && this.arity == arity
+          && Objects.equals(this.a0, a0)
+          && Objects.equals(this.a1, a1)
+          && Objects.equals(this.a2, a2);
+    }
+  }
+}
@@ -1,27 +1,72 @@
 package io.github.shamsu07.nomos.core.expression;
 
+import io.github.shamsu07.nomos.core.cache.BoundedCache;
 import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Evaluates parsed expressions against facts.
  *
- * <p>Combines lexer, parser, and AST evaluation into a single interface.
+ * <p>Combines lexer, parser, and AST evaluation into a single interface. Expressions evaluated
+ * repeatedly can be passed through {@link #compile(Expression)} once, using the configured {@link
+ * ExpressionCompiler}; the default keeps interpreting the AST.
+ *
+ * <p>{@link #evaluate(String, Facts)} keeps the parsed expression of recently used strings in a
+ * bounded cache, so repeated evaluations of the same string skip the lexer and parser. Only the
+ * parse is cached: function calls are still resolved against the registry on every evaluation, so
+ * functions registered or removed later are seen exactly as with the cache disabled. The cache
+ * holds at most {@link #DEFAULT_PARSE_CACHE_SIZE} entries unless configured otherwise; strings that
+ * fail to parse are not cached.
  */
 public final class ExpressionEvaluator {
 
+  /** Default number of expression strings kept parsed by {@link #evaluate(String, Facts)}. */
+  public static final int DEFAULT_PARSE_CACHE_SIZE = 1_000;
+
   private final FunctionRegistry functionRegistry;
+  private final ExpressionCompiler compiler;
+  private final ExpressionOptimizer optimizer;
+  private final CommonSubexpressionEliminator eliminator;
+  private final BoundedCache<String, Expression> parseCache; // Null when disabled
 
   public ExpressionEvaluator(FunctionRegistry functionRegistry) {
+    this(functionRegistry, ExpressionCompiler.interpreter());
+  }
+
+  public ExpressionEvaluator(FunctionRegistry functionRegistry, ExpressionCompiler compiler) {
+    this(functionRegistry, compiler, DEFAULT_PARSE_CACHE_SIZE);
+  }
+
+  /**
+   * Create an evaluator with a custom parse cache size.
+   *
+   * @param functionRegistry Registry for function calls
+   * @param compiler Compiler for expressions evaluated repeatedly
+   * @param parseCacheSize Maximum number of expression strings kept parsed; 0 disables the cache
+   * @throws IllegalArgumentException if the size is negative
+   */
+  public ExpressionEvaluator(
+      FunctionRegistry functionRegistry, ExpressionCompiler compiler, int parseCacheSize) {
     this.functionRegistry =
         Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+    this.compiler = Objects.requireNonNull(compiler, "Expression compiler cannot be null");
+    if (parseCacheSize < 0) {
+      throw new IllegalArgumentException("Parse cache size cannot be negative: " + parseCacheSize);
+    }
+    this.optimizer = new ExpressionOptimizer(functionRegistry);
+    this.eliminator = new CommonSubexpressionEliminator(functionRegistry, compiler);
+    this.parseCache =
+        parseCacheSize == 0 ? null : new BoundedCache<>(parseCacheSize, Duration.ZERO);
   }
 
   /**
-   * Parse and evaluate expression string.
+   * Parse and evaluate expression string. The parsed expression is cached, see {@link
+   * #getParseCache()}.
    *
    * @param expressionString Expression to evaluate
    * @param facts Current facts
@@ -32,7 +77,28 @@ public final class ExpressionEvaluator {
     Objects.requireNonNull(expressionString, "Expression string cannot be null");
     Objects.requireNonNull(facts, "Facts cannot be null");
 
-    Expression ast = parse(expressionString);
+    Expression ast = parseCache == null ? null : parseCache.get(expressionString);
+    if (ast == null) {
+      ast = parse(expressionString);
+      if (parseCache != null) {
+        parseCache.put(expressionString, ast);
+      }
+    }
+    return ast.evaluate(facts, functionRegistry);
+  }
+
+  /**
+   * Evaluate an already parsed expression. Use this for expressions evaluated repeatedly, so the
+   * lexer and parser run only once.
+   *
+   * @param ast Parsed expression
+   * @param facts Current facts
+   * @return Evaluation result
+   */
+  public Object evaluate(Expression ast, Facts facts) {
+    Objects.requireNonNull(ast, "Expression cannot be null");
+    Objects.requireNonNull(facts, "Facts cannot be null");
+
     return ast.evaluate(facts, functionRegistry);
   }
 
@@ -46,10 +112,49 @@ public final class ExpressionEvaluator {
   public Expression parse(String expressionString) {
     Objects.requireNonNull(expressionString, "Expression string cannot be null");
 
-    Lexer lexer = new Lexer(expressionString);
-    List<Token> tokens = lexer.tokenize();
-
-    ExpressionParser parser = new ExpressionParser(tokens);
+    ExpressionParser parser = new ExpressionParser(new Lexer(expressionString));
     return parser.parse();
   }
+
+  /**
+   * Fold constants and simplify boolean identities, see {@link ExpressionOptimizer}.
+   *
+   * @param ast Parsed expression
+   * @return Equivalent, possibly simpler expression
+   */
+  public Expression optimize(Expression ast) {
+    return optimizer.optimize(ast);
+  }
+
+  /**
+   * Share subexpressions that occur in several of the given expressions, see {@link
+   * CommonSubexpressionEliminator}. Shared subexpressions are compiled with the configured
+   * compiler.
+   *
+   * @param asts Parsed expressions, e.g. all rule conditions of a rule set
+   * @return Expressions in the same order, with shared subexpressions computed once per execution
+   */
+  public List<Expression> shareCommonSubexpressions(List<Expression> asts) {
+    return eliminator.eliminate(asts);
+  }
+
+  /**
+   * Get the cache used by {@link #evaluate(String, Facts)}, for its hit rate or to clear it.
+   *
+   * @return The cache, or null if disabled
+   */
+  public BoundedCache<String, Expression> getParseCache() {
+    return parseCache;
+  }
+
+  /**
+   * Compile a parsed expression with the configured compiler.
+   *
+   * @param ast Parsed expression
+   * @return Equivalent expression to evaluate instead of the AST, possibly the AST itself
+   */
+  public Expression compile(Expression ast) {
+    Objects.requireNonNull(ast, "Expression cannot be null");
+    return compiler.compile(ast);
+  }
 }
@@ -0,0 +1,200 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionMetadata;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Simplifies parsed expressions before they are evaluated repeatedly.
+ *
+ * <p>Rewrites:
+ *
+ * <ul>
+ *   <li>Operators whose operands are all literals are folded into a literal ({@code 15 / 100}).
+ *   <li>{@code false && x} and {@code true || x} become the literal, without evaluating x.
+ *   <li>{@code true && x}, {@code x && true}, {@code false || x}, {@code x || false} and {@code
+ *       !!x} become x when x always produces a boolean (a comparison, logical operator or boolean
+ *       literal); otherwise they are kept, since they reject non-boolean values.
+ *   <li>Calls to functions marked {@code @NomosFunction(deterministic = true)}, without a Facts
+ *       parameter and with only literal arguments, are evaluated once.
+ * </ul>
+ *
+ * <p>Every rewrite preserves results and errors: a subtree that fails to evaluate (e.g. {@code 1 /
+ * 0}) is left as is and fails at evaluation time, exactly as before. Unchanged subtrees keep their
+ * original instances.
+ *
+ * <p>Thread-safe.
+ */
+public final class ExpressionOptimizer {
+
+  private static final Facts NO_FACTS = new Facts();
+
+  private final FunctionRegistry functionRegistry;
+
+  public ExpressionOptimizer(FunctionRegistry functionRegistry) {
+    this.functionRegistry =
+        Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+  }
+
+  /**
+   * Optimize an expression.
+   *
+   * @param expression Parsed expression
+   * @return Equivalent, possibly simpler expression
+   */
+  public Expression optimize(Expression expression) {
+    Objects.requireNonNull(expression, "Expression cannot be null");
+
+    if (expression.getClass() == BinaryExpression.class) {
+      return optimizeBinary((BinaryExpression) expression);
+    }
+    if (expression.getClass() == UnaryExpression.class) {
+      return optimizeUnary((UnaryExpression) expression);
+    }
+    if (expression instanceof FunctionCallExpression) {
+      return optimizeCall((FunctionCallExpression) expression);
+    }
+    return expression;
+  }
+
+  private Expression optimizeBinary(BinaryExpression binary) {
+    TokenType operator = binary.getOperator();
+    Expression left = optimize(binary.getLeft());
+
+    if (operator == TokenType.AND || operator == TokenType.OR) {
+      boolean isAnd = operator == TokenType.AND;
+      Boolean constantLeft = booleanLiteral(left);
+      if (constantLeft != null && constantLeft != isAnd) {
+        // false && x, true || x: the right side is never evaluated
+        return left;
+      }
+
+      Expression right = optimize(binary.getRight());
+      if (constantLeft != null && isBoolean(right)) {
+        return right; // true && x, false || x
+      }
+      Boolean constantRight = booleanLiteral(right);
+      if (constantRight != null && constantRight == isAnd && isBoolean(left)) {
+        return left; // x && true, x || false
+      }
+      return fold(rebuild(binary, left, right));
+    }
+
+    Expression right = optimize(binary.getRight());
+    return fold(rebuild(binary, left, right));
+  }
+
+  private Expression optimizeUnary(UnaryExpression unary) {
+    Expression operand = optimize(unary.getOperand());
+
+    if (unary.getOperator() == TokenType.NOT
+        && operand.getClass() == UnaryExpression.class
+        && ((UnaryExpression) operand).getOperator() == TokenType.NOT
+        && isBoolean(((UnaryExpression) operand).getOperand())) {
+      return ((UnaryExpression) operand).getOperand(); // !!x
+    }
+
+    Expression rebuilt =
+        operand == unary.getOperand() ? unary : new UnaryExpression(unary.getOperator(), operand);
+    return fold(rebuilt);
+  }
+
+  private Expression optimizeCall(FunctionCallExpression call) {
+    List<Expression> arguments = call.getArguments();
+    List<Expression> optimized = new ArrayList<>(arguments.size());
+    boolean changed = false;
+    boolean constant = true;
+    for (Expression argument : arguments) {
+      Expression result = optimize(argument);
+      optimized.add(result);
+      changed |= result != argument;
+      constant &= result instanceof LiteralExpression;
+    }
+
+    FunctionCallExpression rebuilt =
+        changed ? new FunctionCallExpression(call.getFunctionName(), optimized) : call;
+    if (!constant || !functionRegistry.hasFunction(call.getFunctionName())) {
+      return rebuilt;
+    }
+
+    FunctionMetadata metadata = functionRegistry.getFunction(call.getFunctionName());
+    if (!metadata.isDeterministic() || metadata.hasFactsParameter()) {
+      return rebuilt;
+    }
+    return evaluateConstant(rebuilt);
+  }
+
+  // Folds operators whose operands are all literals
+  private Expression fold(Expression expression) {
+    if (expression instanceof BinaryExpression) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      if (binary.getLeft() instanceof LiteralExpression
+          && binary.getRight() instanceof LiteralExpression) {
+        return evaluateConstant(expression);
+      }
+    } else if (expression instanceof UnaryExpression) {
+      if (((UnaryExpression) expression).getOperand() instanceof LiteralExpression) {
+        return evaluateConstant(expression);
+      }
+    }
+    return expression;
+  }
+
+  private Expression evaluateConstant(Expression expression) {
+    try {
+      return new LiteralExpression(expression.evaluate(NO_FACTS, functionRegistry));
+    } catch (RuntimeException e) {
+      // Keep the error for evaluation time
+      return expression;
+    }
+  }
+
+  private static Expression rebuild(BinaryExpression binary, Expression left, Expression right) {
+    if (left == binary.getLeft() && right == binary.getRight()) {
+      return binary;
+    }
+    return new BinaryExpression(left, binary.getOperator(), right);
+  }
+
+  private static Boolean booleanLiteral(Expression expression) {
+    if (expression instanceof LiteralExpression
+        && ((LiteralExpression) expression).getValue() instanceof Boolean) {
+      return (Boolean) ((LiteralExpression) expression).getValue();
+    }
+    return null;
+  }
+
+  // Whether the expression evaluates to a Boolean whenever it does not throw
+  private static boolean isBoolean(Expression expression) {
+    if (booleanLiteral(expression) != null) {
+      return true;
+    }
+    if (expression.getClass() == UnaryExpression.class) {
+      return ((UnaryExpression) expression).getOperator() == TokenType.NOT;
+    }
+    if (expression.getClass() == BinaryExpression.class) {
+      switch (((BinaryExpression) expression).getOperator()) {
+        case AND:
+        case OR:
+        case EQUAL:
+        case NOT_EQUAL:
+        case LESS:
+        case GREATER:
+        case LESS_EQUAL:
+        case GREATER_EQUAL:
+          return true;
+        default:
+          return false;
+      }
+    }
+    return false;
+  }
+}
@@ -8,6 +8,7 @@ import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
 import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Recursive descent parser for expressions.
@@ -25,14 +26,30 @@ import java.util.List;
  * unary      → ( "!" | "-" ) unary | primary
  * primary    → literal | identifier | functionCall | "(" expression ")"
  * </pre>
+ *
+ * <p>Reads tokens either from a list or directly from a {@link Lexer}, one token ahead, so parsing
+ * a string never builds the token list.
  */
 public final class ExpressionParser {
 
-  private final List<Token> tokens;
+  private final List<Token> tokens; // Null when reading from the lexer
+  private final Lexer lexer;
   private int current;
 
   public ExpressionParser(List<Token> tokens) {
     this.tokens = tokens;
+    this.lexer = null;
+    this.current = 0;
+  }
+
+  /**
+   * Create a parser reading tokens from a lexer as it goes.
+   *
+   * @param lexer Lexer positioned before the first token
+   */
+  public ExpressionParser(Lexer lexer) {
+    this.tokens = null;
+    this.lexer = Objects.requireNonNull(lexer, "Lexer cannot be null");
     this.current = 0;
   }
 
@@ -44,11 +61,14 @@ public final class ExpressionParser {
    */
   public Expression parse() {
     try {
+      if (lexer != null) {
+        lexer.next();
+      }
       Expression expr = expression();
 
       // Ensure we consumed all tokens
       if (!isAtEnd()) {
-        throw new ParseException("Unexpected tokens after expression", peek().getPosition());
+        throw new ParseException("Unexpected tokens after expression", position());
       }
 
       return expr;
@@ -64,10 +84,10 @@ public final class ExpressionParser {
   private Expression or() {
     Expression expr = and();
 
-    while (match(TokenType.OR)) {
-      Token operator = previous();
+    while (check(TokenType.OR)) {
+      advance();
       Expression right = and();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, TokenType.OR, right);
     }
 
     return expr;
@@ -76,10 +96,10 @@ public final class ExpressionParser {
   private Expression and() {
     Expression expr = equality();
 
-    while (match(TokenType.AND)) {
-      Token operator = previous();
+    while (check(TokenType.AND)) {
+      advance();
       Expression right = equality();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, TokenType.AND, right);
     }
 
     return expr;
@@ -88,10 +108,11 @@ public final class ExpressionParser {
   private Expression equality() {
     Expression expr = comparison();
 
-    while (match(TokenType.EQUAL, TokenType.NOT_EQUAL)) {
-      Token operator = previous();
+    TokenType operator;
+    while ((operator = type()) == TokenType.EQUAL || operator == TokenType.NOT_EQUAL) {
+      advance();
       Expression right = comparison();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, operator, right);
     }
 
     return expr;
@@ -100,11 +121,14 @@ public final class ExpressionParser {
   private Expression comparison() {
     Expression expr = term();
 
-    while (match(
-        TokenType.GREATER, TokenType.GREATER_EQUAL, TokenType.LESS, TokenType.LESS_EQUAL)) {
-      Token operator = previous();
+    TokenType operator;
+    while ((operator = type()) == TokenType.GREATER
+        || operator == TokenType.GREATER_EQUAL
+        || operator == TokenType.LESS
+        || operator == TokenType.LESS_EQUAL) {
+      advance();
       Expression right = term();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, operator, right);
     }
 
     return expr;
@@ -113,10 +137,11 @@ public final class ExpressionParser {
   private Expression term() {
     Expression expr = factor();
 
-    while (match(TokenType.PLUS, TokenType.MINUS)) {
-      Token operator = previous();
+    TokenType operator;
+    while ((operator = type()) == TokenType.PLUS || operator == TokenType.MINUS) {
+      advance();
       Expression right = factor();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, operator, right);
     }
 
     return expr;
@@ -125,126 +150,138 @@ public final class ExpressionParser {
   private Expression factor() {
     Expression expr = unary();
 
-    while (match(TokenType.MULTIPLY, TokenType.DIVIDE, TokenType.MODULO)) {
-      Token operator = previous();
+    TokenType operator;
+    while ((operator = type()) == TokenType.MULTIPLY
+        || operator == TokenType.DIVIDE
+        || operator == TokenType.MODULO) {
+      advance();
       Expression right = unary();
-      expr = new BinaryExpression(expr, operator.getType(), right);
+      expr = new BinaryExpression(expr, operator, right);
     }
 
     return expr;
   }
 
   private Expression unary() {
-    if (match(TokenType.NOT, TokenType.MINUS, TokenType.PLUS)) {
-      Token operator = previous();
+    TokenType operator = type();
+    if (operator == TokenType.NOT || operator == TokenType.MINUS || operator == TokenType.PLUS) {
+      advance();
       Expression right = unary();
-      return new UnaryExpression(operator.getType(), right);
+      return new UnaryExpression(operator, right);
     }
 
     return primary();
   }
 
   private Expression primary() {
-    if (match(TokenType.TRUE)) {
-      return new LiteralExpression(true);
-    }
-    if (match(TokenType.FALSE)) {
-      return new LiteralExpression(false);
-    }
-    if (match(TokenType.NULL)) {
-      return new LiteralExpression(null);
-    }
-
-    if (match(TokenType.NUMBER)) {
-      return new LiteralExpression(previous().getLiteral());
-    }
-
-    if (match(TokenType.STRING)) {
-      return new LiteralExpression(previous().getLiteral());
-    }
-
-    if (match(TokenType.IDENTIFIER)) {
-      return identifierOrFunctionCall();
-    }
-
-    if (match(TokenType.LEFT_PAREN)) {
-      Expression expr = expression();
-      consume(TokenType.RIGHT_PAREN, "Expected ')' after expression");
-      return expr;
+    switch (type()) {
+      case TRUE:
+        advance();
+        return new LiteralExpression(true);
+      case FALSE:
+        advance();
+        return new LiteralExpression(false);
+      case NULL:
+        advance();
+        return new LiteralExpression(null);
+      case NUMBER:
+      case STRING:
+        Object literal = literal();
+        advance();
+        return new LiteralExpression(literal);
+      case IDENTIFIER:
+        return identifierOrFunctionCall();
+      case LEFT_PAREN:
+        advance();
+        Expression expr = expression();
+        consume(TokenType.RIGHT_PAREN, "Expected ')' after expression");
+        return expr;
+      default:
+        throw new ParseException("Expected expression", position());
     }
-
-    throw new ParseException("Expected expression", peek().getPosition());
   }
 
   private Expression identifierOrFunctionCall() {
-    Token name = previous();
-    StringBuilder variablePath = new StringBuilder(name.getLexeme());
+    String name = lexeme();
+    advance();
+    StringBuilder variablePath = null; // Only for dotted paths
 
     // Handle dot notation for nested properties
-    while (match(TokenType.DOT)) {
+    while (check(TokenType.DOT)) {
+      advance();
       if (!check(TokenType.IDENTIFIER)) {
-        throw new ParseException("Expected identifier after '.'", peek().getPosition());
+        throw new ParseException("Expected identifier after '.'", position());
+      }
+      if (variablePath == null) {
+        variablePath = new StringBuilder(name);
       }
-      variablePath.append(".").append(advance().getLexeme());
+      variablePath.append('.').append(lexeme());
+      advance();
     }
 
     // Check for function call
-    if (match(TokenType.LEFT_PAREN)) {
+    if (check(TokenType.LEFT_PAREN)) {
+      advance();
       List<Expression> arguments = new ArrayList<>();
 
       if (!check(TokenType.RIGHT_PAREN)) {
-        do {
+        arguments.add(expression());
+        while (check(TokenType.COMMA)) {
+          advance();
           arguments.add(expression());
-        } while (match(TokenType.COMMA));
+        }
       }
 
       consume(TokenType.RIGHT_PAREN, "Expected ')' after function arguments");
-      return new FunctionCallExpression(name.getLexeme(), arguments);
+      return new FunctionCallExpression(name, arguments);
     }
 
-    return new VariableExpression(variablePath.toString());
-  }
-
-  private boolean match(TokenType... types) {
-    for (TokenType type : types) {
-      if (check(type)) {
-        advance();
-        return true;
-      }
-    }
-    return false;
+    return new VariableExpression(variablePath == null ? name : variablePath.toString());
   }
 
   private boolean check(TokenType type) {
-    if (isAtEnd()) {
-      return false;
-    }
-    return peek().getType() == type;
+    return type() == type;
   }
 
-  private Token advance() {
-    if (!isAtEnd()) {
-      current++;
+  private void consume(TokenType type, String message) {
+    if (!check(type)) {
+      throw new ParseException(message, position());
     }
-    return previous();
+    advance();
   }
 
   private boolean isAtEnd() {
-    return peek().getType() == TokenType.EOF;
+    return type() == TokenType.EOF;
+  }
+
+  // Token cursor over either source
+
+  private TokenType type() {
+    return lexer != null ? lexer.type() : tokens.get(current).getType();
   }
 
-  private Token peek() {
-    return tokens.get(current);
+  private int position() {
+    return lexer != null ? lexer.position() : tokens.get(current).getPosition();
   }
 
-  private Token previous() {
-    return tokens.get(current - 1);
+  private String lexeme() {
+    return lexer != null ? lexer.lexeme() : tokens.get(current).getLexeme();
   }
 
-  private Token consume(TokenType type, String message) {
-    if (check(type)) {
-      return advance();
+  private Object literal() {
+    if (lexer == null) {
+      return tokens.get(current).getLiteral();
+    }
+    return lexer.type() == TokenType.NUMBER ? lexer.numberValue() : lexer.stringValue();
+  }
+
+  private void advance() {
+    if (isAtEnd()) {
+      return;
+    }
+    current++;
+    if (lexer != null) {
+      lexer.next();
     }
-    throw new ParseException(message, peek().getPosition());
   }
 }
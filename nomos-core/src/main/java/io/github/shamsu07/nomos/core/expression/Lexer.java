@@ -6,18 +6,28 @@ import java.util.List;
 /**
  * Lexical analyzer for expressions.
  *
- * <p>Converts input string into sequence of tokens for parsing.
+ * <p>Scans the input string one token at a time: {@link #next()} advances to the next token and
+ * the accessors describe it by its offsets into the source. Nothing is allocated per token; a
+ * lexeme or string value is only materialized when asked for. {@link #tokenize()} collects all
+ * tokens into a list instead.
  */
 public final class Lexer {
 
+  // 10^0 to 10^22 are exact doubles, so mantissa / 10^k rounds correctly for small mantissas
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
   private final String source;
-  private final List<Token> tokens;
+  private TokenType type;
   private int start;
   private int current;
+  private boolean escaped; // Current string token contains escape sequences
 
   public Lexer(String source) {
     this.source = source;
-    this.tokens = new ArrayList<>();
     this.start = 0;
     this.current = 0;
   }
@@ -29,130 +39,208 @@ public final class Lexer {
    * @throws ParseException if invalid syntax encountered
    */
   public List<Token> tokenize() {
-    while (!isAtEnd()) {
-      start = current;
-      scanToken();
+    List<Token> tokens = new ArrayList<>();
+    while (next() != TokenType.EOF) {
+      tokens.add(new Token(type, lexeme(), literal(), current));
     }
 
     tokens.add(new Token(TokenType.EOF, "", null, current));
     return tokens;
   }
 
-  private void scanToken() {
+  /**
+   * Advance to the next token. Returns EOF again once the input is exhausted.
+   *
+   * @return Type of the new current token
+   * @throws ParseException if invalid syntax encountered
+   */
+  public TokenType next() {
+    skipWhitespace();
+    start = current;
+    if (isAtEnd()) {
+      type = TokenType.EOF;
+    } else {
+      type = scanToken();
+    }
+    return type;
+  }
+
+  /** Type of the current token, or null before the first call to {@link #next()}. */
+  public TokenType type() {
+    return type;
+  }
+
+  /** Offset of the first character of the current token. */
+  public int start() {
+    return start;
+  }
+
+  /** Offset just past the current token, as {@link Token#getPosition()}. */
+  public int position() {
+    return current;
+  }
+
+  /**
+   * Get the source text of the current token.
+   *
+   * @return Lexeme, e.g. an identifier name
+   */
+  public String lexeme() {
+    return source.substring(start, current);
+  }
+
+  /**
+   * Check the source text of the current token without materializing it.
+   *
+   * @param text Expected text
+   * @return Whether the current token is exactly the given text
+   */
+  public boolean lexemeEquals(String text) {
+    return current - start == text.length() && source.startsWith(text, start);
+  }
+
+  /**
+   * Get the value of the current NUMBER token.
+   *
+   * @return Numeric value
+   */
+  public double numberValue() {
+    long mantissa = 0;
+    int scale = 0;
+    boolean fraction = false;
+    for (int i = start; i < current; i++) {
+      char c = source.charAt(i);
+      if (c == '.') {
+        fraction = true;
+        continue;
+      }
+      mantissa = mantissa * 10 + (c - '0');
+      if (mantissa >= MAX_EXACT_MANTISSA) {
+        return Double.parseDouble(lexeme()); // Needs correct rounding of a long mantissa
+      }
+      if (fraction) {
+        scale++;
+      }
+    }
+    if (scale >= POWERS_OF_TEN.length) {
+      return Double.parseDouble(lexeme());
+    }
+    return mantissa / POWERS_OF_TEN[scale];
+  }
+
+  /**
+   * Get the value of the current STRING token, without quotes and with escape sequences resolved.
+   *
+   * @return String value
+   */
+  public String stringValue() {
+    if (!escaped) {
+      return source.substring(start + 1, current - 1);
+    }
+    StringBuilder value = new StringBuilder(current - start);
+    for (int i = start + 1; i < current - 1; i++) {
+      char c = source.charAt(i);
+      value.append(c == '\\' ? unescape(source.charAt(++i)) : c);
+    }
+    return value.toString();
+  }
+
+  private Object literal() {
+    switch (type) {
+      case NUMBER:
+        return numberValue();
+      case STRING:
+        return stringValue();
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      default:
+        return null;
+    }
+  }
+
+  private void skipWhitespace() {
+    while (!isAtEnd()) {
+      char c = source.charAt(current);
+      if (c != ' ' && c != '\r' && c != '\t' && c != '\n') {
+        return;
+      }
+      current++;
+    }
+  }
+
+  private TokenType scanToken() {
     char c = advance();
 
     switch (c) {
-      case ' ':
-      case '\r':
-      case '\t':
-      case '\n':
-        // Ignore whitespace
-        break;
       case '(':
-        addToken(TokenType.LEFT_PAREN);
-        break;
+        return TokenType.LEFT_PAREN;
       case ')':
-        addToken(TokenType.RIGHT_PAREN);
-        break;
+        return TokenType.RIGHT_PAREN;
       case ',':
-        addToken(TokenType.COMMA);
-        break;
+        return TokenType.COMMA;
       case '.':
-        addToken(TokenType.DOT);
-        break;
+        return TokenType.DOT;
       case '+':
-        addToken(TokenType.PLUS);
-        break;
+        return TokenType.PLUS;
       case '-':
-        addToken(TokenType.MINUS);
-        break;
+        return TokenType.MINUS;
       case '*':
-        addToken(TokenType.MULTIPLY);
-        break;
+        return TokenType.MULTIPLY;
       case '/':
-        addToken(TokenType.DIVIDE);
-        break;
+        return TokenType.DIVIDE;
       case '%':
-        addToken(TokenType.MODULO);
-        break;
+        return TokenType.MODULO;
       case '!':
-        addToken(match('=') ? TokenType.NOT_EQUAL : TokenType.NOT);
-        break;
+        return match('=') ? TokenType.NOT_EQUAL : TokenType.NOT;
       case '=':
         if (match('=')) {
-          addToken(TokenType.EQUAL);
-        } else {
-          throw new ParseException("Unexpected character '='", start);
+          return TokenType.EQUAL;
         }
-        break;
+        throw new ParseException("Unexpected character '='", start);
       case '<':
-        addToken(match('=') ? TokenType.LESS_EQUAL : TokenType.LESS);
-        break;
+        return match('=') ? TokenType.LESS_EQUAL : TokenType.LESS;
       case '>':
-        addToken(match('=') ? TokenType.GREATER_EQUAL : TokenType.GREATER);
-        break;
+        return match('=') ? TokenType.GREATER_EQUAL : TokenType.GREATER;
       case '&':
         if (match('&')) {
-          addToken(TokenType.AND);
-        } else {
-          throw new ParseException("Unexpected character '&'", start);
+          return TokenType.AND;
         }
-        break;
+        throw new ParseException("Unexpected character '&'", start);
       case '|':
         if (match('|')) {
-          addToken(TokenType.OR);
-        } else {
-          throw new ParseException("Unexpected character '|'", start);
+          return TokenType.OR;
         }
-        break;
+        throw new ParseException("Unexpected character '|'", start);
       case '"':
-        string();
-        break;
       case '\'':
-        singleQuoteString();
-        break;
+        return string(c);
       default:
         if (isDigit(c)) {
-          number();
-        } else if (isAlpha(c)) {
-          identifier();
-        } else {
-          throw new ParseException("Unexpected character '" + c + "'", start);
+          return number();
         }
+        if (isAlpha(c)) {
+          return identifier();
+        }
+        throw new ParseException("Unexpected character '" + c + "'", start);
     }
   }
 
-  private void string() {
-    StringBuilder value = new StringBuilder();
-
-    while (peek() != '"' && !isAtEnd()) {
-      if (peek() == '\\') {
-        advance(); // consume backslash
-        value.append(processEscapeSequence());
-      } else {
-        value.append(advance());
-      }
-    }
-
-    if (isAtEnd()) {
-      throw new ParseException("Unterminated string", start);
-    }
-
-    // Closing "
-    advance();
+  // Validates the string and its escape sequences; the value is built by stringValue()
+  private TokenType string(char quote) {
+    escaped = false;
 
-    addToken(TokenType.STRING, value.toString());
-  }
-
-  private void singleQuoteString() {
-    StringBuilder value = new StringBuilder();
-
-    while (peek() != '\'' && !isAtEnd()) {
-      if (peek() == '\\') {
-        advance(); // consume backslash
-        value.append(processEscapeSequence());
-      } else {
-        value.append(advance());
+    while (peek() != quote && !isAtEnd()) {
+      if (advance() == '\\') {
+        if (isAtEnd()) {
+          throw new ParseException("Unterminated escape sequence", current - 1);
+        }
+        char c = advance();
+        if (unescape(c) == 0) {
+          throw new ParseException("Invalid escape sequence: \\" + c, current - 2);
+        }
+        escaped = true;
       }
     }
 
@@ -160,23 +248,17 @@ public final class Lexer {
       throw new ParseException("Unterminated string", start);
     }
 
-    // Closing '
+    // Closing quote
     advance();
-
-    addToken(TokenType.STRING, value.toString());
+    return TokenType.STRING;
   }
 
   /**
-   * Process escape sequence after backslash has been consumed.
+   * Character represented by an escape sequence, given the character after the backslash.
    *
-   * @return The character represented by the escape sequence
+   * @return The character, or 0 if the sequence is invalid
    */
-  private char processEscapeSequence() {
-    if (isAtEnd()) {
-      throw new ParseException("Unterminated escape sequence", current - 1);
-    }
-
-    char escaped = advance();
+  private static char unescape(char escaped) {
     switch (escaped) {
       case '"':
         return '"';
@@ -191,11 +273,11 @@ public final class Lexer {
       case 'r':
         return '\r';
       default:
-        throw new ParseException("Invalid escape sequence: \\" + escaped, current - 2);
+        return 0;
     }
   }
 
-  private void number() {
+  private TokenType number() {
     while (isDigit(peek())) {
       advance();
     }
@@ -207,36 +289,25 @@ public final class Lexer {
         advance();
       }
     }
-
-    String text = source.substring(start, current);
-    addToken(TokenType.NUMBER, Double.parseDouble(text));
+    return TokenType.NUMBER;
   }
 
-  private void identifier() {
+  private TokenType identifier() {
     while (isAlphaNumeric(peek())) {
       advance();
     }
-    String text = source.substring(start, current);
-    TokenType type;
 
     // Check for keywords
-    switch (text) {
-      case "true":
-        type = TokenType.TRUE;
-        addToken(type, true);
-        return;
-      case "false":
-        type = TokenType.FALSE;
-        addToken(type, false);
-        return;
-      case "null":
-        type = TokenType.NULL;
-        addToken(type, null);
-        return;
-      default:
-        type = TokenType.IDENTIFIER;
-        addToken(type);
+    if (lexemeEquals("true")) {
+      return TokenType.TRUE;
+    }
+    if (lexemeEquals("false")) {
+      return TokenType.FALSE;
     }
+    if (lexemeEquals("null")) {
+      return TokenType.NULL;
+    }
+    return TokenType.IDENTIFIER;
   }
 
   private boolean match(char expected) {
@@ -283,13 +354,4 @@ public final class Lexer {
   private char advance() {
     return source.charAt(current++);
   }
-
-  private void addToken(TokenType type) {
-    addToken(type, null);
-  }
-
-  private void addToken(TokenType type, Object literal) {
-    String text = source.substring(start, current);
-    tokens.add(new Token(type, text, literal, current));
-  }
 }
@@ -0,0 +1,413 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import java.util.Objects;
+
+/**
+ * Operator semantics shared by the expression interpreter and compiled expressions.
+ *
+ * <p>Keeping them in one place guarantees that interpreted and compiled conditions give the same
+ * results and throw the same errors. All methods are static and stateless.
+ *
+ * <p>Arithmetic on integral operands (Integer, Long, Short, Byte) is exact and keeps the operand
+ * type, widening from int to long and from long to double only on overflow. Any other numeric
+ * operand makes the operation use doubles. Division always returns a Double.
+ *
+ * <p>Numbers are equal when they have the same value, whatever their types: {@code ==} compares
+ * two integral operands as longs and other numbers with {@code Double.compare}, so an Integer fact
+ * equals the number literal with the same value. Other values use {@code Objects.equals}.
+ */
+public final class Operators {
+
+  private Operators() {}
+
+  /**
+   * Apply a binary, non-logical operator.
+   *
+   * @throws IllegalArgumentException if the operator is not a binary value operator
+   */
+  public static Object apply(TokenType operator, Object left, Object right) {
+    switch (operator) {
+      case EQUAL:
+        return equal(left, right);
+      case NOT_EQUAL:
+        return !equal(left, right);
+      case LESS:
+        return less(left, right);
+      case GREATER:
+        return greater(left, right);
+      case LESS_EQUAL:
+        return lessEqual(left, right);
+      case GREATER_EQUAL:
+        return greaterEqual(left, right);
+      case PLUS:
+        return add(left, right);
+      case MINUS:
+        return subtract(left, right);
+      case MULTIPLY:
+        return multiply(left, right);
+      case DIVIDE:
+        return divide(left, right);
+      case MODULO:
+        return modulo(left, right);
+      default:
+        throw new IllegalArgumentException("Unsupported binary operator: " + operator);
+    }
+  }
+
+  /** Same as {@link #apply} for two Integer operands, without boxing them. */
+  public static Object applyInt(TokenType operator, int left, int right) {
+    switch (operator) {
+      case EQUAL:
+        return left == right;
+      case NOT_EQUAL:
+        return left != right;
+      case LESS:
+        return left < right;
+      case GREATER:
+        return left > right;
+      case LESS_EQUAL:
+        return left <= right;
+      case GREATER_EQUAL:
+        return left >= right;
+      case PLUS:
+        return addInt(left, right);
+      case MINUS:
+        return subtractInt(left, right);
+      case MULTIPLY:
+        return multiplyInt(left, right);
+      case DIVIDE:
+        return divide((double) left, (double) right);
+      case MODULO:
+        return moduloInt(left, right);
+      default:
+        return apply(operator, left, right);
+    }
+  }
+
+  /** Same as {@link #apply} for Integer or Long operands, at least one of them a Long. */
+  public static Object applyLong(TokenType operator, long left, long right) {
+    switch (operator) {
+      case EQUAL:
+        return left == right;
+      case NOT_EQUAL:
+        return left != right;
+      case LESS:
+        return left < right;
+      case GREATER:
+        return left > right;
+      case LESS_EQUAL:
+        return left <= right;
+      case GREATER_EQUAL:
+        return left >= right;
+      case PLUS:
+        return addLong(left, right);
+      case MINUS:
+        return subtractLong(left, right);
+      case MULTIPLY:
+        return multiplyLong(left, right);
+      case DIVIDE:
+        return divide((double) left, (double) right);
+      case MODULO:
+        return moduloLong(left, right);
+      default:
+        return apply(operator, left, right);
+    }
+  }
+
+  /** Same as {@link #apply} for two Double operands, without boxing them. */
+  public static Object applyDouble(TokenType operator, double left, double right) {
+    switch (operator) {
+      case EQUAL:
+        return Double.compare(left, right) == 0;
+      case NOT_EQUAL:
+        return Double.compare(left, right) != 0;
+      case LESS:
+        return Double.compare(left, right) < 0;
+      case GREATER:
+        return Double.compare(left, right) > 0;
+      case LESS_EQUAL:
+        return Double.compare(left, right) <= 0;
+      case GREATER_EQUAL:
+        return Double.compare(left, right) >= 0;
+      case PLUS:
+        return left + right;
+      case MINUS:
+        return left - right;
+      case MULTIPLY:
+        return left * right;
+      case DIVIDE:
+        return divide(left, right);
+      case MODULO:
+        return modulo(left, right);
+      default:
+        return apply(operator, left, right);
+    }
+  }
+
+  /** Same as {@link #apply} for two String operands. */
+  public static Object applyString(TokenType operator, String left, String right) {
+    switch (operator) {
+      case EQUAL:
+        return left.equals(right);
+      case NOT_EQUAL:
+        return !left.equals(right);
+      case LESS:
+        return left.compareTo(right) < 0;
+      case GREATER:
+        return left.compareTo(right) > 0;
+      case LESS_EQUAL:
+        return left.compareTo(right) <= 0;
+      case GREATER_EQUAL:
+        return left.compareTo(right) >= 0;
+      case PLUS:
+        return left.concat(right);
+      default:
+        return apply(operator, left, right);
+    }
+  }
+
+  public static boolean isTrue(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    throw new IllegalArgumentException("Cannot convert to boolean: " + value);
+  }
+
+  public static boolean equal(Object left, Object right) {
+    if (left instanceof Number && right instanceof Number) {
+      if (isIntegral(left) && isIntegral(right)) {
+        return ((Number) left).longValue() == ((Number) right).longValue();
+      }
+      return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue()) == 0;
+    }
+    return Objects.equals(left, right);
+  }
+
+  public static boolean less(Object left, Object right) {
+    return compare(left, right) < 0;
+  }
+
+  public static boolean greater(Object left, Object right) {
+    return compare(left, right) > 0;
+  }
+
+  public static boolean lessEqual(Object left, Object right) {
+    return compare(left, right) <= 0;
+  }
+
+  public static boolean greaterEqual(Object left, Object right) {
+    return compare(left, right) >= 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static int compare(Object left, Object right) {
+    if (isIntegral(left) && isIntegral(right)) {
+      return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+    }
+    if (left instanceof Number && right instanceof Number) {
+      double leftVal = ((Number) left).doubleValue();
+      double rightVal = ((Number) right).doubleValue();
+      return Double.compare(leftVal, rightVal);
+    }
+    if (left instanceof Comparable
+        && right instanceof Comparable
+        && left.getClass().equals(right.getClass())) {
+      return ((Comparable<Object>) left).compareTo(right);
+    }
+    throw new IllegalArgumentException(
+        String.format("Cannot compare %s and %s", left.getClass(), right.getClass()));
+  }
+
+  public static Object add(Object left, Object right) {
+    if (isInt(left) && isInt(right)) {
+      return addInt(((Number) left).intValue(), ((Number) right).intValue());
+    }
+    if (isIntegral(left) && isIntegral(right)) {
+      return addLong(((Number) left).longValue(), ((Number) right).longValue());
+    }
+    if (left instanceof Number && right instanceof Number) {
+      return toDouble(left) + toDouble(right);
+    }
+    if (left instanceof String || right instanceof String) {
+      return String.valueOf(left) + String.valueOf(right);
+    }
+    throw new IllegalArgumentException("Cannot add " + left.getClass() + "and" + right.getClass());
+  }
+
+  public static Object subtract(Object left, Object right) {
+    if (isInt(left) && isInt(right)) {
+      return subtractInt(((Number) left).intValue(), ((Number) right).intValue());
+    }
+    if (isIntegral(left) && isIntegral(right)) {
+      return subtractLong(((Number) left).longValue(), ((Number) right).longValue());
+    }
+    if (left instanceof Number && right instanceof Number) {
+      return toDouble(left) - toDouble(right);
+    }
+    throw new IllegalArgumentException(
+        "Cannot subtract " + left.getClass() + " and " + right.getClass());
+  }
+
+  public static Object multiply(Object left, Object right) {
+    if (isInt(left) && isInt(right)) {
+      return multiplyInt(((Number) left).intValue(), ((Number) right).intValue());
+    }
+    if (isIntegral(left) && isIntegral(right)) {
+      return multiplyLong(((Number) left).longValue(), ((Number) right).longValue());
+    }
+    if (left instanceof Number && right instanceof Number) {
+      return toDouble(left) * toDouble(right);
+    }
+    throw new IllegalArgumentException(
+        "Cannot multiply " + left.getClass() + " and " + right.getClass());
+  }
+
+  public static Object divide(Object left, Object right) {
+    if (left instanceof Number && right instanceof Number) {
+      return divide(toDouble(left), toDouble(right));
+    }
+    throw new IllegalArgumentException(
+        "Cannot divide " + left.getClass() + " and " + right.getClass());
+  }
+
+  public static Object modulo(Object left, Object right) {
+    if (isInt(left) && isInt(right)) {
+      return moduloInt(((Number) left).intValue(), ((Number) right).intValue());
+    }
+    if (isIntegral(left) && isIntegral(right)) {
+      return moduloLong(((Number) left).longValue(), ((Number) right).longValue());
+    }
+    if (left instanceof Number && right instanceof Number) {
+      return modulo(toDouble(left), toDouble(right));
+    }
+    throw new IllegalArgumentException(
+        "Cannot modulo " + left.getClass() + " and " + right.getClass());
+  }
+
+  public static Object negate(Object value) {
+    if (isInt(value)) {
+      return negateInt(((Number) value).intValue());
+    }
+    if (value instanceof Long) {
+      return negateLong((Long) value);
+    }
+    if (value instanceof Number) {
+      return -((Number) value).doubleValue();
+    }
+    throw new IllegalArgumentException("Cannot negate " + value.getClass());
+  }
+
+  public static Object unaryPlus(Object value) {
+    if (isInt(value)) {
+      return ((Number) value).intValue();
+    }
+    if (value instanceof Long) {
+      return value;
+    }
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    }
+    throw new IllegalArgumentException("Cannot apply unary + to " + value.getClass());
+  }
+
+  // Integral arithmetic is exact. Int operations give an Integer, or a Long when the result does
+  // not fit; long operations give a Long, or a Double when the result does not fit. Division
+  // always gives a Double.
+
+  public static Object addInt(int left, int right) {
+    return narrow((long) left + right);
+  }
+
+  public static Object subtractInt(int left, int right) {
+    return narrow((long) left - right);
+  }
+
+  public static Object multiplyInt(int left, int right) {
+    return narrow((long) left * right);
+  }
+
+  public static Object moduloInt(int left, int right) {
+    if (right == 0) {
+      throw new ArithmeticException("Modulo by zero");
+    }
+    return left % right;
+  }
+
+  public static Object negateInt(int value) {
+    return narrow(-(long) value);
+  }
+
+  public static Object addLong(long left, long right) {
+    long result = left + right;
+    if (((left ^ result) & (right ^ result)) < 0) {
+      return (double) left + (double) right;
+    }
+    return result;
+  }
+
+  public static Object subtractLong(long left, long right) {
+    long result = left - right;
+    if (((left ^ right) & (left ^ result)) < 0) {
+      return (double) left - (double) right;
+    }
+    return result;
+  }
+
+  public static Object multiplyLong(long left, long right) {
+    long result = left * right;
+    if (Math.multiplyHigh(left, right) != (result >> 63)) {
+      return (double) left * (double) right;
+    }
+    return result;
+  }
+
+  public static Object moduloLong(long left, long right) {
+    if (right == 0) {
+      throw new ArithmeticException("Modulo by zero");
+    }
+    return left % right;
+  }
+
+  public static Object negateLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      return -(double) value;
+    }
+    return -value;
+  }
+
+  public static double divide(double left, double right) {
+    if (right == 0.0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    return left / right;
+  }
+
+  public static double modulo(double left, double right) {
+    if (right == 0.0) {
+      throw new ArithmeticException("Modulo by zero");
+    }
+    return left % right;
+  }
+
+  /** Integer, Short or Byte: values with exact int arithmetic. */
+  public static boolean isInt(Object value) {
+    return value instanceof Integer || value instanceof Short || value instanceof Byte;
+  }
+
+  /** Int values and Long: values with exact long arithmetic. */
+  public static boolean isIntegral(Object value) {
+    return isInt(value) || value instanceof Long;
+  }
+
+  private static Object narrow(long value) {
+    int narrowed = (int) value;
+    return narrowed == value ? (Object) narrowed : (Object) value;
+  }
+
+  private static double toDouble(Object value) {
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    }
+    throw new IllegalArgumentException("Cannot convert to number: " + value);
+  }
+}
@@ -0,0 +1,97 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.SharedExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
+import io.github.shamsu07.nomos.core.function.FunctionMetadata;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Static analysis of the top-level facts an expression reads.
+ *
+ * <p>An expression reads the roots of its variables ({@code cart} for {@code cart.total}) and the
+ * declared reads of functions taking Facts (see {@code @NomosFunction(reads)}). Other functions
+ * are assumed to depend on their arguments only. A function taking Facts without declared reads, a
+ * function the registry does not know, or any call when no registry is given may read any fact.
+ */
+public final class ReadSets {
+
+  private ReadSets() {}
+
+  /**
+   * Get the top-level facts an expression reads.
+   *
+   * @param expression Parsed expression
+   * @param functionRegistry Registry used to look up what functions read, or null if unknown
+   * @return Fact roots, or null if the expression may read any fact
+   */
+  public static Set<String> of(Expression expression, FunctionRegistry functionRegistry) {
+    Set<String> roots = new LinkedHashSet<>();
+    return collect(expression, functionRegistry, roots) ? roots : null;
+  }
+
+  /**
+   * Get the root of a fact path.
+   *
+   * @param path Fact key, possibly nested ({@code user.address.city})
+   * @return Top-level key ({@code user})
+   */
+  public static String rootOf(String path) {
+    int dot = path.indexOf('.');
+    return dot < 0 ? path : path.substring(0, dot);
+  }
+
+  private static boolean collect(
+      Expression expression, FunctionRegistry functionRegistry, Set<String> roots) {
+    if (expression instanceof LiteralExpression) {
+      return true;
+    }
+    if (expression instanceof VariableExpression) {
+      roots.add(rootOf(((VariableExpression) expression).getName()));
+      return true;
+    }
+    if (expression instanceof SharedExpression) {
+      String[] reads = ((SharedExpression) expression).getReads();
+      if (reads == null) {
+        return false;
+      }
+      roots.addAll(List.of(reads));
+      return true;
+    }
+    if (expression.getClass() == BinaryExpression.class) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      return collect(binary.getLeft(), functionRegistry, roots)
+          && collect(binary.getRight(), functionRegistry, roots);
+    }
+    if (expression.getClass() == UnaryExpression.class) {
+      return collect(((UnaryExpression) expression).getOperand(), functionRegistry, roots);
+    }
+    if (expression instanceof FunctionCallExpression) {
+      FunctionCallExpression call = (FunctionCallExpression) expression;
+      if (functionRegistry == null || !functionRegistry.hasFunction(call.getFunctionName())) {
+        return false;
+      }
+      FunctionMetadata metadata = functionRegistry.getFunction(call.getFunctionName());
+      if (metadata.hasFactsParameter()) {
+        if (metadata.getReads().isEmpty()) {
+          return false;
+        }
+        roots.addAll(metadata.getReads());
+      }
+      for (Expression argument : call.getArguments()) {
+        if (!collect(argument, functionRegistry, roots)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false; // Unknown node type
+  }
+}
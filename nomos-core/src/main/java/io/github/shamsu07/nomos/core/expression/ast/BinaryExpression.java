@@ -1,5 +1,6 @@
 package io.github.shamsu07.nomos.core.expression.ast;
 
+import io.github.shamsu07.nomos.core.expression.Operators;
 import io.github.shamsu07.nomos.core.expression.TokenType;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
@@ -8,13 +9,21 @@ import java.util.Objects;
 /**
  * Represents a binary operation in an expression (e.g., "a + b", "x > 10", "p && q").
  *
- * <p>Supports logical, comparison, and arithmetic operators.
+ * <p>Supports logical, comparison, and arithmetic operators. Operator semantics live in {@link
+ * Operators}.
+ *
+ * <p>The node specializes itself on the operand types it sees. While both operands are Integers
+ * (or Integers and Longs, Doubles, Strings), it uses the matching primitive path in {@link
+ * Operators} without boxing intermediate values. Integers or Longs mixed with Doubles, as in an
+ * integer fact compared with a number literal, use the double path whenever one operand is a
+ * Double. Once other types are mixed in, it stays on the generic path.
  */
 public class BinaryExpression implements Expression {
 
   private final Expression left;
   private final TokenType operator;
   private final Expression right;
+  private byte profile = TypeProfile.UNSEEN;
 
   public BinaryExpression(Expression left, TokenType operator, Expression right) {
     this.left = Objects.requireNonNull(left, "Left expression cannot be null");
@@ -27,130 +36,72 @@ public class BinaryExpression implements Expression {
     // Short-circuit evaluation for logical operators
     if (operator == TokenType.AND) {
       Object leftValue = left.evaluate(facts, functionRegistry);
-      if (!toBoolean(leftValue)) {
+      if (!Operators.isTrue(leftValue)) {
         return false;
       }
-      return toBoolean(right.evaluate(facts, functionRegistry));
+      return Operators.isTrue(right.evaluate(facts, functionRegistry));
     }
 
     if (operator == TokenType.OR) {
       Object leftValue = left.evaluate(facts, functionRegistry);
-      if (toBoolean(leftValue)) {
+      if (Operators.isTrue(leftValue)) {
         return true;
       }
-      return toBoolean(right.evaluate(facts, functionRegistry));
+      return Operators.isTrue(right.evaluate(facts, functionRegistry));
     }
 
     // For all other operators, evaluate both sides
     Object leftValue = left.evaluate(facts, functionRegistry);
     Object rightValue = right.evaluate(facts, functionRegistry);
 
-    switch (operator) {
-      case EQUAL:
-        return Objects.equals(leftValue, rightValue);
-      case NOT_EQUAL:
-        return !Objects.equals(leftValue, rightValue);
-      case LESS:
-        return compare(leftValue, rightValue) < 0;
-      case GREATER:
-        return compare(leftValue, rightValue) > 0;
-      case LESS_EQUAL:
-        return compare(leftValue, rightValue) <= 0;
-      case GREATER_EQUAL:
-        return compare(leftValue, rightValue) >= 0;
-      case PLUS:
-        return add(leftValue, rightValue);
-      case MINUS:
-        return subtract(leftValue, rightValue);
-      case MULTIPLY:
-        return multiply(leftValue, rightValue);
-      case DIVIDE:
-        return divide(leftValue, rightValue);
-      case MODULO:
-        return modulo(leftValue, rightValue);
+    switch (profile) {
+      case TypeProfile.INT:
+        if (leftValue instanceof Integer && rightValue instanceof Integer) {
+          return Operators.applyInt(operator, (Integer) leftValue, (Integer) rightValue);
+        }
+        break;
+      case TypeProfile.LONG:
+        if (TypeProfile.isIntOrLong(leftValue) && TypeProfile.isIntOrLong(rightValue)) {
+          return Operators.applyLong(
+              operator, ((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+        }
+        break;
+      case TypeProfile.DOUBLE:
+        if (leftValue instanceof Double && rightValue instanceof Double) {
+          return Operators.applyDouble(operator, (Double) leftValue, (Double) rightValue);
+        }
+        break;
+      case TypeProfile.NUMBER:
+        if ((leftValue instanceof Double && TypeProfile.isNumber(rightValue))
+            || (rightValue instanceof Double && TypeProfile.isNumber(leftValue))) {
+          return Operators.applyDouble(
+              operator, ((Number) leftValue).doubleValue(), ((Number) rightValue).doubleValue());
+        }
+        if (leftValue instanceof Integer && rightValue instanceof Integer) {
+          return Operators.applyInt(operator, (Integer) leftValue, (Integer) rightValue);
+        }
+        if (TypeProfile.isIntOrLong(leftValue) && TypeProfile.isIntOrLong(rightValue)) {
+          return Operators.applyLong(
+              operator, ((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+        }
+        break;
+      case TypeProfile.STRING:
+        if (leftValue instanceof String && rightValue instanceof String) {
+          return Operators.applyString(operator, (String) leftValue, (String) rightValue);
+        }
+        break;
+      case TypeProfile.GENERIC:
+        return Operators.apply(operator, leftValue, rightValue);
       default:
-        throw new IllegalArgumentException("Unsupported binary operator: " + operator);
-    }
-  }
-
-  private boolean toBoolean(Object value) {
-    if (value instanceof Boolean) {
-      return (Boolean) value;
-    }
-    throw new IllegalArgumentException("Cannot convert to boolean: " + value);
-  }
-
-  @SuppressWarnings("unchecked")
-  private int compare(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      double leftVal = ((Number) left).doubleValue();
-      double rightVal = ((Number) right).doubleValue();
-      return Double.compare(leftVal, rightVal);
-    }
-    if (left instanceof Comparable
-        && right instanceof Comparable
-        && left.getClass().equals(right.getClass())) {
-      return ((Comparable<Object>) left).compareTo(right);
-    }
-    throw new IllegalArgumentException(
-        String.format("Cannot compare %s and %s", left.getClass(), right.getClass()));
-  }
-
-  private Object add(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      return toDouble(left) + toDouble(right);
-    }
-    if (left instanceof String || right instanceof String) {
-      return String.valueOf(left) + String.valueOf(right);
-    }
-    throw new IllegalArgumentException("Cannot add " + left.getClass() + "and" + right.getClass());
-  }
-
-  private Object subtract(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      return toDouble(left) - toDouble(right);
-    }
-    throw new IllegalArgumentException(
-        "Cannot subtract " + left.getClass() + " and " + right.getClass());
-  }
-
-  private Object multiply(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      return toDouble(left) * toDouble(right);
-    }
-    throw new IllegalArgumentException(
-        "Cannot multiply " + left.getClass() + " and " + right.getClass());
-  }
-
-  private Object divide(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      double divisor = toDouble(right);
-      if (divisor == 0.0) {
-        throw new ArithmeticException("Division by zero");
-      }
-      return toDouble(left) / divisor;
+        break;
     }
-    throw new IllegalArgumentException(
-        "Cannot divide " + left.getClass() + " and " + right.getClass());
-  }
 
-  private Object modulo(Object left, Object right) {
-    if (left instanceof Number && right instanceof Number) {
-      double divisor = toDouble(right);
-      if (divisor == 0.0) {
-        throw new ArithmeticException("Modulo by zero");
-      }
-      return toDouble(left) % divisor;
-    }
-    throw new IllegalArgumentException(
-        "Cannot modulo " + left.getClass() + " and " + right.getClass());
-  }
-
-  private double toDouble(Object value) {
-    if (value instanceof Number) {
-      return ((Number) value).doubleValue();
-    }
-    throw new IllegalArgumentException("Cannot convert to number: " + value);
+    // First evaluation or new operand types: widen the profile
+    profile =
+        TypeProfile.join(
+            profile,
+            TypeProfile.join(TypeProfile.of(leftValue), TypeProfile.of(rightValue)));
+    return Operators.apply(operator, leftValue, rightValue);
   }
 
   public Expression getLeft() {
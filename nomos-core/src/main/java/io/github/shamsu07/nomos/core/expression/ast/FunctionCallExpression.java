@@ -1,49 +1,202 @@
 package io.github.shamsu07.nomos.core.expression.ast;
 
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionMetadata;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.SwitchPoint;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Represents a function call in an expression (e.g., "isVIP(user)").
  *
- * <p>Evaluates arguments first, then invokes function from registry.
+ * <p>The call site links to the function's metadata on first evaluation and keeps the link until
+ * the registry's switch point is invalidated. Calls with up to three parameters (including an
+ * injected Facts) pass arguments individually through an exact invoker, without argument arrays.
+ *
+ * <p>Calls to cacheable functions are memoized in the execution's {@link EvaluationCache}: inside
+ * one execution, a call with arguments equal to an earlier one returns the earlier result as long
+ * as the facts the function reads are unchanged. Only calls on the exact path are memoized.
  */
 public final class FunctionCallExpression implements Expression {
 
+  private static final int MAX_EXACT_ARITY = 3;
+  private static final String[] NO_READS = new String[0];
+
   private final String functionName;
   private final List<Expression> arguments;
+  private final Expression[] argumentArray;
+
+  // Immutable, so racy updates are harmless; a lost update only means linking again
+  private Link link;
 
   public FunctionCallExpression(String functionName, List<Expression> arguments) {
     this.functionName = Objects.requireNonNull(functionName, "Function name cannot be null");
     this.arguments = List.copyOf(Objects.requireNonNull(arguments, "Arguments cannot be null"));
+    this.argumentArray = this.arguments.toArray(new Expression[0]);
   }
 
   @Override
   public Object evaluate(Facts facts, FunctionRegistry functionRegistry) {
-    // Evaluate all argument expressions directly to array
-    Object[] evaluatedArgs = new Object[arguments.size()];
-    for (int i = 0; i < arguments.size(); i++) {
-      evaluatedArgs[i] = arguments.get(i).evaluate(facts, functionRegistry);
+    Link current = link;
+    if (current == null
+        || current.registry != functionRegistry
+        || current.switchPoint.hasBeenInvalidated()) {
+      current = link(functionRegistry);
+    }
+
+    FunctionMetadata metadata = current.metadata;
+    MethodHandle invoker = metadata.getInvoker();
+    int offset = metadata.hasFactsParameter() ? 1 : 0;
+
+    // Arguments are evaluated before the try so their errors are not reported as call errors
+    switch (current.exactArity) {
+      case 0:
+        if (current.memoized) {
+          return memoized(current, facts, null, null, null);
+        }
+        try {
+          return (Object) invoker.invokeExact();
+        } catch (Throwable t) {
+          throw invocationError(t);
+        }
+      case 1:
+        {
+          Object a0 = offset == 1 ? facts : argumentArray[0].evaluate(facts, functionRegistry);
+          if (current.memoized) {
+            return memoized(current, facts, a0, null, null);
+          }
+          try {
+            return (Object) invoker.invokeExact(a0);
+          } catch (Throwable t) {
+            throw invocationError(t);
+          }
+        }
+      case 2:
+        {
+          Object a0 = offset == 1 ? facts : argumentArray[0].evaluate(facts, functionRegistry);
+          Object a1 = argumentArray[1 - offset].evaluate(facts, functionRegistry);
+          if (current.memoized) {
+            return memoized(current, facts, a0, a1, null);
+          }
+          try {
+            return (Object) invoker.invokeExact(a0, a1);
+          } catch (Throwable t) {
+            throw invocationError(t);
+          }
+        }
+      case 3:
+        {
+          Object a0 = offset == 1 ? facts : argumentArray[0].evaluate(facts, functionRegistry);
+          Object a1 = argumentArray[1 - offset].evaluate(facts, functionRegistry);
+          Object a2 = argumentArray[2 - offset].evaluate(facts, functionRegistry);
+          if (current.memoized) {
+            return memoized(current, facts, a0, a1, a2);
+          }
+          try {
+            return (Object) invoker.invokeExact(a0, a1, a2);
+          } catch (Throwable t) {
+            throw invocationError(t);
+          }
+        }
+      default:
+        return invokeSpread(metadata, offset, facts, functionRegistry);
+    }
+  }
+
+  // Arguments a0..a2 are the invoker's; an injected Facts is covered by the reads, not the key
+  private Object memoized(Link link, Facts facts, Object a0, Object a1, Object a2) {
+    EvaluationCache cache = EvaluationCache.current();
+    FunctionMetadata metadata = link.metadata;
+    boolean injected = metadata.hasFactsParameter();
+    int arity = injected ? link.exactArity - 1 : link.exactArity;
+    Object k0 = injected ? a1 : a0;
+    Object k1 = injected ? a2 : a1;
+    Object k2 = injected ? null : a2;
+
+    if (cache != null) {
+      Object cached = cache.lookupCall(metadata, link.reads, facts, arity, k0, k1, k2);
+      if (cached != EvaluationCache.MISS) {
+        return cached;
+      }
+    }
+
+    Object result;
+    try {
+      switch (link.exactArity) {
+        case 0:
+          result = (Object) metadata.getInvoker().invokeExact();
+          break;
+        case 1:
+          result = (Object) metadata.getInvoker().invokeExact(a0);
+          break;
+        case 2:
+          result = (Object) metadata.getInvoker().invokeExact(a0, a1);
+          break;
+        default:
+          result = (Object) metadata.getInvoker().invokeExact(a0, a1, a2);
+          break;
+      }
+    } catch (Throwable t) {
+      throw invocationError(t);
+    }
+
+    if (cache != null) {
+      cache.storeCall(metadata, link.reads, facts, arity, k0, k1, k2, result);
+    }
+    return result;
+  }
+
+  // Wider calls and argument count mismatches go through the spreader, as the registry does
+  private Object invokeSpread(
+      FunctionMetadata metadata, int offset, Facts facts, FunctionRegistry functionRegistry) {
+    Object[] invokeArgs = new Object[argumentArray.length + offset];
+    if (offset == 1) {
+      invokeArgs[0] = facts;
+    }
+    for (int i = 0; i < argumentArray.length; i++) {
+      invokeArgs[i + offset] = argumentArray[i].evaluate(facts, functionRegistry);
     }
 
-    // Get function metadata to check if Facts parameter needed
+    try {
+      return metadata.getSpreader().invoke(invokeArgs);
+    } catch (Throwable t) {
+      throw invocationError(t);
+    }
+  }
+
+  private Link link(FunctionRegistry functionRegistry) {
+    // Switch point first: a change after this read invalidates it, so stale metadata is not kept
+    SwitchPoint switchPoint = functionRegistry.getSwitchPoint();
     FunctionMetadata metadata = functionRegistry.getFunction(functionName);
 
-    // Build arguments array - inject Facts if function expects it
-    Object[] invokeArgs;
+    int parameterCount = metadata.getInvoker().type().parameterCount();
+    int offset = metadata.hasFactsParameter() ? 1 : 0;
+    boolean exact =
+        parameterCount == argumentArray.length + offset && parameterCount <= MAX_EXACT_ARITY;
+
+    String[] reads = NO_READS;
     if (metadata.hasFactsParameter()) {
-      invokeArgs = new Object[evaluatedArgs.length + 1];
-      invokeArgs[0] = facts;
-      System.arraycopy(evaluatedArgs, 0, invokeArgs, 1, evaluatedArgs.length);
-    } else {
-      invokeArgs = evaluatedArgs;
+      reads = metadata.getReads().isEmpty() ? null : metadata.getReads().toArray(new String[0]);
     }
 
-    // Invoke function with proper arguments
-    return functionRegistry.invoke(functionName, invokeArgs);
+    Link linked =
+        new Link(
+            functionRegistry,
+            switchPoint,
+            metadata,
+            exact ? parameterCount : -1,
+            exact && metadata.isCacheable(),
+            reads);
+    link = linked;
+    return linked;
+  }
+
+  private RuntimeException invocationError(Throwable t) {
+    return new RuntimeException(
+        String.format("Error invoking function '%s': %s", functionName, t.getMessage()), t);
   }
 
   public String getFunctionName() {
@@ -75,4 +228,28 @@ public final class FunctionCallExpression implements Expression {
   public int hashCode() {
     return Objects.hash(functionName, arguments);
   }
+
+  private static final class Link {
+    private final FunctionRegistry registry;
+    private final SwitchPoint switchPoint;
+    private final FunctionMetadata metadata;
+    private final int exactArity; // -1 when the spreader path is used
+    private final boolean memoized;
+    private final String[] reads; // Null when the function may read any fact
+
+    Link(
+        FunctionRegistry registry,
+        SwitchPoint switchPoint,
+        FunctionMetadata metadata,
+        int exactArity,
+        boolean memoized,
+        String[] reads) {
+      this.registry = registry;
+      this.switchPoint = switchPoint;
+      this.metadata = metadata;
+      this.exactArity = exactArity;
+      this.memoized = memoized;
+      this.reads = reads;
+    }
+  }
 }
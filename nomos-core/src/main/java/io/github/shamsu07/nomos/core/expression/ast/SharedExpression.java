@@ -0,0 +1,60 @@
+package io.github.shamsu07.nomos.core.expression.ast;
+
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Subexpression that occurs in several rule conditions and is computed once per execution.
+ *
+ * <p>Inside a rule execution the value is taken from the open {@link EvaluationCache}; it is
+ * recomputed only when one of the top-level facts it reads has been written since. Outside an
+ * execution the delegate is evaluated directly.
+ *
+ * <p>Immutable and thread-safe.
+ */
+public final class SharedExpression implements Expression {
+
+  private final Expression delegate;
+  private final String[] reads; // Null when any fact may be read
+
+  /**
+   * Create a shared subexpression.
+   *
+   * @param delegate Expression computing the value
+   * @param reads Top-level fact keys the delegate reads, or null if it may read any fact
+   */
+  public SharedExpression(Expression delegate, List<String> reads) {
+    this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+    this.reads = reads == null ? null : reads.toArray(new String[0]);
+  }
+
+  @Override
+  public Object evaluate(Facts facts, FunctionRegistry functionRegistry) {
+    EvaluationCache cache = EvaluationCache.current();
+    if (cache == null) {
+      return delegate.evaluate(facts, functionRegistry);
+    }
+    return cache.evaluate(this, facts, functionRegistry);
+  }
+
+  public Expression getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Get the top-level fact keys the delegate reads.
+   *
+   * @return Keys, or null if any fact may be read
+   */
+  public String[] getReads() {
+    return reads;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Shared[%s]", delegate);
+  }
+}
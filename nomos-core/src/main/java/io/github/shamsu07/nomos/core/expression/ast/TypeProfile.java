@@ -0,0 +1,65 @@
+package io.github.shamsu07.nomos.core.expression.ast;
+
+/**
+ * Operand types seen by an operator node, used to pick an unboxed fast path.
+ *
+ * <p>A profile only moves towards {@link #GENERIC}, so a node settles after a few changes at most.
+ * Nodes update their profile without synchronization; that is safe because every fast path checks
+ * the actual operand types and takes the generic path when they do not match.
+ */
+final class TypeProfile {
+
+  static final byte UNSEEN = 0;
+  static final byte INT = 1;
+  static final byte LONG = 2;
+  static final byte DOUBLE = 3;
+  static final byte STRING = 4;
+  static final byte NUMBER = 5; // Integers, Longs and Doubles mixed, e.g. an int fact vs a literal
+  static final byte GENERIC = 6;
+
+  private TypeProfile() {}
+
+  static byte of(Object value) {
+    if (value instanceof Integer) {
+      return INT;
+    }
+    if (value instanceof Long) {
+      return LONG;
+    }
+    if (value instanceof Double) {
+      return DOUBLE;
+    }
+    if (value instanceof String) {
+      return STRING;
+    }
+    return GENERIC;
+  }
+
+  static byte join(byte profile, byte seen) {
+    if (profile == seen || seen == UNSEEN) {
+      return profile;
+    }
+    if (profile == UNSEEN) {
+      return seen;
+    }
+    if ((profile == INT && seen == LONG) || (profile == LONG && seen == INT)) {
+      return LONG;
+    }
+    if (isNumeric(profile) && isNumeric(seen)) {
+      return NUMBER;
+    }
+    return GENERIC;
+  }
+
+  static boolean isIntOrLong(Object value) {
+    return value instanceof Integer || value instanceof Long;
+  }
+
+  static boolean isNumber(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Double;
+  }
+
+  private static boolean isNumeric(byte profile) {
+    return profile == INT || profile == LONG || profile == DOUBLE || profile == NUMBER;
+  }
+}
@@ -1,5 +1,6 @@
 package io.github.shamsu07.nomos.core.expression.ast;
 
+import io.github.shamsu07.nomos.core.expression.Operators;
 import io.github.shamsu07.nomos.core.expression.TokenType;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
@@ -8,12 +9,15 @@ import java.util.Objects;
 /**
  * Represents a unary operation in an expression (e.g., "!active", "-value").
  *
- * <p>Supports logical NOT and arithmetic negation.
+ * <p>Supports logical NOT and arithmetic negation. Like {@link BinaryExpression}, the node
+ * specializes on the operand type it sees, so negating an Integer, Long or Double does not go
+ * through the generic numeric path.
  */
 public final class UnaryExpression implements Expression {
 
   private final TokenType operator;
   private final Expression operand;
+  private byte profile = TypeProfile.UNSEEN;
 
   public UnaryExpression(TokenType operator, Expression operand) {
     this.operator = Objects.requireNonNull(operator, "Operator cannot be null");
@@ -26,35 +30,55 @@ public final class UnaryExpression implements Expression {
 
     switch (operator) {
       case NOT:
-        return !toBoolean(value);
+        return !Operators.isTrue(value);
       case MINUS:
         return negate(value);
       case PLUS:
-        return toNumber(value);
+        return Operators.unaryPlus(value);
       default:
         throw new IllegalArgumentException("Unsupported unary operator: " + operator);
     }
   }
 
-  private boolean toBoolean(Object value) {
-    if (value instanceof Boolean) {
-      return (Boolean) value;
-    }
-    throw new IllegalArgumentException("Cannot convert to boolean: " + value);
-  }
-
   private Object negate(Object value) {
-    if (value instanceof Number) {
-      return -((Number) value).doubleValue();
+    switch (profile) {
+      case TypeProfile.INT:
+        if (value instanceof Integer) {
+          return Operators.negateInt((Integer) value);
+        }
+        break;
+      case TypeProfile.LONG:
+        if (value instanceof Long) {
+          return Operators.negateLong((Long) value);
+        }
+        if (value instanceof Integer) {
+          return Operators.negateInt((Integer) value);
+        }
+        break;
+      case TypeProfile.DOUBLE:
+        if (value instanceof Double) {
+          return -(Double) value;
+        }
+        break;
+      case TypeProfile.NUMBER:
+        if (value instanceof Double) {
+          return -(Double) value;
+        }
+        if (value instanceof Integer) {
+          return Operators.negateInt((Integer) value);
+        }
+        if (value instanceof Long) {
+          return Operators.negateLong((Long) value);
+        }
+        break;
+      case TypeProfile.GENERIC:
+        return Operators.negate(value);
+      default:
+        break;
     }
-    throw new IllegalArgumentException("Cannot negate " + value.getClass());
-  }
 
-  private Object toNumber(Object value) {
-    if (value instanceof Number) {
-      return ((Number) value).doubleValue();
-    }
-    throw new IllegalArgumentException("Cannot apply unary + to " + value.getClass());
+    profile = TypeProfile.join(profile, TypeProfile.of(value));
+    return Operators.negate(value);
   }
 
   public TokenType getOperator() {
@@ -1,25 +1,62 @@
 package io.github.shamsu07.nomos.core.expression.ast;
 
+import io.github.shamsu07.nomos.core.facts.FactSchema;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.facts.PropertyAccessors;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Represents a variable access in an expression (e.g., "user", "cart.total").
  *
- * <p>Supports dot notation for nested property access.
+ * <p>Supports dot notation for nested property access. The path is split once at construction and
+ * each segment after the first keeps a small inline cache of getters keyed by receiver class, so a
+ * POJO path costs about one direct getter call per segment once warmed up.
+ *
+ * <p>When facts carry a {@link FactSchema} that declares the path, the variable links itself to
+ * the path's slot the first time it sees that schema and reads by index from then on.
  */
 public final class VariableExpression implements Expression {
 
   private final String name;
+  private final String root;
+  private final PropertySite[] sites; // One per segment after the root
+
+  // Last schema seen and its slot for this path. Immutable, so racy updates are harmless.
+  private SlotLink link;
 
   public VariableExpression(String name) {
     this.name = Objects.requireNonNull(name, "Variable name cannot be null");
+    String[] segments = name.split("\\.");
+    this.root = segments[0];
+    this.sites = new PropertySite[segments.length - 1];
+    for (int i = 1; i < segments.length; i++) {
+      sites[i - 1] = new PropertySite(segments[i]);
+    }
   }
 
   @Override
   public Object evaluate(Facts facts, FunctionRegistry functionRegistry) {
-    return facts.get(name);
+    FactSchema schema = facts.getSchema();
+    if (schema != null) {
+      SlotLink current = link;
+      if (current == null || current.schema != schema) {
+        current = new SlotLink(schema, schema.slotOf(name));
+        link = current;
+      }
+      if (current.slot >= 0) {
+        return facts.getSlot(current.slot);
+      }
+    }
+
+    Object value = facts.get(root);
+    for (int i = 0; i < sites.length && value != null; i++) {
+      value = sites[i].read(value);
+    }
+    return value;
   }
 
   public String getName() {
@@ -47,4 +84,76 @@ public final class VariableExpression implements Expression {
   public int hashCode() {
     return Objects.hash(name);
   }
+
+  /** Polymorphic inline cache for one path segment: up to 4 receiver classes and their getters. */
+  private static final class PropertySite {
+    private static final int MAX_ENTRIES = 4;
+    private static final Function<Object, Object> NO_PROPERTY = target -> null;
+
+    private final String property;
+    // Replaced, never mutated after publication; volatile so a reader never sees a grown array
+    // before its new entry is written
+    private volatile Entry[] entries = new Entry[0];
+
+    PropertySite(String property) {
+      this.property = property;
+    }
+
+    Object read(Object target) {
+      if (target instanceof Map) {
+        return ((Map<?, ?>) target).get(property);
+      }
+      Class<?> type = target.getClass();
+      Entry[] current = entries;
+      for (Entry entry : current) {
+        if (entry.type == type) {
+          return read(entry.accessor, target);
+        }
+      }
+      return miss(target, type, current);
+    }
+
+    // Same contract as Facts.get: a failing getter reads as null
+    private static Object read(Function<Object, Object> accessor, Object target) {
+      try {
+        return accessor.apply(target);
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+
+    private Object miss(Object target, Class<?> type, Entry[] current) {
+      Function<Object, Object> accessor = PropertyAccessors.forProperty(type, property);
+      if (accessor == null) {
+        accessor = NO_PROPERTY;
+      }
+      // Megamorphic sites stop caching and use the shared table
+      if (current.length < MAX_ENTRIES) {
+        Entry[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = new Entry(type, accessor);
+        entries = grown;
+      }
+      return read(accessor, target);
+    }
+  }
+
+  private static final class Entry {
+    private final Class<?> type;
+    private final Function<Object, Object> accessor;
+
+    Entry(Class<?> type, Function<Object, Object> accessor) {
+      this.type = type;
+      this.accessor = accessor;
+    }
+  }
+
+  private static final class SlotLink {
+    private final FactSchema schema;
+    private final int slot; // -1 if the schema does not declare this path
+
+    SlotLink(FactSchema schema, int slot) {
+      this.schema = schema;
+      this.slot = slot;
+    }
+  }
 }
@@ -0,0 +1,315 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.AALOAD;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ACC_FINAL;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ACC_PRIVATE;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ACC_PUBLIC;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ACC_SUPER;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ACONST_NULL;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ALOAD_0;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ALOAD_1;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ALOAD_2;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ARETURN;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.CHECKCAST;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.DUP;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.GETFIELD;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.ICONST_1;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.IFEQ;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.IFNE;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.INVOKESPECIAL;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.INVOKESTATIC;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.IXOR;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.LDC_W;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.POP;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.PUTFIELD;
+import static io.github.shamsu07.nomos.core.expression.compile.ClassFileWriter.RETURN;
+
+import io.github.shamsu07.nomos.core.expression.TokenType;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles expression trees into hidden classes, one class with one {@code evaluate} method per
+ * expression.
+ *
+ * <p>Operators become direct static calls into {@link
+ * io.github.shamsu07.nomos.core.expression.Operators}, logical operators and comparisons stay
+ * unboxed until the final result, and {@code &&}/{@code ||} short-circuit with plain branches. The
+ * JIT can then inline across the whole condition instead of through a chain of megamorphic {@code
+ * evaluate} calls. Variable reads and function calls are delegated to their AST nodes, which keep
+ * their own inline caches; the nodes sit in final fields of the hidden class, which the JIT treats
+ * as constants.
+ *
+ * <p>Only expressions with operators are compiled. Anything the compiler cannot handle, including
+ * class definition failures, falls back to the original interpreted expression. Hidden classes
+ * are unloaded once the compiled expression is no longer referenced, so reloading rules does not
+ * leak classes.
+ *
+ * <p>Thread-safe.
+ */
+public final class BytecodeCompiler implements ExpressionCompiler {
+
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private static final String CLASS_NAME =
+      "io/github/shamsu07/nomos/core/expression/compile/CompiledExpression";
+  private static final String OBJECT = "java/lang/Object";
+  private static final String OPERATORS = "io/github/shamsu07/nomos/core/expression/Operators";
+  private static final String EXPRESSION =
+      "io/github/shamsu07/nomos/core/expression/ast/Expression";
+  private static final String OBJECT_DESC = "Ljava/lang/Object;";
+  private static final String EXPRESSION_DESC = "L" + EXPRESSION + ";";
+  private static final String EVALUATE_DESC =
+      "(Lio/github/shamsu07/nomos/core/facts/Facts;"
+          + "Lio/github/shamsu07/nomos/core/function/FunctionRegistry;)Ljava/lang/Object;";
+  private static final String BINARY_VALUE_DESC =
+      "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+  private static final String BINARY_TEST_DESC = "(Ljava/lang/Object;Ljava/lang/Object;)Z";
+
+  @Override
+  public Expression compile(Expression expression) {
+    Objects.requireNonNull(expression, "Expression cannot be null");
+    if (!hasOperator(expression)) {
+      return expression;
+    }
+
+    try {
+      Generator generator = new Generator();
+      byte[] bytes = generator.generate(expression);
+      Class<?> type = lookup.defineHiddenClass(bytes, true).lookupClass();
+      return (Expression)
+          type.getConstructor(Object[].class).newInstance((Object) generator.constants());
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      // Too large for one method, or rejected by the verifier: keep interpreting
+      return expression;
+    }
+  }
+
+  private static boolean hasOperator(Expression expression) {
+    return expression.getClass() == BinaryExpression.class
+        || expression.getClass() == UnaryExpression.class;
+  }
+
+  /** Emits the class for one expression. Not reusable. */
+  private static final class Generator {
+    private final ClassFileWriter writer = new ClassFileWriter();
+    private final ClassFileWriter.Code code = new ClassFileWriter.Code();
+    private final List<Object> constants = new ArrayList<>();
+    private final List<String> constantTypes = new ArrayList<>();
+
+    byte[] generate(Expression expression) {
+      emitValue(expression);
+      code.op(ARETURN, -1);
+      writer.addMethod(ACC_PUBLIC | ACC_FINAL, "evaluate", EVALUATE_DESC, code, 3);
+
+      addConstructor();
+      addToString("Compiled[" + expression + "]");
+      return writer.toByteArray(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, OBJECT, EXPRESSION);
+    }
+
+    Object[] constants() {
+      return constants.toArray();
+    }
+
+    // Leaves the expression's value on the stack
+    private void emitValue(Expression expression) {
+      if (expression instanceof LiteralExpression) {
+        Object value = ((LiteralExpression) expression).getValue();
+        if (value == null) {
+          code.op(ACONST_NULL, 1);
+        } else {
+          loadConstant(value, OBJECT_DESC);
+        }
+        return;
+      }
+
+      if (expression.getClass() == BinaryExpression.class) {
+        BinaryExpression binary = (BinaryExpression) expression;
+        String operator = arithmeticOperator(binary.getOperator());
+        if (operator != null) {
+          emitValue(binary.getLeft());
+          emitValue(binary.getRight());
+          invokeOperator(operator, BINARY_VALUE_DESC, -1);
+          return;
+        }
+        if (testOperator(binary.getOperator()) != null || isLogical(binary.getOperator())) {
+          emitTest(expression);
+          box();
+          return;
+        }
+      }
+
+      if (expression.getClass() == UnaryExpression.class) {
+        UnaryExpression unary = (UnaryExpression) expression;
+        switch (unary.getOperator()) {
+          case NOT:
+            emitTest(expression);
+            box();
+            return;
+          case MINUS:
+            emitValue(unary.getOperand());
+            invokeOperator("negate", "(Ljava/lang/Object;)Ljava/lang/Object;", 0);
+            return;
+          case PLUS:
+            emitValue(unary.getOperand());
+            invokeOperator("unaryPlus", "(Ljava/lang/Object;)Ljava/lang/Object;", 0);
+            return;
+          default:
+            break;
+        }
+      }
+
+      // Variables, function calls and anything unknown keep their interpreted evaluation
+      loadConstant(expression, EXPRESSION_DESC);
+      code.op(ALOAD_1, 1);
+      code.op(ALOAD_2, 1);
+      code.invokeInterface(writer.interfaceMethodRef(EXPRESSION, "evaluate", EVALUATE_DESC), 2, -2);
+    }
+
+    // Leaves the expression's truth value on the stack as an int (0 or 1)
+    private void emitTest(Expression expression) {
+      if (expression.getClass() == BinaryExpression.class) {
+        BinaryExpression binary = (BinaryExpression) expression;
+        TokenType operator = binary.getOperator();
+
+        if (isLogical(operator)) {
+          // Short-circuit: keep the left result when it decides the outcome
+          int end = code.newLabel();
+          emitTest(binary.getLeft());
+          code.op(DUP, 1);
+          code.jump(operator == TokenType.AND ? IFEQ : IFNE, end, -1);
+          int depth = code.depth();
+          code.op(POP, -1);
+          emitTest(binary.getRight());
+          code.bind(end, depth);
+          return;
+        }
+
+        String test = testOperator(operator);
+        if (test != null) {
+          emitValue(binary.getLeft());
+          emitValue(binary.getRight());
+          invokeOperator(test, BINARY_TEST_DESC, -1);
+          if (operator == TokenType.NOT_EQUAL) {
+            negate();
+          }
+          return;
+        }
+      }
+
+      if (expression.getClass() == UnaryExpression.class
+          && ((UnaryExpression) expression).getOperator() == TokenType.NOT) {
+        emitTest(((UnaryExpression) expression).getOperand());
+        negate();
+        return;
+      }
+
+      if (expression instanceof LiteralExpression
+          && ((LiteralExpression) expression).getValue() instanceof Boolean) {
+        code.pushInt((Boolean) ((LiteralExpression) expression).getValue() ? 1 : 0);
+        return;
+      }
+
+      emitValue(expression);
+      invokeOperator("isTrue", "(Ljava/lang/Object;)Z", 0);
+    }
+
+    private void loadConstant(Object value, String descriptor) {
+      int index = constants.size();
+      constants.add(value);
+      constantTypes.add(descriptor);
+      code.op(ALOAD_0, 1);
+      code.op2(GETFIELD, writer.fieldRef(CLASS_NAME, "c" + index, descriptor), 0);
+    }
+
+    private void invokeOperator(String name, String descriptor, int stackDelta) {
+      code.op2(INVOKESTATIC, writer.methodRef(OPERATORS, name, descriptor), stackDelta);
+    }
+
+    private void negate() {
+      code.op(ICONST_1, 1);
+      code.op(IXOR, -1);
+    }
+
+    private void box() {
+      code.op2(
+          INVOKESTATIC,
+          writer.methodRef("java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;"),
+          0);
+    }
+
+    // Fields c0..cN, assigned from the constructor's Object[] argument
+    private void addConstructor() {
+      ClassFileWriter.Code init = new ClassFileWriter.Code();
+      init.op(ALOAD_0, 1);
+      init.op2(INVOKESPECIAL, writer.methodRef(OBJECT, "<init>", "()V"), -1);
+      for (int i = 0; i < constantTypes.size(); i++) {
+        String descriptor = constantTypes.get(i);
+        writer.addField(ACC_PRIVATE | ACC_FINAL, "c" + i, descriptor);
+
+        init.op(ALOAD_0, 1);
+        init.op(ALOAD_1, 1);
+        init.pushInt(i);
+        init.op(AALOAD, -1);
+        if (!descriptor.equals(OBJECT_DESC)) {
+          init.op2(CHECKCAST, writer.classRef(EXPRESSION), 0);
+        }
+        init.op2(PUTFIELD, writer.fieldRef(CLASS_NAME, "c" + i, descriptor), -2);
+      }
+      init.op(RETURN, 0);
+      writer.addMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", init, 2);
+    }
+
+    private void addToString(String description) {
+      ClassFileWriter.Code body = new ClassFileWriter.Code();
+      body.op2(LDC_W, writer.string(description), 1);
+      body.op(ARETURN, -1);
+      writer.addMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", body, 1);
+    }
+  }
+
+  private static boolean isLogical(TokenType operator) {
+    return operator == TokenType.AND || operator == TokenType.OR;
+  }
+
+  private static String arithmeticOperator(TokenType operator) {
+    switch (operator) {
+      case PLUS:
+        return "add";
+      case MINUS:
+        return "subtract";
+      case MULTIPLY:
+        return "multiply";
+      case DIVIDE:
+        return "divide";
+      case MODULO:
+        return "modulo";
+      default:
+        return null;
+    }
+  }
+
+  private static String testOperator(TokenType operator) {
+    switch (operator) {
+      case EQUAL:
+      case NOT_EQUAL:
+        return "equal";
+      case LESS:
+        return "less";
+      case GREATER:
+        return "greater";
+      case LESS_EQUAL:
+        return "lessEqual";
+      case GREATER_EQUAL:
+        return "greaterEqual";
+      default:
+        return null;
+    }
+  }
+}
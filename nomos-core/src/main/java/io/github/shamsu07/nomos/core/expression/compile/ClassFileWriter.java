@@ -0,0 +1,350 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal class file writer for generated expression classes.
+ *
+ * <p>Writes class file version 49 (Java 5), the last version that needs no StackMapTable, so
+ * methods with branches need no frame computation. Supports only what the expression compiler
+ * emits: fields, methods with a single code attribute, and forward or backward 16-bit jumps.
+ */
+final class ClassFileWriter {
+
+  static final int ACC_PUBLIC = 0x0001;
+  static final int ACC_PRIVATE = 0x0002;
+  static final int ACC_FINAL = 0x0010;
+  static final int ACC_SUPER = 0x0020;
+
+  // Opcodes used by the compiler
+  static final int ACONST_NULL = 0x01;
+  static final int ICONST_0 = 0x03;
+  static final int ICONST_1 = 0x04;
+  static final int BIPUSH = 0x10;
+  static final int SIPUSH = 0x11;
+  static final int LDC_W = 0x13;
+  static final int ALOAD_0 = 0x2a;
+  static final int ALOAD_1 = 0x2b;
+  static final int ALOAD_2 = 0x2c;
+  static final int AALOAD = 0x32;
+  static final int POP = 0x57;
+  static final int DUP = 0x59;
+  static final int IXOR = 0x82;
+  static final int IFEQ = 0x99;
+  static final int IFNE = 0x9a;
+  static final int ARETURN = 0xb0;
+  static final int RETURN = 0xb1;
+  static final int GETFIELD = 0xb4;
+  static final int PUTFIELD = 0xb5;
+  static final int INVOKEVIRTUAL = 0xb6;
+  static final int INVOKESPECIAL = 0xb7;
+  static final int INVOKESTATIC = 0xb8;
+  static final int INVOKEINTERFACE = 0xb9;
+  static final int CHECKCAST = 0xc0;
+
+  private static final int VERSION_49 = 49;
+
+  private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+  private final DataOutputStream pool = new DataOutputStream(poolBytes);
+  private final Map<String, Integer> poolIndex = new HashMap<>();
+  private int poolCount = 1;
+
+  private final List<byte[]> fieldEntries = new ArrayList<>();
+  private final List<byte[]> methodEntries = new ArrayList<>();
+
+  int utf8(String value) {
+    return constant(
+        "U" + value,
+        out -> {
+          out.writeByte(1);
+          out.writeUTF(value);
+        });
+  }
+
+  int classRef(String internalName) {
+    int name = utf8(internalName);
+    return constant(
+        "C" + internalName,
+        out -> {
+          out.writeByte(7);
+          out.writeShort(name);
+        });
+  }
+
+  int string(String value) {
+    int utf = utf8(value);
+    return constant(
+        "S" + value,
+        out -> {
+          out.writeByte(8);
+          out.writeShort(utf);
+        });
+  }
+
+  int fieldRef(String owner, String name, String descriptor) {
+    return memberRef(9, owner, name, descriptor);
+  }
+
+  int methodRef(String owner, String name, String descriptor) {
+    return memberRef(10, owner, name, descriptor);
+  }
+
+  int interfaceMethodRef(String owner, String name, String descriptor) {
+    return memberRef(11, owner, name, descriptor);
+  }
+
+  void addField(int access, String name, String descriptor) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    write(
+        () -> {
+          out.writeShort(access);
+          out.writeShort(utf8(name));
+          out.writeShort(utf8(descriptor));
+          out.writeShort(0); // No attributes
+        });
+    fieldEntries.add(bytes.toByteArray());
+  }
+
+  void addMethod(int access, String name, String descriptor, Code code, int maxLocals) {
+    byte[] instructions = code.toByteArray();
+    int nameIndex = utf8(name);
+    int descriptorIndex = utf8(descriptor);
+    int codeAttribute = utf8("Code");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    write(
+        () -> {
+          out.writeShort(access);
+          out.writeShort(nameIndex);
+          out.writeShort(descriptorIndex);
+          out.writeShort(1); // One attribute: Code
+          out.writeShort(codeAttribute);
+          out.writeInt(12 + instructions.length);
+          out.writeShort(code.maxStack());
+          out.writeShort(maxLocals);
+          out.writeInt(instructions.length);
+          out.write(instructions);
+          out.writeShort(0); // No exception table
+          out.writeShort(0); // No code attributes
+        });
+    methodEntries.add(bytes.toByteArray());
+  }
+
+  byte[] toByteArray(int access, String thisClass, String superClass, String... interfaces) {
+    int thisIndex = classRef(thisClass);
+    int superIndex = classRef(superClass);
+    int[] interfaceIndexes = new int[interfaces.length];
+    for (int i = 0; i < interfaces.length; i++) {
+      interfaceIndexes[i] = classRef(interfaces[i]);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    write(
+        () -> {
+          out.writeInt(0xCAFEBABE);
+          out.writeShort(0);
+          out.writeShort(VERSION_49);
+          out.writeShort(poolCount);
+          out.write(poolBytes.toByteArray());
+          out.writeShort(access);
+          out.writeShort(thisIndex);
+          out.writeShort(superIndex);
+          out.writeShort(interfaceIndexes.length);
+          for (int index : interfaceIndexes) {
+            out.writeShort(index);
+          }
+          out.writeShort(fieldEntries.size());
+          for (byte[] field : fieldEntries) {
+            out.write(field);
+          }
+          out.writeShort(methodEntries.size());
+          for (byte[] method : methodEntries) {
+            out.write(method);
+          }
+          out.writeShort(0); // No class attributes
+        });
+    return bytes.toByteArray();
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) {
+    int classIndex = classRef(owner);
+    int nameAndType = nameAndType(name, descriptor);
+    return constant(
+        tag + owner + "." + name + descriptor,
+        out -> {
+          out.writeByte(tag);
+          out.writeShort(classIndex);
+          out.writeShort(nameAndType);
+        });
+  }
+
+  private int nameAndType(String name, String descriptor) {
+    int nameIndex = utf8(name);
+    int descriptorIndex = utf8(descriptor);
+    return constant(
+        "N" + name + ":" + descriptor,
+        out -> {
+          out.writeByte(12);
+          out.writeShort(nameIndex);
+          out.writeShort(descriptorIndex);
+        });
+  }
+
+  private int constant(String key, Entry entry) {
+    Integer existing = poolIndex.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    write(() -> entry.writeTo(pool));
+    int index = poolCount++;
+    if (poolCount > 0xFFFF) {
+      throw new IllegalStateException("Constant pool overflow");
+    }
+    poolIndex.put(key, index);
+    return index;
+  }
+
+  private static void write(IoAction action) {
+    try {
+      action.run();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Entry {
+    void writeTo(DataOutputStream out) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface IoAction {
+    void run() throws IOException;
+  }
+
+  /** Bytecode buffer that tracks operand stack depth and patches jump offsets. */
+  static final class Code {
+    private byte[] bytes = new byte[64];
+    private int length;
+    private int depth;
+    private int maxStack;
+    private final List<int[]> jumps = new ArrayList<>(); // {instruction offset, label}
+    private int[] labels = new int[8];
+    private int labelCount;
+
+    /** Emit an instruction without operands. */
+    void op(int opcode, int stackDelta) {
+      u1(opcode);
+      adjust(stackDelta);
+    }
+
+    /** Emit an instruction with a 16-bit constant pool or immediate operand. */
+    void op2(int opcode, int operand, int stackDelta) {
+      u1(opcode);
+      u2(operand);
+      adjust(stackDelta);
+    }
+
+    void invokeInterface(int methodRef, int argumentSlots, int stackDelta) {
+      u1(INVOKEINTERFACE);
+      u2(methodRef);
+      u1(argumentSlots + 1); // Count includes the receiver
+      u1(0);
+      adjust(stackDelta);
+    }
+
+    void pushInt(int value) {
+      if (value >= -1 && value <= 5) {
+        u1(ICONST_0 + value);
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        u1(BIPUSH);
+        u1(value);
+      } else {
+        u1(SIPUSH);
+        u2(value);
+      }
+      adjust(1);
+    }
+
+    int newLabel() {
+      if (labelCount == labels.length) {
+        labels = Arrays.copyOf(labels, labelCount * 2);
+      }
+      labels[labelCount] = -1;
+      return labelCount++;
+    }
+
+    void jump(int opcode, int label, int stackDelta) {
+      jumps.add(new int[] {length, label});
+      u1(opcode);
+      u2(0);
+      adjust(stackDelta);
+    }
+
+    /** Bind a label at the current position; stackDepth is the depth on entry to this point. */
+    void bind(int label, int stackDepth) {
+      labels[label] = length;
+      depth = stackDepth;
+    }
+
+    int depth() {
+      return depth;
+    }
+
+    int maxStack() {
+      return maxStack;
+    }
+
+    byte[] toByteArray() {
+      for (int[] jump : jumps) {
+        int target = labels[jump[1]];
+        if (target < 0) {
+          throw new IllegalStateException("Unbound label");
+        }
+        int offset = target - jump[0];
+        if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+          throw new IllegalStateException("Jump offset out of range");
+        }
+        bytes[jump[0] + 1] = (byte) (offset >> 8);
+        bytes[jump[0] + 2] = (byte) offset;
+      }
+      if (length > 0xFFFF) {
+        throw new IllegalStateException("Method too large");
+      }
+      return Arrays.copyOf(bytes, length);
+    }
+
+    private void adjust(int stackDelta) {
+      depth += stackDelta;
+      maxStack = Math.max(maxStack, depth);
+    }
+
+    private void u1(int value) {
+      ensure(1);
+      bytes[length++] = (byte) value;
+    }
+
+    private void u2(int value) {
+      ensure(2);
+      bytes[length++] = (byte) (value >> 8);
+      bytes[length++] = (byte) value;
+    }
+
+    private void ensure(int extra) {
+      if (length + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+      }
+    }
+  }
+}
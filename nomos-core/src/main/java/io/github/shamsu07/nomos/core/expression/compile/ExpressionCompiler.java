@@ -0,0 +1,27 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+
+/**
+ * Turns a parsed expression into a form that is cheaper to evaluate repeatedly.
+ *
+ * <p>The result must give the same values and throw the same errors as the input. Implementations
+ * may return the input unchanged when they cannot improve on it, so the tree-walking interpreter is
+ * always the fallback.
+ */
+@FunctionalInterface
+public interface ExpressionCompiler {
+
+  /**
+   * Compile an expression.
+   *
+   * @param expression Parsed expression
+   * @return Equivalent expression, possibly the input itself
+   */
+  Expression compile(Expression expression);
+
+  /** Compiler that keeps every expression as an interpreted AST. */
+  static ExpressionCompiler interpreter() {
+    return expression -> expression;
+  }
+}
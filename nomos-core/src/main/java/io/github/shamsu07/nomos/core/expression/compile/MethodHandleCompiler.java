@@ -0,0 +1,378 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import io.github.shamsu07.nomos.core.expression.Operators;
+import io.github.shamsu07.nomos.core.expression.TokenType;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.UnaryExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionMetadata;
+import io.github.shamsu07.nomos.core.function.FunctionNotFoundException;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SwitchPoint;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles expression trees into method handle trees, for deployments that do not allow runtime
+ * class definition.
+ *
+ * <p>Each node becomes a handle of type {@code (Facts, FunctionRegistry)}: operators are direct
+ * handles to {@link Operators} whose operands are folded in with {@link
+ * MethodHandles#foldArguments}, {@code &&}/{@code ||} short-circuit through {@link
+ * MethodHandles#guardWithTest}, and comparisons stay unboxed until the result is needed. The whole
+ * condition ends up in one root handle per expression, which the JVM customizes into bytecode once
+ * it is hot, so the JIT can inline across it.
+ *
+ * <p>When created with a {@link FunctionRegistry}, calls to functions registered at compile time
+ * invoke the registry's own invoker handle directly. Such a call is guarded by the registry's
+ * switch point and by the identity of the registry passed to {@code evaluate}; if either guard
+ * fails, the call goes back to the AST node. Variable reads and anything else the compiler does not
+ * handle are delegated to their AST nodes as well.
+ *
+ * <p>Only expressions with operators are compiled; others are returned unchanged. Thread-safe.
+ */
+public final class MethodHandleCompiler implements ExpressionCompiler {
+
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+  private static final MethodType VALUE =
+      methodType(Object.class, Facts.class, FunctionRegistry.class);
+
+  private static final MethodHandle EVALUATE;
+  private static final MethodHandle IS_TRUE;
+  private static final MethodHandle NOT;
+  private static final MethodHandle BOX;
+  private static final MethodHandle NEGATE;
+  private static final MethodHandle UNARY_PLUS;
+  private static final MethodHandle SAME_REGISTRY;
+  private static final MethodHandle INVOCATION_ERROR;
+  private static final MethodHandle FACTS;
+
+  static {
+    try {
+      EVALUATE = lookup.findVirtual(Expression.class, "evaluate", VALUE);
+      IS_TRUE = operator("isTrue", methodType(boolean.class, Object.class));
+      NOT =
+          lookup.findStatic(
+              MethodHandleCompiler.class, "not", methodType(boolean.class, boolean.class));
+      BOX =
+          lookup
+              .findStatic(Boolean.class, "valueOf", methodType(Boolean.class, boolean.class))
+              .asType(methodType(Object.class, boolean.class));
+      NEGATE = operator("negate", methodType(Object.class, Object.class));
+      UNARY_PLUS = operator("unaryPlus", methodType(Object.class, Object.class));
+      SAME_REGISTRY =
+          lookup.findStatic(
+              MethodHandleCompiler.class,
+              "sameRegistry",
+              methodType(boolean.class, FunctionRegistry.class, FunctionRegistry.class));
+      INVOCATION_ERROR =
+          lookup.findStatic(
+              MethodHandleCompiler.class,
+              "invocationError",
+              methodType(Object.class, String.class, Throwable.class));
+      FACTS =
+          MethodHandles.dropArguments(
+              MethodHandles.identity(Facts.class).asType(methodType(Object.class, Facts.class)),
+              1,
+              FunctionRegistry.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final FunctionRegistry functionRegistry;
+
+  /** Create a compiler that delegates function calls to their AST nodes. */
+  public MethodHandleCompiler() {
+    this.functionRegistry = null;
+  }
+
+  /**
+   * Create a compiler that links function calls to the handles of the given registry.
+   *
+   * @param functionRegistry Registry the compiled expressions will be evaluated with
+   */
+  public MethodHandleCompiler(FunctionRegistry functionRegistry) {
+    this.functionRegistry =
+        Objects.requireNonNull(functionRegistry, "Function registry cannot be null");
+  }
+
+  @Override
+  public Expression compile(Expression expression) {
+    Objects.requireNonNull(expression, "Expression cannot be null");
+    if (expression.getClass() != BinaryExpression.class
+        && expression.getClass() != UnaryExpression.class) {
+      return expression;
+    }
+
+    try {
+      return new CompiledHandle(value(expression), expression);
+    } catch (RuntimeException e) {
+      return expression;
+    }
+  }
+
+  // (Facts, FunctionRegistry)Object
+  private MethodHandle value(Expression expression) {
+    if (expression instanceof LiteralExpression) {
+      Object value = ((LiteralExpression) expression).getValue();
+      return MethodHandles.dropArguments(
+          MethodHandles.constant(Object.class, value), 0, Facts.class, FunctionRegistry.class);
+    }
+
+    if (expression.getClass() == BinaryExpression.class) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      TokenType operator = binary.getOperator();
+      String arithmetic = arithmeticOperator(operator);
+      if (arithmetic != null) {
+        MethodHandle op =
+            operator(arithmetic, methodType(Object.class, Object.class, Object.class));
+        return combine(op, value(binary.getLeft()), value(binary.getRight()));
+      }
+      if (testOperator(operator) != null || isLogical(operator)) {
+        return MethodHandles.filterReturnValue(test(expression), BOX);
+      }
+    }
+
+    if (expression.getClass() == UnaryExpression.class) {
+      UnaryExpression unary = (UnaryExpression) expression;
+      switch (unary.getOperator()) {
+        case NOT:
+          return MethodHandles.filterReturnValue(test(expression), BOX);
+        case MINUS:
+          return MethodHandles.filterReturnValue(value(unary.getOperand()), NEGATE);
+        case PLUS:
+          return MethodHandles.filterReturnValue(value(unary.getOperand()), UNARY_PLUS);
+        default:
+          break;
+      }
+    }
+
+    if (expression instanceof FunctionCallExpression && functionRegistry != null) {
+      MethodHandle call = functionCall((FunctionCallExpression) expression);
+      if (call != null) {
+        return call;
+      }
+    }
+
+    return EVALUATE.bindTo(expression);
+  }
+
+  // (Facts, FunctionRegistry)boolean
+  private MethodHandle test(Expression expression) {
+    if (expression.getClass() == BinaryExpression.class) {
+      BinaryExpression binary = (BinaryExpression) expression;
+      TokenType operator = binary.getOperator();
+
+      if (operator == TokenType.AND) {
+        return MethodHandles.guardWithTest(
+            test(binary.getLeft()), test(binary.getRight()), constantTest(false));
+      }
+      if (operator == TokenType.OR) {
+        return MethodHandles.guardWithTest(
+            test(binary.getLeft()), constantTest(true), test(binary.getRight()));
+      }
+
+      String comparison = testOperator(operator);
+      if (comparison != null) {
+        MethodHandle op =
+            operator(comparison, methodType(boolean.class, Object.class, Object.class));
+        MethodHandle result = combine(op, value(binary.getLeft()), value(binary.getRight()));
+        return operator == TokenType.NOT_EQUAL
+            ? MethodHandles.filterReturnValue(result, NOT)
+            : result;
+      }
+    }
+
+    if (expression.getClass() == UnaryExpression.class
+        && ((UnaryExpression) expression).getOperator() == TokenType.NOT) {
+      Expression operand = ((UnaryExpression) expression).getOperand();
+      return MethodHandles.filterReturnValue(test(operand), NOT);
+    }
+
+    if (expression instanceof LiteralExpression
+        && ((LiteralExpression) expression).getValue() instanceof Boolean) {
+      return constantTest((Boolean) ((LiteralExpression) expression).getValue());
+    }
+
+    return MethodHandles.filterReturnValue(value(expression), IS_TRUE);
+  }
+
+  /**
+   * Call the registry's invoker directly, or return null to delegate to the node. Only calls whose
+   * argument count matches the function are linked; the node reports mismatches.
+   */
+  private MethodHandle functionCall(FunctionCallExpression call) {
+    // Switch point first, as in FunctionCallExpression, so a concurrent change is not missed
+    SwitchPoint switchPoint = functionRegistry.getSwitchPoint();
+    FunctionMetadata metadata;
+    try {
+      metadata = functionRegistry.getFunction(call.getFunctionName());
+    } catch (FunctionNotFoundException e) {
+      return null;
+    }
+
+    // Memoized calls go through the node, which consults the execution's cache
+    if (metadata.isCacheable()) {
+      return null;
+    }
+
+    List<Expression> arguments = call.getArguments();
+    MethodHandle invoker = metadata.getInvoker();
+    int offset = metadata.hasFactsParameter() ? 1 : 0;
+    if (invoker.type().parameterCount() != arguments.size() + offset) {
+      return null;
+    }
+
+    // Errors from the function itself are wrapped; argument errors are not, as in the interpreter
+    MethodHandle handler =
+        MethodHandles.dropArguments(
+            INVOCATION_ERROR.bindTo(call.getFunctionName()), 1, invoker.type().parameterList());
+    MethodHandle guarded = MethodHandles.catchException(invoker, Throwable.class, handler);
+
+    MethodHandle[] operands = new MethodHandle[invoker.type().parameterCount()];
+    if (offset == 1) {
+      operands[0] = FACTS;
+    }
+    for (int i = 0; i < arguments.size(); i++) {
+      operands[i + offset] = value(arguments.get(i));
+    }
+
+    MethodHandle direct = combine(guarded, operands);
+    MethodHandle fallback = EVALUATE.bindTo(call);
+    MethodHandle sameRegistry =
+        MethodHandles.dropArguments(SAME_REGISTRY.bindTo(functionRegistry), 0, Facts.class);
+    return switchPoint.guardWithTest(
+        MethodHandles.guardWithTest(sameRegistry, direct, fallback), fallback);
+  }
+
+  /**
+   * Feed the results of (Facts, FunctionRegistry) operand handles into an operator, evaluating
+   * the operands left to right.
+   */
+  private static MethodHandle combine(MethodHandle op, MethodHandle... operands) {
+    int count = operands.length;
+    MethodType opType = op.type();
+
+    // Each fold inserts a leading argument, so fold the last operand first
+    Class<?>[] reversed = new Class<?>[count];
+    int[] reorder = new int[count];
+    for (int i = 0; i < count; i++) {
+      reversed[i] = opType.parameterType(count - 1 - i);
+      reorder[i] = count - 1 - i;
+    }
+    MethodHandle target =
+        MethodHandles.permuteArguments(op, methodType(opType.returnType(), reversed), reorder);
+    target = MethodHandles.dropArguments(target, count, Facts.class, FunctionRegistry.class);
+
+    for (int i = count - 1; i >= 0; i--) {
+      Class<?> parameter = reversed[count - 1 - i];
+      MethodHandle operand = operands[i].asType(operands[i].type().changeReturnType(parameter));
+      Class<?>[] leading = new Class<?>[i];
+      System.arraycopy(reversed, count - i, leading, 0, i);
+      target =
+          MethodHandles.foldArguments(target, MethodHandles.dropArguments(operand, 0, leading));
+    }
+    return target;
+  }
+
+  private static MethodHandle constantTest(boolean value) {
+    return MethodHandles.dropArguments(
+        MethodHandles.constant(boolean.class, value), 0, Facts.class, FunctionRegistry.class);
+  }
+
+  private static MethodHandle operator(String name, MethodType type) {
+    try {
+      return lookup.findStatic(Operators.class, name, type);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Missing operator: " + name, e);
+    }
+  }
+
+  private static boolean not(boolean value) {
+    return !value;
+  }
+
+  private static boolean sameRegistry(FunctionRegistry expected, FunctionRegistry actual) {
+    return expected == actual;
+  }
+
+  private static Object invocationError(String functionName, Throwable t) {
+    throw new RuntimeException(
+        String.format("Error invoking function '%s': %s", functionName, t.getMessage()), t);
+  }
+
+  private static boolean isLogical(TokenType operator) {
+    return operator == TokenType.AND || operator == TokenType.OR;
+  }
+
+  private static String arithmeticOperator(TokenType operator) {
+    switch (operator) {
+      case PLUS:
+        return "add";
+      case MINUS:
+        return "subtract";
+      case MULTIPLY:
+        return "multiply";
+      case DIVIDE:
+        return "divide";
+      case MODULO:
+        return "modulo";
+      default:
+        return null;
+    }
+  }
+
+  private static String testOperator(TokenType operator) {
+    switch (operator) {
+      case EQUAL:
+      case NOT_EQUAL:
+        return "equal";
+      case LESS:
+        return "less";
+      case GREATER:
+        return "greater";
+      case LESS_EQUAL:
+        return "lessEqual";
+      case GREATER_EQUAL:
+        return "greaterEqual";
+      default:
+        return null;
+    }
+  }
+
+  /** Root of a compiled expression. */
+  private static final class CompiledHandle implements Expression {
+    private final MethodHandle handle;
+    private final Expression source;
+
+    CompiledHandle(MethodHandle handle, Expression source) {
+      this.handle = handle;
+      this.source = source;
+    }
+
+    @Override
+    public Object evaluate(Facts facts, FunctionRegistry functionRegistry) {
+      try {
+        return (Object) handle.invokeExact(facts, functionRegistry);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Compiled[" + source + "]";
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Interprets expressions until they are hot, then compiles them in the background.
+ *
+ * <p>{@link #compile(Expression)} only wraps the AST, so loading and reloading thousands of rules
+ * costs no compilation. Each wrapped expression counts its evaluations; once the count reaches the
+ * threshold, the delegate compiler runs on the background executor and the compiled form replaces
+ * the AST through a volatile write. Callers never wait for compilation: until the swap they keep
+ * evaluating the AST, which gives the same results.
+ *
+ * <p>The evaluation count is a plain field updated without synchronization. Lost updates under
+ * contention only delay compilation slightly; compilation is still scheduled at most once.
+ *
+ * <p>Thread-safe.
+ */
+public final class TieredCompiler implements ExpressionCompiler {
+
+  /** Default number of evaluations before an expression is compiled. */
+  public static final int DEFAULT_THRESHOLD = 1000;
+
+  private final ExpressionCompiler delegate;
+  private final int threshold;
+  private final Executor executor;
+
+  /**
+   * Create a tiered compiler that compiles on a shared background thread.
+   *
+   * @param delegate Compiler used for hot expressions
+   * @param threshold Evaluations before an expression is compiled
+   */
+  public TieredCompiler(ExpressionCompiler delegate, int threshold) {
+    this(delegate, threshold, BackgroundCompiler.EXECUTOR);
+  }
+
+  /**
+   * Create a tiered compiler that compiles on the given executor.
+   *
+   * @param delegate Compiler used for hot expressions
+   * @param threshold Evaluations before an expression is compiled
+   * @param executor Executor running compilations
+   * @throws IllegalArgumentException if the threshold is not positive
+   */
+  public TieredCompiler(ExpressionCompiler delegate, int threshold, Executor executor) {
+    this.delegate = Objects.requireNonNull(delegate, "Delegate compiler cannot be null");
+    this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+    }
+    this.threshold = threshold;
+  }
+
+  @Override
+  public Expression compile(Expression expression) {
+    Objects.requireNonNull(expression, "Expression cannot be null");
+    if (expression instanceof LiteralExpression) {
+      return expression;
+    }
+    return new TieredExpression(expression, this);
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /** Expression that swaps its interpreted AST for the compiled form once hot. */
+  private static final class TieredExpression implements Expression {
+    private final Expression source;
+    private final TieredCompiler compiler;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Expression current;
+    private int evaluations;
+
+    TieredExpression(Expression source, TieredCompiler compiler) {
+      this.source = source;
+      this.compiler = compiler;
+      this.current = source;
+    }
+
+    @Override
+    public Object evaluate(Facts facts, FunctionRegistry functionRegistry) {
+      Expression target = current;
+      if (target == source && ++evaluations >= compiler.threshold && !scheduled.get()) {
+        promote();
+      }
+      return target.evaluate(facts, functionRegistry);
+    }
+
+    private void promote() {
+      if (!scheduled.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        compiler.executor.execute(
+            () -> {
+              try {
+                current = compiler.delegate.compile(source);
+              } catch (RuntimeException e) {
+                // Keep interpreting; the AST is always a valid fallback
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        // Executor is shut down: keep interpreting
+      }
+    }
+
+    @Override
+    public String toString() {
+      return current.toString();
+    }
+  }
+
+  /** Shared compilation thread, started on first use and stopped when idle. */
+  private static final class BackgroundCompiler {
+    private static final Executor EXECUTOR = create();
+
+    private static Executor create() {
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              r -> {
+                Thread t = new Thread(r, "nomos-compiler");
+                t.setDaemon(true);
+                return t;
+              });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+}
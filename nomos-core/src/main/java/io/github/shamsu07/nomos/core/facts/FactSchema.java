@@ -0,0 +1,145 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Declared set of fact keys and nested paths (e.g. "cart.total"), each mapped to an integer slot.
+ *
+ * <p>Facts created with a schema keep the current value of every declared path in a flat array, so
+ * expressions can read a declared path by slot index instead of splitting and hashing the key on
+ * each evaluation. Undeclared keys keep working through the regular string lookup.
+ *
+ * <p>Immutable and thread-safe. Share one instance across all Facts of the same shape.
+ */
+public final class FactSchema {
+
+  /**
+   * Slot marker for paths that pass through a POJO or a caller's map, whose contents may change
+   * after the put; reads fall back to get(path).
+   */
+  static final Object UNRESOLVED = new Object();
+
+  private final String[] paths;
+  private final String[][] segments;
+  private final Map<String, Integer> slots;
+  private final Map<String, int[]> slotsByRoot; // Top-level key -> slots under it
+
+  private FactSchema(List<String> paths) {
+    this.paths = paths.toArray(new String[0]);
+    this.segments = new String[this.paths.length][];
+    this.slots = new HashMap<>(this.paths.length * 2);
+
+    Map<String, List<Integer>> byRoot = new HashMap<>();
+    for (int i = 0; i < this.paths.length; i++) {
+      String path = this.paths[i];
+      segments[i] = path.split("\\.");
+      slots.put(path, i);
+      byRoot.computeIfAbsent(segments[i][0], k -> new ArrayList<>()).add(i);
+    }
+
+    this.slotsByRoot = new HashMap<>(byRoot.size() * 2);
+    byRoot.forEach(
+        (root, list) -> slotsByRoot.put(root, list.stream().mapToInt(Integer::intValue).toArray()));
+  }
+
+  /**
+   * Create a schema from fact keys and nested paths. Duplicates are ignored.
+   *
+   * @param paths Keys and paths in dot notation
+   * @throws IllegalArgumentException if a path is empty or has empty segments
+   */
+  public static FactSchema of(String... paths) {
+    Objects.requireNonNull(paths, "Paths cannot be null");
+    return of(List.of(paths));
+  }
+
+  /**
+   * Create a schema from fact keys and nested paths. Duplicates are ignored.
+   *
+   * @param paths Keys and paths in dot notation
+   * @throws IllegalArgumentException if a path is empty or has empty segments
+   */
+  public static FactSchema of(Collection<String> paths) {
+    Objects.requireNonNull(paths, "Paths cannot be null");
+    LinkedHashSet<String> unique = new LinkedHashSet<>();
+    for (String path : paths) {
+      Objects.requireNonNull(path, "Path cannot be null");
+      if (path.isEmpty() || path.startsWith(".") || path.endsWith(".") || path.contains("..")) {
+        throw new IllegalArgumentException("Invalid fact path: '" + path + "'");
+      }
+      unique.add(path);
+    }
+    return new FactSchema(new ArrayList<>(unique));
+  }
+
+  /**
+   * Get the slot for a declared path.
+   *
+   * @return Slot index, or -1 if the path is not declared
+   */
+  public int slotOf(String path) {
+    Integer slot = slots.get(path);
+    return slot != null ? slot : -1;
+  }
+
+  /** Get the path declared at a slot. */
+  public String pathOf(int slot) {
+    return paths[slot];
+  }
+
+  public int size() {
+    return paths.length;
+  }
+
+  public List<String> getPaths() {
+    return List.of(paths);
+  }
+
+  /** Compute all slots from scratch. */
+  Object[] slotsFor(PersistentMap data) {
+    Object[] values = new Object[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      values[i] = resolve(data.get(segments[i][0]), segments[i]);
+    }
+    return values;
+  }
+
+  /** Whether any declared path starts at the given top-level key. */
+  boolean covers(String root) {
+    return slotsByRoot.containsKey(root);
+  }
+
+  /** Recompute, in place, the slots under a top-level key after its value changed. */
+  void refresh(Object[] values, String root, Object rootValue) {
+    int[] affected = slotsByRoot.get(root);
+    if (affected == null) {
+      return;
+    }
+    for (int slot : affected) {
+      values[slot] = resolve(rootValue, segments[slot]);
+    }
+  }
+
+  // Walk immutable maps only; POJO properties and mutable maps are left to the regular lookup
+  private static Object resolve(Object rootValue, String[] parts) {
+    Object value = rootValue;
+    for (int i = 1; i < parts.length && value != null; i++) {
+      if (!(value instanceof PersistentMap)) {
+        return UNRESOLVED;
+      }
+      value = ((Map<?, ?>) value).get(parts[i]);
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "FactSchema" + List.of(paths);
+  }
+}
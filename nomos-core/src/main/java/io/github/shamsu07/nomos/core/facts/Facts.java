@@ -1,75 +1,107 @@
 package io.github.shamsu07.nomos.core.facts;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Immutable container for rule execution context. Supports nested property access via dto notation
  * (e.g., "user.address.city"). Thread-safe due to immutability - modifications return new
  * instances.
+ *
+ * <p>Backed by a persistent hash trie, so each put is O(log n) and shares structure with the
+ * instance it was derived from instead of copying every fact.
  */
 public final class Facts {
 
-  private final Map<String, Object> data;
+  private final PersistentMap data;
+  private final FactSchema schema; // Null when no schema is used
+  private final Object[] slots; // Values of the schema's declared paths
 
-  private static final Map<CacheKey, MethodHandle> methodHandleCache = new ConcurrentHashMap<>();
-  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
   private static final Map<String, String[]> pathCache = new ConcurrentHashMap<>();
 
-  private static final class CacheKey {
-    private final Class<?> clazz;
-    private final String fieldName;
-    private final int hash;
-
-    CacheKey(Class<?> clazz, String fieldName) {
-      this.clazz = clazz;
-      this.fieldName = fieldName;
-      this.hash = 31 * clazz.hashCode() + fieldName.hashCode();
-    }
+  public Facts() {
+    this(null, PersistentMap.EMPTY, null);
+  }
 
-    @Override
-    public boolean equals(Object obj) {
-      if (this == obj) return true;
-      if (!(obj instanceof CacheKey)) return false;
-      CacheKey that = (CacheKey) obj;
-      return clazz.equals(that.clazz) && fieldName.equals(that.fieldName);
-    }
+  public Facts(Map<String, Object> data) {
+    this(null, copyOf(data), null);
+  }
 
-    @Override
-    public int hashCode() {
-      return hash;
-    }
+  /**
+   * Create empty facts whose declared paths can be read by slot.
+   *
+   * @param schema Declared fact keys and paths
+   */
+  public Facts(FactSchema schema) {
+    this(schema, Map.of());
   }
 
-  public Facts() {
-    this.data = new HashMap<>();
+  /**
+   * Create facts whose declared paths can be read by slot.
+   *
+   * @param schema Declared fact keys and paths
+   * @param data Initial facts
+   */
+  public Facts(FactSchema schema, Map<String, Object> data) {
+    Objects.requireNonNull(schema, "Schema cannot be null");
+    this.schema = schema;
+    this.data = copyOf(data);
+    this.slots = schema.slotsFor(this.data);
   }
 
-  public Facts(Map<String, Object> data) {
-    this.data = deepCopy(data);
+  Facts(FactSchema schema, PersistentMap data, Object[] slots) {
+    this.schema = schema;
+    this.data = data;
+    this.slots = slots;
   }
 
   /**
    * Store a fact. Returns new Facts instance.
    *
+   * <p>Only the trie path to the changed entry is copied; everything else is shared with this
+   * instance. Values, including maps, are stored as given. A nested put copies the maps along its
+   * path into immutable maps instead of writing into them, so it never touches the caller's map or
+   * maps that older instances still reference.
+   *
    * @param key Fact key (supports dot annotation for nested values)
    * @param value Fact value
    * @return New Facts instance with added values
+   * @throws IllegalArgumentException if a nested key passes through a value that is not a map
    */
   public Facts put(String key, Object value) {
     Objects.requireNonNull(key, "Fact key cannot be null");
-    Map<String, Object> newData = new HashMap<>(this.data);
+    if (key.indexOf('.') < 0) {
+      PersistentMap newData = data.plus(key, value);
+      return new Facts(schema, newData, refreshSlots(key, newData));
+    }
 
-    if (key.contains(".")) {
-      putNested(newData, key, value);
-    } else {
-      newData.put(key, value);
+    String[] parts = split(key);
+    PersistentMap newData = putNested(data, key, parts, 0, value);
+    return new Facts(schema, newData, refreshSlots(parts[0], newData));
+  }
+
+  /**
+   * Remove a top-level fact. Returns new Facts instance.
+   *
+   * @param key Top-level fact key
+   * @return New Facts instance without the fact, or this instance if there was none
+   * @throws IllegalArgumentException if the key is a nested path
+   */
+  public Facts remove(String key) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    if (key.indexOf('.') >= 0) {
+      throw new IllegalArgumentException(
+          String.format("Cannot remove '%s': only top-level facts can be removed", key));
+    }
+
+    PersistentMap newData = data.minus(key);
+    if (newData == data) {
+      return this;
     }
-    return new Facts(newData);
+    return new Facts(schema, newData, refreshSlots(key, newData));
   }
 
   /**
@@ -105,11 +137,35 @@ public final class Facts {
   public Object get(String key) {
     Objects.requireNonNull(key, "Fact key cannot be null");
 
-    if (!key.contains(".")) {
+    if (key.indexOf('.') < 0) {
       return data.get(key);
     }
 
-    return getNested(data, key);
+    return getNested(split(key));
+  }
+
+  /**
+   * Retrieve a fact by schema slot, without hashing the key.
+   *
+   * @param slot Slot index from {@link #getSchema()}
+   * @return Value or null if not found
+   * @throws IllegalStateException if these facts were created without a schema
+   */
+  public Object getSlot(int slot) {
+    if (slots == null) {
+      throw new IllegalStateException("Facts have no schema");
+    }
+    Object value = slots[slot];
+    return value == FactSchema.UNRESOLVED ? get(schema.pathOf(slot)) : value;
+  }
+
+  /**
+   * Get the schema these facts were created with.
+   *
+   * @return Schema, or null if none
+   */
+  public FactSchema getSchema() {
+    return schema;
   }
 
   /** Check if fact exists */
@@ -122,102 +178,92 @@ public final class Facts {
     return new HashMap<>(data);
   }
 
-  // Nested property support - uses reflection for POJOs
-  private void putNested(Map<String, Object> target, String path, Object value) {
-    String[] parts = pathCache.computeIfAbsent(path, k -> k.split("\\.", 2));
-    String firstkey = parts[0];
+  // Nested maps become private HashMap copies, so later changes to the source are not seen
+  private static PersistentMap copyOf(Map<String, Object> source) {
+    PersistentMap.Transient copy = new PersistentMap.Transient(PersistentMap.EMPTY);
+    source.forEach((key, value) -> copy.put(key, deepCopy(value)));
+    return copy.persistent();
+  }
 
-    if (parts.length == 1) {
-      target.put(firstkey, value);
-      return;
+  private static Object deepCopy(Object value) {
+    if (!(value instanceof Map) || value instanceof PersistentMap) {
+      return value; // Persistent maps are immutable and can be shared
     }
-
-    @SuppressWarnings("unchecked")
-    Map<String, Object> nested =
-        (Map<String, Object>) target.computeIfAbsent(firstkey, k -> new HashMap<String, Object>());
-
-    putNested(nested, parts[1], value);
+    Map<Object, Object> copy = new HashMap<>();
+    ((Map<?, ?>) value).forEach((key, nested) -> copy.put(key, deepCopy(nested)));
+    return copy;
   }
 
-  @SuppressWarnings("unchecked")
-  private Object getNested(Map<String, Object> source, String path) {
-    String[] parts = pathCache.computeIfAbsent(path, k -> k.split("\\.", 2));
-    Object value = source.get(parts[0]);
-
-    if (value == null || parts.length == 1) {
-      return value;
-    }
+  static String[] split(String path) {
+    return pathCache.computeIfAbsent(path, k -> k.split("\\."));
+  }
 
-    // Try as Map first
-    if (value instanceof Map) {
-      return getNested((Map<String, Object>) value, parts[1]);
+  // Rebuilds only the maps along the path; siblings are shared
+  static PersistentMap putNested(
+      PersistentMap target, String path, String[] parts, int index, Object value) {
+    if (index == parts.length - 1) {
+      return target.plus(parts[index], value);
     }
 
-    // Fallback to reflection for POJOs
-    return getFieldValue(value, parts[1]);
+    PersistentMap nested = nestedMap(target.get(parts[index]), path, parts[index]);
+    return target.plus(parts[index], putNested(nested, path, parts, index + 1, value));
   }
 
-  private Object getFieldValue(Object obj, String fieldPath) {
-    String[] parts = pathCache.computeIfAbsent(fieldPath, k -> k.split("\\.", 2));
-    String fieldName = parts[0];
-
-    CacheKey cacheKey = new CacheKey(obj.getClass(), fieldName);
-    MethodHandle handle = methodHandleCache.get(cacheKey);
-
-    if (handle == null) {
-      handle = findGetter(obj.getClass(), fieldName);
-      if (handle == null) {
-        return null;
-      }
-      methodHandleCache.put(cacheKey, handle);
+  // Caller maps are copied, never written to
+  static PersistentMap nestedMap(Object existing, String path, String segment) {
+    if (existing == null) {
+      return PersistentMap.EMPTY;
     }
-
-    try {
-      Object value = handle.invoke(obj);
-      if (parts.length == 1) {
-        return value;
-      }
-      return value != null ? getFieldValue(value, parts[1]) : null;
-    } catch (Throwable e) {
-      return null;
+    if (existing instanceof Map) {
+      return PersistentMap.from((Map<?, ?>) existing);
     }
+    throw new IllegalArgumentException(
+        String.format(
+            "Cannot set '%s': '%s' is %s, not a map",
+            path, segment, existing.getClass().getName()));
   }
 
-  private MethodHandle findGetter(Class<?> clazz, String fieldName) {
-    try {
-      String getterName = "get" + capitalize(fieldName);
-      return lookup.unreflect(clazz.getMethod(getterName));
-    } catch (NoSuchMethodException | IllegalAccessException e) {
-      try {
-        String boolGetterName = "is" + capitalize(fieldName);
-        return lookup.unreflect(clazz.getMethod(boolGetterName));
-      } catch (NoSuchMethodException | IllegalAccessException ex) {
-        return null;
-      }
-    }
+  PersistentMap data() {
+    return data;
   }
 
-  private String capitalize(String str) {
-    if (str == null || str.isEmpty()) {
-      return str;
-    }
+  Object[] slots() {
+    return slots;
+  }
 
-    return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+  // Copy-on-write: only puts under a declared top-level key copy the slot array
+  private Object[] refreshSlots(String root, PersistentMap newData) {
+    if (schema == null || !schema.covers(root)) {
+      return slots;
+    }
+    Object[] copy = slots.clone();
+    schema.refresh(copy, root, newData.get(root));
+    return copy;
   }
 
-  @SuppressWarnings("unchecked")
-  private Map<String, Object> deepCopy(Map<String, Object> source) {
-    Map<String, Object> copy = new HashMap<>();
-    for (Map.Entry<String, Object> entry : source.entrySet()) {
-      Object value = entry.getValue();
+  // Nested property support - uses reflection for POJOs
+  private Object getNested(String[] parts) {
+    Object value = data.get(parts[0]);
+    for (int i = 1; i < parts.length && value != null; i++) {
       if (value instanceof Map) {
-        copy.put(entry.getKey(), deepCopy((Map<String, Object>) value));
+        value = ((Map<?, ?>) value).get(parts[i]);
       } else {
-        copy.put(entry.getKey(), value);
+        value = getFieldValue(value, parts[i]);
       }
     }
+    return value;
+  }
 
-    return copy;
+  private Object getFieldValue(Object obj, String fieldName) {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(obj.getClass(), fieldName);
+    if (accessor == null) {
+      return null;
+    }
+    try {
+      return accessor.apply(obj);
+    } catch (RuntimeException e) {
+      return null;
+    }
   }
 
   @Override
@@ -0,0 +1,130 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import java.util.Objects;
+
+/**
+ * Mutable working copy of {@link Facts} scoped to a single rule execution.
+ *
+ * <p>Writes go into one transient trie that is updated in place, instead of creating a new Facts
+ * instance per write. {@link #snapshot()} freezes the current state in O(1) whenever an immutable
+ * view is needed (e.g. to evaluate a condition), and {@link #commit()} returns the final Facts.
+ * The input Facts is never modified.
+ *
+ * <p>Not thread-safe: a transaction belongs to the thread running the execution.
+ */
+public final class FactsTransaction {
+
+  private final PersistentMap.Transient working;
+  private FactSchema schema;
+  private Object[] slots;
+  private boolean slotsShared; // Slot array is referenced by a snapshot and must be copied first
+  private Facts snapshot; // Null when writes happened since the last snapshot
+  private boolean committed;
+
+  public FactsTransaction(Facts facts) {
+    Objects.requireNonNull(facts, "Facts cannot be null");
+    this.working = new PersistentMap.Transient(facts.data());
+    adopt(facts);
+  }
+
+  /**
+   * Store a fact in the working copy.
+   *
+   * @param key Fact key (supports dot annotation for nested values)
+   * @param value Fact value
+   * @return This transaction
+   * @throws IllegalArgumentException if a nested key passes through a value that is not a map
+   * @throws IllegalStateException if the transaction was committed
+   */
+  public FactsTransaction put(String key, Object value) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    checkActive();
+
+    String root;
+    boolean changed;
+    if (key.indexOf('.') < 0) {
+      root = key;
+      changed = working.put(key, value);
+    } else {
+      String[] parts = Facts.split(key);
+      root = parts[0];
+      PersistentMap nested = Facts.nestedMap(working.get(root), key, root);
+      changed = working.put(root, Facts.putNested(nested, key, parts, 1, value));
+    }
+
+    if (changed) {
+      snapshot = null;
+      if (schema != null && schema.covers(root)) {
+        if (slotsShared) {
+          slots = slots.clone();
+          slotsShared = false;
+        }
+        schema.refresh(slots, root, working.get(root));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Retrieve a fact from the working copy.
+   *
+   * @param key Fact key (supports dot annotation)
+   * @return Value or null if not found
+   */
+  public Object get(String key) {
+    Objects.requireNonNull(key, "Fact key cannot be null");
+    if (key.indexOf('.') < 0) {
+      return working.get(key);
+    }
+    return snapshot().get(key);
+  }
+
+  /**
+   * Immutable view of the current state. O(1); repeated calls without writes in between return
+   * the same instance.
+   */
+  public Facts snapshot() {
+    if (snapshot == null) {
+      snapshot = new Facts(schema, working.persistent(), slots);
+      slotsShared = true;
+    }
+    return snapshot;
+  }
+
+  /**
+   * Replace the working copy with the given facts, e.g. the result of an action that returned a new
+   * Facts instance.
+   */
+  public void reset(Facts facts) {
+    Objects.requireNonNull(facts, "Facts cannot be null");
+    checkActive();
+    if (facts != snapshot) {
+      working.reset(facts.data());
+      adopt(facts);
+    }
+  }
+
+  /**
+   * Freeze the final state and close the transaction.
+   *
+   * @return Facts after all writes
+   */
+  public Facts commit() {
+    Facts result = snapshot();
+    committed = true;
+    return result;
+  }
+
+  private void adopt(Facts facts) {
+    schema = facts.getSchema();
+    slots = facts.slots();
+    slotsShared = true;
+    snapshot = facts;
+  }
+
+  private void checkActive() {
+    if (committed) {
+      throw new IllegalStateException("Transaction already committed");
+    }
+  }
+}
@@ -0,0 +1,565 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash array mapped trie (CHAMP layout) backing {@link Facts}.
+ *
+ * <p>Updates copy only the path from the root to the changed entry (at most 7 nodes of up to 32
+ * slots) and share everything else with the previous version, so {@code plus} and {@code minus}
+ * are O(log32 n) in time and allocation. Reads never allocate.
+ *
+ * <p>Implements {@link Map} read-only so nested fact maps can be handed out directly. Keys and
+ * values may be null, as in {@link java.util.HashMap}.
+ */
+final class PersistentMap extends AbstractMap<String, Object> {
+
+  static final PersistentMap EMPTY = new PersistentMap(BitmapNode.EMPTY, 0);
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final Object NOT_FOUND = new Object();
+
+  private final Node root;
+  private final int size;
+
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Copy a map's entries into a persistent map. Values, including nested maps, are kept as is.
+   * Persistent maps are returned as is, so re-wrapping is O(1).
+   */
+  static PersistentMap from(Map<?, ?> source) {
+    if (source instanceof PersistentMap) {
+      return (PersistentMap) source;
+    }
+    Transient copy = new Transient(EMPTY);
+    for (Map.Entry<?, ?> entry : source.entrySet()) {
+      copy.put(entry.getKey(), entry.getValue());
+    }
+    return copy.persistent();
+  }
+
+  @Override
+  public Object get(Object key) {
+    Object value = root.find(key, hash(key), 0);
+    return value == NOT_FOUND ? null : value;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return root.find(key, hash(key), 0) != NOT_FOUND;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** Return a new map with the entry added or replaced. Returns this map if nothing changed. */
+  PersistentMap plus(Object key, Object value) {
+    Change change = new Change();
+    Node newRoot = root.put(key, value, hash(key), 0, change, null);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap(newRoot, change.added ? size + 1 : size);
+  }
+
+  /** Return a new map without the entry. Returns this map if the key was absent. */
+  PersistentMap minus(Object key) {
+    Change change = new Change();
+    Node newRoot = root.remove(key, hash(key), 0, change, null);
+    if (!change.modified) {
+      return this;
+    }
+    return new PersistentMap(newRoot, size - 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super String, ? super Object> action) {
+    root.forEach((BiConsumer<Object, Object>) (BiConsumer<?, ?>) action);
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        return new EntryIterator(root);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Mutable working copy of a persistent map. Nodes created by this transient are updated in place
+   * until {@link #persistent()} freezes them, so repeated writes between freezes copy each trie
+   * node at most once. Not thread-safe.
+   */
+  static final class Transient {
+    private final Change change = new Change();
+    private Object edit = new Object();
+    private Node root;
+    private int size;
+
+    Transient(PersistentMap map) {
+      this.root = map.root;
+      this.size = map.size;
+    }
+
+    Object get(Object key) {
+      Object value = root.find(key, hash(key), 0);
+      return value == NOT_FOUND ? null : value;
+    }
+
+    /** Put an entry and report whether the map changed. */
+    boolean put(Object key, Object value) {
+      change.modified = false;
+      change.added = false;
+      root = root.put(key, value, hash(key), 0, change, edit);
+      if (change.added) {
+        size++;
+      }
+      return change.modified;
+    }
+
+    /** Remove an entry and report whether the map changed. */
+    boolean remove(Object key) {
+      change.modified = false;
+      root = root.remove(key, hash(key), 0, change, edit);
+      if (change.modified) {
+        size--;
+      }
+      return change.modified;
+    }
+
+    /** Freeze the current contents. O(1): later writes copy the nodes they touch first. */
+    PersistentMap persistent() {
+      edit = new Object();
+      return new PersistentMap(root, size);
+    }
+
+    /** Replace the contents with the given map. */
+    void reset(PersistentMap map) {
+      edit = new Object();
+      root = map.root;
+      size = map.size;
+    }
+  }
+
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  private static final class Change {
+    boolean modified;
+    boolean added;
+  }
+
+  private abstract static class Node {
+    abstract Object find(Object key, int hash, int shift);
+
+    abstract Node put(Object key, Object value, int hash, int shift, Change change, Object edit);
+
+    abstract Node remove(Object key, int hash, int shift, Change change, Object edit);
+
+    abstract void forEach(BiConsumer<Object, Object> action);
+
+    abstract int dataCount();
+
+    abstract Object keyAt(int index);
+
+    abstract Object valueAt(int index);
+
+    abstract int nodeCount();
+
+    abstract Node nodeAt(int index);
+  }
+
+  /**
+   * Node with inline entries first ([k0, v0, k1, v1, ...]) and sub-nodes at the end, reversed.
+   * Nodes created under a transient edit token are updated in place while that token is active.
+   */
+  private static final class BitmapNode extends Node {
+    static final BitmapNode EMPTY = new BitmapNode(0, 0, new Object[0], null);
+
+    private int dataMap;
+    private int nodeMap;
+    private Object[] content;
+    private final Object edit;
+
+    BitmapNode(int dataMap, int nodeMap, Object[] content, Object edit) {
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+      this.edit = edit;
+    }
+
+    @Override
+    Object find(Object key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((dataMap & bit) != 0) {
+        int index = dataIndex(bit);
+        return Objects.equals(key, content[2 * index]) ? content[2 * index + 1] : NOT_FOUND;
+      }
+      if ((nodeMap & bit) != 0) {
+        return subNode(bit).find(key, hash, shift + BITS);
+      }
+      return NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object key, Object value, int hash, int shift, Change change, Object edit) {
+      int bit = bit(hash, shift);
+
+      if ((dataMap & bit) != 0) {
+        int index = dataIndex(bit);
+        Object existingKey = content[2 * index];
+        if (Objects.equals(key, existingKey)) {
+          if (content[2 * index + 1] == value) {
+            return this;
+          }
+          change.modified = true;
+          return withSlot(2 * index + 1, value, edit);
+        }
+        // Two keys share this slot: push both down into a new sub-node
+        Object existingValue = content[2 * index + 1];
+        int existingHash = hash(existingKey);
+        Node merged =
+            merge(existingKey, existingValue, existingHash, key, value, hash, shift + BITS, edit);
+        change.modified = true;
+        change.added = true;
+        return migrateToNode(bit, index, merged, edit);
+      }
+
+      if ((nodeMap & bit) != 0) {
+        Node sub = subNode(bit);
+        Node newSub = sub.put(key, value, hash, shift + BITS, change, edit);
+        if (newSub == sub) {
+          return this;
+        }
+        return withSlot(nodeIndex(bit), newSub, edit);
+      }
+
+      change.modified = true;
+      change.added = true;
+      int index = dataIndex(bit);
+      Object[] copy = new Object[content.length + 2];
+      System.arraycopy(content, 0, copy, 0, 2 * index);
+      copy[2 * index] = key;
+      copy[2 * index + 1] = value;
+      System.arraycopy(content, 2 * index, copy, 2 * index + 2, content.length - 2 * index);
+      return with(dataMap | bit, nodeMap, copy, edit);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change, Object edit) {
+      int bit = bit(hash, shift);
+
+      if ((dataMap & bit) != 0) {
+        int index = dataIndex(bit);
+        if (!Objects.equals(key, content[2 * index])) {
+          return this;
+        }
+        change.modified = true;
+        Object[] copy = new Object[content.length - 2];
+        System.arraycopy(content, 0, copy, 0, 2 * index);
+        System.arraycopy(content, 2 * index + 2, copy, 2 * index, copy.length - 2 * index);
+        return with(dataMap ^ bit, nodeMap, copy, edit);
+      }
+
+      if ((nodeMap & bit) != 0) {
+        Node sub = subNode(bit);
+        Node newSub = sub.remove(key, hash, shift + BITS, change, edit);
+        if (newSub == sub) {
+          return this;
+        }
+        if (newSub.dataCount() == 0 && newSub.nodeCount() == 0) {
+          // Drop the now empty sub-node
+          int nodeIndex = nodeIndex(bit);
+          Object[] copy = new Object[content.length - 1];
+          System.arraycopy(content, 0, copy, 0, nodeIndex);
+          System.arraycopy(content, nodeIndex + 1, copy, nodeIndex, copy.length - nodeIndex);
+          return with(dataMap, nodeMap ^ bit, copy, edit);
+        }
+        return withSlot(nodeIndex(bit), newSub, edit);
+      }
+
+      return this;
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      int data = Integer.bitCount(dataMap);
+      for (int i = 0; i < data; i++) {
+        action.accept(content[2 * i], content[2 * i + 1]);
+      }
+      for (int i = 2 * data; i < content.length; i++) {
+        ((Node) content[i]).forEach(action);
+      }
+    }
+
+    @Override
+    int dataCount() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    Object keyAt(int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object valueAt(int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    int nodeCount() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Node nodeAt(int index) {
+      return (Node) content[content.length - 1 - index];
+    }
+
+    private boolean ownedBy(Object edit) {
+      return edit != null && this.edit == edit;
+    }
+
+    // Replace one slot, in place if this node belongs to the active transient
+    private Node withSlot(int index, Object value, Object edit) {
+      if (ownedBy(edit)) {
+        content[index] = value;
+        return this;
+      }
+      Object[] copy = content.clone();
+      copy[index] = value;
+      return new BitmapNode(dataMap, nodeMap, copy, edit);
+    }
+
+    private Node with(int dataMap, int nodeMap, Object[] content, Object edit) {
+      if (ownedBy(edit)) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+        return this;
+      }
+      return new BitmapNode(dataMap, nodeMap, content, edit);
+    }
+
+    private Node migrateToNode(int bit, int dataIndex, Node node, Object edit) {
+      // Remove the inline entry and insert the sub-node in the node section
+      int oldNodeIndex = content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+      Object[] copy = new Object[content.length - 1];
+      System.arraycopy(content, 0, copy, 0, 2 * dataIndex);
+      System.arraycopy(
+          content, 2 * dataIndex + 2, copy, 2 * dataIndex, oldNodeIndex - 2 * dataIndex - 1);
+      int newNodeIndex = oldNodeIndex - 2;
+      copy[newNodeIndex + 1] = node;
+      System.arraycopy(
+          content, oldNodeIndex + 1, copy, newNodeIndex + 2, content.length - oldNodeIndex - 1);
+      return with(dataMap ^ bit, nodeMap | bit, copy, edit);
+    }
+
+    private int dataIndex(int bit) {
+      return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    private int nodeIndex(int bit) {
+      return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    private Node subNode(int bit) {
+      return (Node) content[nodeIndex(bit)];
+    }
+  }
+
+  /** Entries whose full 32-bit hashes are equal. Rare, so always copied, even in transients. */
+  private static final class CollisionNode extends Node {
+    private final int hash;
+    private final Object[] entries;
+
+    CollisionNode(int hash, Object[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    @Override
+    Object find(Object key, int hash, int shift) {
+      for (int i = 0; i < entries.length; i += 2) {
+        if (Objects.equals(key, entries[i])) {
+          return entries[i + 1];
+        }
+      }
+      return NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object key, Object value, int hash, int shift, Change change, Object edit) {
+      for (int i = 0; i < entries.length; i += 2) {
+        if (Objects.equals(key, entries[i])) {
+          if (entries[i + 1] == value) {
+            return this;
+          }
+          change.modified = true;
+          Object[] copy = entries.clone();
+          copy[i + 1] = value;
+          return new CollisionNode(this.hash, copy);
+        }
+      }
+      change.modified = true;
+      change.added = true;
+      Object[] copy = new Object[entries.length + 2];
+      System.arraycopy(entries, 0, copy, 0, entries.length);
+      copy[entries.length] = key;
+      copy[entries.length + 1] = value;
+      return new CollisionNode(this.hash, copy);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change, Object edit) {
+      for (int i = 0; i < entries.length; i += 2) {
+        if (Objects.equals(key, entries[i])) {
+          change.modified = true;
+          Object[] copy = new Object[entries.length - 2];
+          System.arraycopy(entries, 0, copy, 0, i);
+          System.arraycopy(entries, i + 2, copy, i, copy.length - i);
+          return new CollisionNode(this.hash, copy);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < entries.length; i += 2) {
+        action.accept(entries[i], entries[i + 1]);
+      }
+    }
+
+    @Override
+    int dataCount() {
+      return entries.length / 2;
+    }
+
+    @Override
+    Object keyAt(int index) {
+      return entries[2 * index];
+    }
+
+    @Override
+    Object valueAt(int index) {
+      return entries[2 * index + 1];
+    }
+
+    @Override
+    int nodeCount() {
+      return 0;
+    }
+
+    @Override
+    Node nodeAt(int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  }
+
+  private static Node merge(
+      Object key0,
+      Object value0,
+      int hash0,
+      Object key1,
+      Object value1,
+      int hash1,
+      int shift,
+      Object edit) {
+    if (shift >= 32) {
+      return new CollisionNode(hash0, new Object[] {key0, value0, key1, value1});
+    }
+    int mask0 = (hash0 >>> shift) & MASK;
+    int mask1 = (hash1 >>> shift) & MASK;
+    if (mask0 != mask1) {
+      int dataMap = (1 << mask0) | (1 << mask1);
+      return mask0 < mask1
+          ? new BitmapNode(dataMap, 0, new Object[] {key0, value0, key1, value1}, edit)
+          : new BitmapNode(dataMap, 0, new Object[] {key1, value1, key0, value0}, edit);
+    }
+    Node sub = merge(key0, value0, hash0, key1, value1, hash1, shift + BITS, edit);
+    return new BitmapNode(0, 1 << mask0, new Object[] {sub}, edit);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /** Depth-first iterator with an explicit node stack; the trie is at most 8 levels deep. */
+  private static final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+    private final Node[] nodes = new Node[8];
+    private final int[] nextNode = new int[8];
+    private int depth;
+    private Node current;
+    private int dataIndex;
+
+    EntryIterator(Node root) {
+      nodes[0] = root;
+      current = root;
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return current != null;
+    }
+
+    @Override
+    public Map.Entry<String, Object> next() {
+      if (current == null) {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<String, Object> entry =
+          new SimpleImmutableEntry<>((String) current.keyAt(dataIndex), current.valueAt(dataIndex));
+      dataIndex++;
+      advance();
+      return entry;
+    }
+
+    // Move to the next node that still has inline entries left
+    private void advance() {
+      while (current != null && dataIndex >= current.dataCount()) {
+        Node node = nodes[depth];
+        if (nextNode[depth] < node.nodeCount()) {
+          Node child = node.nodeAt(nextNode[depth]++);
+          depth++;
+          nodes[depth] = child;
+          nextNode[depth] = 0;
+          current = child;
+          dataIndex = 0;
+        } else if (depth > 0) {
+          depth--;
+          current = nodes[depth];
+          dataIndex = current.dataCount();
+        } else {
+          current = null;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves property accessors on fact objects (POJOs, records) and caches them per class.
+ *
+ * <p>Lookup order: {@code getX()}, {@code isX()}, record component {@code x()}, public field
+ * {@code x}. Getters are turned into {@link Function}s by {@link LambdaMetafactory}, so a call is a
+ * plain interface call the JIT can inline. Fields, and getters the metafactory cannot reach, use a
+ * method handle instead.
+ *
+ * <p>The per-class table lives in a {@link ClassValue}, and lambdas are defined next to the fact
+ * class, so nothing here keeps a class loader alive. Misses are cached as well, so probing an
+ * optional property costs one map lookup after the first time, with no exceptions thrown.
+ *
+ * <p>Used by {@link Facts} for nested lookups and by expression call sites that keep their own
+ * per-class inline caches.
+ */
+public final class PropertyAccessors {
+
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+  private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+  private static final Function<Object, Object> MISSING = target -> null;
+
+  private static final ClassValue<Map<String, Function<Object, Object>>> accessors =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private PropertyAccessors() {}
+
+  /**
+   * Get the accessor for a property. Accessors let exceptions thrown by the getter propagate.
+   *
+   * @param type Receiver class
+   * @param property Property name
+   * @return Accessor, or null if the class has no such property
+   */
+  public static Function<Object, Object> forProperty(Class<?> type, String property) {
+    Objects.requireNonNull(type, "Type cannot be null");
+    Objects.requireNonNull(property, "Property cannot be null");
+
+    Map<String, Function<Object, Object>> byName = accessors.get(type);
+    Function<Object, Object> accessor = byName.get(property);
+    if (accessor == null) {
+      accessor = byName.computeIfAbsent(property, name -> resolve(type, name));
+    }
+    return accessor == MISSING ? null : accessor;
+  }
+
+  private static Function<Object, Object> resolve(Class<?> type, String property) {
+    Method method = findMethod(type, property);
+    if (method != null) {
+      Function<Object, Object> accessor = fromMethod(type, method);
+      if (accessor != null) {
+        return accessor;
+      }
+    }
+
+    Field field = findField(type, property);
+    if (field != null) {
+      try {
+        return fromHandle(lookup.unreflectGetter(field));
+      } catch (IllegalAccessException e) {
+        return MISSING;
+      }
+    }
+    return MISSING;
+  }
+
+  // Scans instead of getMethod(), which would throw on every miss
+  private static Method findMethod(Class<?> type, String property) {
+    String capitalized = capitalize(property);
+    String getterName = "get" + capitalized;
+    String boolGetterName = "is" + capitalized;
+
+    Method getter = null;
+    Method boolGetter = null;
+    for (Method method : type.getMethods()) {
+      if (method.getParameterCount() != 0
+          || Modifier.isStatic(method.getModifiers())
+          || method.getReturnType() == void.class) {
+        continue;
+      }
+      if (method.getName().equals(getterName)) {
+        getter = method;
+      } else if (method.getName().equals(boolGetterName)) {
+        boolGetter = method;
+      }
+    }
+    if (getter != null) {
+      return getter;
+    }
+    if (boolGetter != null) {
+      return boolGetter;
+    }
+
+    if (type.isRecord()) {
+      for (RecordComponent component : type.getRecordComponents()) {
+        if (component.getName().equals(property)) {
+          return component.getAccessor();
+        }
+      }
+    }
+    return null;
+  }
+
+  private static Field findField(Class<?> type, String property) {
+    for (Field field : type.getFields()) {
+      if (field.getName().equals(property) && !Modifier.isStatic(field.getModifiers())) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> fromMethod(Class<?> type, Method method) {
+    try {
+      // Define the lambda in the fact class's own loader so it can unload with it
+      MethodHandles.Lookup caller = MethodHandles.privateLookupIn(type, lookup);
+      MethodHandle getter = caller.unreflect(method);
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              caller,
+              "apply",
+              MethodType.methodType(Function.class),
+              OBJECT_GETTER,
+              getter,
+              getter.type().wrap()); // Primitive getters are boxed
+      return (Function<Object, Object>) site.getTarget().invoke();
+    } catch (Throwable e) {
+      // Module boundaries or access rules: fall back to a plain method handle
+      try {
+        return fromHandle(lookup.unreflect(method));
+      } catch (IllegalAccessException ex) {
+        return null;
+      }
+    }
+  }
+
+  // Exact (Object)Object type so the call is invokeExact, not a generic invoke
+  private static Function<Object, Object> fromHandle(MethodHandle getter) {
+    MethodHandle handle = getter.asType(OBJECT_GETTER);
+    return target -> {
+      try {
+        return (Object) handle.invokeExact(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private static String capitalize(String str) {
+    if (str == null || str.isEmpty()) {
+      return str;
+    }
+
+    return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+  }
+}
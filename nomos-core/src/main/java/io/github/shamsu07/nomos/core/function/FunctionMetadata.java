@@ -1,8 +1,10 @@
 package io.github.shamsu07.nomos.core.function;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Metadata for a registered function including its MethodHandle and parameter types.
@@ -16,7 +18,11 @@ public final class FunctionMetadata {
   private final Class<?>[] parameterTypes;
   private final Class<?> returnType;
   private final boolean hasFactsParameter;
+  private final boolean deterministic;
+  private final boolean cacheable;
+  private final Set<String> reads;
   private final MethodHandle spreader;
+  private final MethodHandle invoker;
 
   public FunctionMetadata(
       String name,
@@ -24,12 +30,49 @@ public final class FunctionMetadata {
       Class<?>[] parameterTypes,
       Class<?> returnType,
       boolean hasFactsParameter) {
+    this(name, methodHandle, parameterTypes, returnType, hasFactsParameter, false);
+  }
+
+  public FunctionMetadata(
+      String name,
+      MethodHandle methodHandle,
+      Class<?>[] parameterTypes,
+      Class<?> returnType,
+      boolean hasFactsParameter,
+      boolean deterministic) {
+    this(
+        name,
+        methodHandle,
+        parameterTypes,
+        returnType,
+        hasFactsParameter,
+        deterministic,
+        false,
+        Set.of());
+  }
+
+  public FunctionMetadata(
+      String name,
+      MethodHandle methodHandle,
+      Class<?>[] parameterTypes,
+      Class<?> returnType,
+      boolean hasFactsParameter,
+      boolean deterministic,
+      boolean cacheable,
+      Set<String> reads) {
     this.name = Objects.requireNonNull(name, "Function name cannot be null");
     this.methodHandle = Objects.requireNonNull(methodHandle, "MethodHandle cannot be null");
     this.parameterTypes = Objects.requireNonNull(parameterTypes, "Parameter types cannot be null");
     this.returnType = Objects.requireNonNull(returnType, "Return type cannot be null");
     this.hasFactsParameter = hasFactsParameter;
+    this.deterministic = deterministic;
+    this.cacheable = deterministic || cacheable;
+    this.reads = Set.copyOf(Objects.requireNonNull(reads, "Reads cannot be null"));
     this.spreader = methodHandle.asSpreader(Object[].class, parameterTypes.length);
+    this.invoker =
+        methodHandle
+            .asFixedArity()
+            .asType(MethodType.genericMethodType(methodHandle.type().parameterCount()));
   }
 
   public String getName() {
@@ -52,10 +95,37 @@ public final class FunctionMetadata {
     return spreader;
   }
 
+  /**
+   * Get the handle adapted to {@code (Object, ...)Object} with the function's own arity, for call
+   * sites that pass arguments individually via {@code invokeExact} instead of through an array.
+   */
+  public MethodHandle getInvoker() {
+    return invoker;
+  }
+
   public boolean hasFactsParameter() {
     return hasFactsParameter;
   }
 
+  /** Whether the result depends only on the arguments. */
+  public boolean isDeterministic() {
+    return deterministic;
+  }
+
+  /** Whether results may be reused within one execution for equal arguments. */
+  public boolean isCacheable() {
+    return cacheable;
+  }
+
+  /**
+   * Get the top-level fact keys a function taking Facts reads.
+   *
+   * @return Declared keys, or an empty set if the function may read any fact
+   */
+  public Set<String> getReads() {
+    return reads;
+  }
+
   public int getParameterCount() {
     return parameterTypes.length;
   }
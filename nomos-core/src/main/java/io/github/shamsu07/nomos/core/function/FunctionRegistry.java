@@ -1,11 +1,19 @@
 package io.github.shamsu07.nomos.core.function;
 
+import io.github.shamsu07.nomos.core.cache.BoundedCache;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SwitchPoint;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -15,11 +23,43 @@ import java.util.concurrent.ConcurrentHashMap;
  * registration and manual lambda registration.
  *
  * <p>Functions are validated at registration time (fail-fast), not during execution.
+ *
+ * <p>Call sites may link to a function's metadata once and keep it until {@link #getSwitchPoint()}
+ * is invalidated, which happens whenever a function is registered or removed.
+ *
+ * <p>Results of selected functions can be cached across executions with {@link #cacheResults},
+ * or with {@code @NomosFunction(cacheSize = ...)}.
  */
 public final class FunctionRegistry {
 
+  private static final MethodHandle INVOKE_CACHED;
+  private static final Object NULL_RESULT = new Object(); // Cached stand-in for a null result
+
+  static {
+    try {
+      INVOKE_CACHED =
+          MethodHandles.lookup()
+              .findStatic(
+                  FunctionRegistry.class,
+                  "invokeCached",
+                  MethodType.methodType(
+                      Object.class,
+                      BoundedCache.class,
+                      MethodHandle.class,
+                      String[].class,
+                      Object[].class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
   private final Map<String, FunctionMetadata> functions;
+  private final Map<String, BoundedCache<List<Object>, Object>> resultCaches =
+      new ConcurrentHashMap<>();
   private final MethodHandles.Lookup lookup;
+  private final Object mutationLock = new Object(); // Serializes changes; reads take no lock
+  private final Object linkLock = new Object();
+  private SwitchPoint switchPoint; // Guarded by linkLock, created when the first call site links
 
   public FunctionRegistry() {
     this.functions = new ConcurrentHashMap<>();
@@ -54,9 +94,29 @@ public final class FunctionRegistry {
           boolean hasFactsParam = paramTypes.length > 0 && Facts.class.equals(paramTypes[0]);
 
           FunctionMetadata metadata =
-              new FunctionMetadata(functionName, handle, paramTypes, returnType, hasFactsParam);
+              new FunctionMetadata(
+                  functionName,
+                  handle,
+                  paramTypes,
+                  returnType,
+                  hasFactsParam,
+                  annotation.deterministic(),
+                  annotation.cacheable(),
+                  rootsOf(annotation.reads()));
 
-          registerFunction(functionName, metadata);
+          // Validated first, so a rejected cache leaves nothing registered
+          if (annotation.cacheSize() > 0) {
+            checkCacheable(metadata);
+          }
+          synchronized (mutationLock) {
+            registerFunction(functionName, metadata);
+            if (annotation.cacheSize() > 0) {
+              cacheResults(
+                  functionName,
+                  annotation.cacheSize(),
+                  Duration.ofMillis(annotation.cacheTtlMillis()));
+            }
+          }
         } catch (IllegalAccessException e) {
           throw new IllegalStateException(
               String.format(
@@ -78,11 +138,68 @@ public final class FunctionRegistry {
     Objects.requireNonNull(name, "Function name cannot be null");
     Objects.requireNonNull(metadata, "Function Metadata cannot be null");
 
-    if (functions.containsKey(name)) {
-      throw new IllegalArgumentException(
-          String.format("Functions '%s' is already registered", name));
+    synchronized (mutationLock) {
+      if (functions.containsKey(name)) {
+        throw new IllegalArgumentException(
+            String.format("Functions '%s' is already registered", name));
+      }
+      functions.put(name, metadata);
+      invalidateLinks();
+    }
+  }
+
+  /**
+   * Cache results of a function across executions, keyed by argument values. For a function taking
+   * Facts, the values of its declared reads are part of the key, so it must declare them. Every
+   * call path (interpreted, compiled and {@link #invoke}) goes through the cache.
+   *
+   * @param name Function name
+   * @param maximumSize Maximum number of cached results
+   * @param timeToLive Time a result stays valid; {@link Duration#ZERO} for no expiry
+   * @return The cache, for its hit and miss counters
+   * @throws FunctionNotFoundException if function not registered
+   * @throws IllegalArgumentException if the function takes Facts without declared reads
+   * @throws IllegalStateException if results of the function are already cached
+   */
+  public BoundedCache<List<Object>, Object> cacheResults(
+      String name, int maximumSize, Duration timeToLive) {
+    Objects.requireNonNull(name, "Function name cannot be null");
+    synchronized (mutationLock) {
+      FunctionMetadata metadata = getFunction(name);
+
+      if (resultCaches.containsKey(name)) {
+        throw new IllegalStateException(
+            String.format("Results of function '%s' are already cached", name));
+      }
+      checkCacheable(metadata);
+
+      BoundedCache<List<Object>, Object> cache = new BoundedCache<>(maximumSize, timeToLive);
+      functions.put(
+          name,
+          new FunctionMetadata(
+              name,
+              cachingHandle(metadata, cache),
+              metadata.getParameterTypes(),
+              metadata.getReturnType(),
+              metadata.hasFactsParameter(),
+              metadata.isDeterministic(),
+              metadata.isCacheable(),
+              metadata.getReads()));
+      resultCaches.put(name, cache);
+      invalidateLinks();
+      return cache;
     }
-    functions.put(name, metadata);
+  }
+
+  /**
+   * Get the cross-execution result cache of a function.
+   *
+   * @param name Function name
+   * @return The cache, or null if results of the function are not cached
+   */
+  public BoundedCache<List<Object>, Object> getResultCache(String name) {
+    Objects.requireNonNull(name, "Function name cannot be null");
+    return resultCaches.get(name);
   }
 
   /**
@@ -121,12 +238,38 @@ public final class FunctionRegistry {
    */
   public boolean removeFunction(String name) {
     Objects.requireNonNull(name, "Function name cannot be null");
-    return functions.remove(name) != null;
+    synchronized (mutationLock) {
+      if (functions.remove(name) == null) {
+        return false;
+      }
+      resultCaches.remove(name);
+      invalidateLinks();
+      return true;
+    }
   }
 
   /** Clear all registered functions. */
   public void clear() {
-    functions.clear();
+    synchronized (mutationLock) {
+      functions.clear();
+      resultCaches.clear();
+      invalidateLinks();
+    }
+  }
+
+  /**
+   * Get the switch point guarding links to the current set of functions. Call sites read it before
+   * looking up metadata and re-link once it has been invalidated.
+   *
+   * @return Switch point that is invalidated on the next registry change
+   */
+  public SwitchPoint getSwitchPoint() {
+    synchronized (linkLock) {
+      if (switchPoint == null) {
+        switchPoint = new SwitchPoint();
+      }
+      return switchPoint;
+    }
   }
 
   /**
@@ -149,9 +292,81 @@ public final class FunctionRegistry {
     }
   }
 
+  // Called after the change is visible, so sites that re-link see the new functions
+  private void invalidateLinks() {
+    SwitchPoint old;
+    synchronized (linkLock) {
+      old = switchPoint;
+      switchPoint = null;
+    }
+    // Skipped while nothing is linked, e.g. during startup registration
+    if (old != null) {
+      SwitchPoint.invalidateAll(new SwitchPoint[] {old});
+    }
+  }
+
+  private static void checkCacheable(FunctionMetadata metadata) {
+    if (metadata.hasFactsParameter() && metadata.getReads().isEmpty()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Function '%s' takes Facts and must declare its reads to be cached",
+              metadata.getName()));
+    }
+  }
+
   private void validateFunctionName(String name) {
     if (name == null || name.trim().isEmpty()) {
       throw new IllegalArgumentException("Function name cannot be null or empty");
     }
   }
+
+  // Reads are tracked per top-level key, so "cart.total" counts as "cart"
+  private static Set<String> rootsOf(String[] reads) {
+    Set<String> roots = new HashSet<>();
+    for (String read : reads) {
+      int dot = read.indexOf('.');
+      roots.add(dot < 0 ? read : read.substring(0, dot));
+    }
+    return roots;
+  }
+
+  // Same type as the function's own handle, so metadata and call sites are unaffected
+  private static MethodHandle cachingHandle(
+      FunctionMetadata metadata, BoundedCache<List<Object>, Object> cache) {
+    MethodHandle original = metadata.getMethodHandle();
+    MethodHandle target =
+        metadata.getSpreader().asType(MethodType.methodType(Object.class, Object[].class));
+    String[] reads =
+        metadata.hasFactsParameter() ? metadata.getReads().toArray(new String[0]) : null;
+
+    return MethodHandles.insertArguments(INVOKE_CACHED, 0, cache, target, reads)
+        .asCollector(Object[].class, original.type().parameterCount())
+        .asType(original.type());
+  }
+
+  private static Object invokeCached(
+      BoundedCache<List<Object>, Object> cache, MethodHandle target, String[] reads, Object[] args)
+      throws Throwable {
+    List<Object> key = keyOf(reads, args);
+    Object value = cache.get(key);
+    if (value == null) {
+      value = (Object) target.invokeExact(args);
+      cache.put(key, value == null ? NULL_RESULT : value);
+      return value;
+    }
+    return value == NULL_RESULT ? null : value;
+  }
+
+  // An injected Facts is replaced by the values of the declared reads
+  private static List<Object> keyOf(String[] reads, Object[] args) {
+    if (reads == null) {
+      return Arrays.asList(args);
+    }
+    Facts facts = (Facts) args[0];
+    Object[] key = Arrays.copyOfRange(args, 1, args.length + reads.length);
+    for (int i = 0; i < reads.length; i++) {
+      key[args.length - 1 + i] = facts.get(reads[i]);
+    }
+    return Arrays.asList(key);
+  }
 }
@@ -27,4 +27,49 @@ public @interface NomosFunction {
    * @return Function identifier
    */
   String value();
+
+  /**
+   * Whether the function always returns the same result for the same arguments. Calls to
+   * deterministic functions whose arguments are all constants are evaluated once when rules are
+   * loaded. Functions taking Facts are never pre-evaluated.
+   *
+   * @return True if the result depends only on the arguments
+   */
+  boolean deterministic() default false;
+
+  /**
+   * Whether results may be reused within one rule execution. Calls with equal arguments are then
+   * computed once per execution, as long as the facts listed in {@link #reads()} are unchanged. Use
+   * this for functions that are idempotent within a request but expensive, such as pricing
+   * lookups. Deterministic functions are always cacheable.
+   *
+   * @return True if results can be memoized per execution
+   */
+  boolean cacheable() default false;
+
+  /**
+   * Top-level fact keys a function taking Facts reads, e.g. {@code "cart"}. Within one execution a
+   * call shared by several rules is reused until an action writes one of these keys. Empty means
+   * the function may read any fact, so any write invalidates it.
+   *
+   * @return Fact keys read through the Facts parameter
+   */
+  String[] reads() default {};
+
+  /**
+   * Maximum number of results cached across executions, keyed by argument values (and the values
+   * of {@link #reads()} for functions taking Facts). 0 disables the cache. Use this for lookups
+   * whose results may be reused across requests for a while, such as customer tiers.
+   *
+   * @return Cache size, or 0 for no cross-execution cache
+   */
+  int cacheSize() default 0;
+
+  /**
+   * How long a cached result stays valid, in milliseconds. Only used when {@link #cacheSize()} is
+   * positive; 0 means results do not expire.
+   *
+   * @return Time to live in milliseconds
+   */
+  long cacheTtlMillis() default 0;
 }
@@ -1,17 +1,25 @@
 package io.github.shamsu07.nomos.core.loader;
 
+import io.github.shamsu07.nomos.core.action.ActionMetadata;
 import io.github.shamsu07.nomos.core.action.ActionNotFoundException;
 import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.action.AssignmentAction;
+import io.github.shamsu07.nomos.core.action.BoundAction;
 import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
 import io.github.shamsu07.nomos.core.expression.ParseException;
-import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.expression.ReadSets;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.facts.FactSchema;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.rule.Rule;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import org.yaml.snakeyaml.Yaml;
 
 /**
@@ -66,14 +74,24 @@ public final class YAMLRuleLoader {
         return List.of();
       }
 
-      List<Rule> rules = new ArrayList<>(rulesData.size());
+      List<ParsedRule> parsedRules = new ArrayList<>(rulesData.size());
+      List<Expression> conditions = new ArrayList<>(rulesData.size());
       int lineNumber = 1;
 
       for (Map<String, Object> ruleData : rulesData) {
-        rules.add(parseRule(ruleData, lineNumber));
+        ParsedRule parsed = parseRule(ruleData, lineNumber);
+        parsedRules.add(parsed);
+        conditions.add(parsed.condition);
         lineNumber++;
       }
 
+      // Subexpressions used by several rules are computed once per execution
+      List<Expression> sharedConditions = evaluator.shareCommonSubexpressions(conditions);
+
+      List<Rule> rules = new ArrayList<>(parsedRules.size());
+      for (int i = 0; i < parsedRules.size(); i++) {
+        rules.add(buildRule(parsedRules.get(i), sharedConditions.get(i)));
+      }
       return rules;
     } catch (RuleParseException e) {
       throw e;
@@ -82,7 +100,58 @@ public final class YAMLRuleLoader {
     }
   }
 
-  private Rule parseRule(Map<String, Object> ruleData, int lineNumber) {
+  /**
+   * Load a fact schema from YAML. The document lists the declared keys and nested paths under a
+   * top-level {@code facts} key:
+   *
+   * <pre>
+   * facts:
+   *   - user.tier
+   *   - cart.total
+   * </pre>
+   *
+   * @param inputStream YAML input stream
+   * @return Schema with one slot per declared path
+   * @throws RuleParseException if parsing fails
+   */
+  @SuppressWarnings("unchecked")
+  public FactSchema loadSchema(InputStream inputStream) {
+    Objects.requireNonNull(inputStream, "InputStream cannot be null");
+
+    try {
+      Yaml yaml = new Yaml();
+      Map<String, Object> data = yaml.load(inputStream);
+
+      if (data == null || !data.containsKey("facts")) {
+        throw new RuleParseException("YAML must contain 'facts' key");
+      }
+
+      Object facts = data.get("facts");
+      if (facts == null) {
+        return FactSchema.of();
+      }
+      if (!(facts instanceof List)) {
+        throw new RuleParseException("'facts' must be a list of fact paths");
+      }
+
+      List<String> paths = new ArrayList<>();
+      for (Object path : (List<Object>) facts) {
+        if (!(path instanceof String)) {
+          throw new RuleParseException("Fact path must be a string: " + path);
+        }
+        paths.add(((String) path).trim());
+      }
+      return FactSchema.of(paths);
+    } catch (RuleParseException e) {
+      throw e;
+    } catch (IllegalArgumentException e) {
+      throw new RuleParseException(e.getMessage(), e);
+    } catch (Exception e) {
+      throw new RuleParseException("Failed to load YAML fact schema", e);
+    }
+  }
+
+  private ParsedRule parseRule(Map<String, Object> ruleData, int lineNumber) {
     // Extract name
     String name = (String) ruleData.get("name");
     if (name == null || name.trim().isEmpty()) {
@@ -107,9 +176,10 @@ public final class YAMLRuleLoader {
         throw new RuleParseException("Rule 'when' condition is required", name, lineNumber);
       }
 
-      // Validate expression syntax
+      // Parse and optimize once at load time; the AST is evaluated directly on every execution
+      Expression condition;
       try {
-        evaluator.parse(whenExpression);
+        condition = evaluator.optimize(evaluator.parse(whenExpression));
       } catch (ParseException e) {
         throw new RuleParseException(
             "Invalid 'when' expression: " + e.getMessage(), name, lineNumber, e);
@@ -122,30 +192,111 @@ public final class YAMLRuleLoader {
         throw new RuleParseException("Rule must have at least one 'then' action", name, lineNumber);
       }
 
-      // Build rule
+      // Parse actions
+      List<Rule.Action> actions = new ArrayList<>(thenActions.size());
+      for (String actionString : thenActions) {
+        actions.add(parseAction(actionString, name, lineNumber));
+      }
+
+      return new ParsedRule(name, priority, whenExpression, condition, actions, lineNumber);
+    } catch (RuleParseException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuleParseException("Failed to parse rule", name, lineNumber, e);
+    }
+  }
+
+  private Rule buildRule(ParsedRule parsed, Expression sharedCondition) {
+    try {
+      // Evaluate the compiled form; the rule keeps the AST for inspection
+      Expression compiledCondition = evaluator.compile(sharedCondition);
+
       Rule.Builder builder =
           Rule.builder()
-              .name(name)
-              .priority(priority)
-              .when(whenExpression)
+              .name(parsed.name)
+              .priority(parsed.priority)
+              .when(parsed.whenExpression, parsed.condition)
               .when(
                   facts -> {
-                    Object result = evaluator.evaluate(whenExpression, facts);
+                    Object result = evaluator.evaluate(compiledCondition, facts);
                     return Boolean.TRUE.equals(result);
                   });
-
-      // Parse and add actions
-      for (String actionString : thenActions) {
-        Rule.Action action = parseAction(actionString, name, lineNumber);
+      for (Rule.Action action : parsed.actions) {
         builder.then(action);
       }
 
+      // Dependencies for chained and goal-directed execution; unknown ones stay undeclared
+      Set<String> reads = readsOf(parsed.condition, parsed.actions);
+      if (reads != null) {
+        builder.reads(reads.toArray(new String[0]));
+      }
+      Set<String> writes = writesOf(parsed.actions);
+      if (writes != null) {
+        builder.writes(writes.toArray(new String[0]));
+      }
+
       return builder.build();
-    } catch (RuleParseException e) {
-      throw e;
-    } catch (Exception e) {
-      throw new RuleParseException("Failed to parse rule", name, lineNumber, e);
+    } catch (RuntimeException e) {
+      throw new RuleParseException("Failed to parse rule", parsed.name, parsed.lineNumber, e);
+    }
+  }
+
+  // Facts read by the condition and by the values the actions write, or null if any fact
+  private Set<String> readsOf(Expression condition, List<Rule.Action> actions) {
+    Set<String> reads = ReadSets.of(condition, functionRegistry);
+    for (Rule.Action action : actions) {
+      if (reads == null) {
+        return null;
+      }
+      if (action instanceof AssignmentAction) {
+        reads = union(reads, ((AssignmentAction) action).getSource());
+      } else if (action instanceof BoundAction) {
+        BoundAction call = (BoundAction) action;
+        if (call.getMetadata().returnsVoid()) {
+          continue; // Cannot change facts, so its inputs do not matter
+        }
+        if (call.getMetadata().hasFactsParameter()) {
+          return null;
+        }
+        for (Expression argument : call.getArguments()) {
+          reads = reads == null ? null : union(reads, argument);
+        }
+      } else {
+        return null;
+      }
+    }
+    return reads;
+  }
+
+  private Set<String> union(Set<String> reads, Expression expression) {
+    Set<String> more = ReadSets.of(expression, functionRegistry);
+    if (more == null) {
+      return null;
+    }
+    reads.addAll(more);
+    return reads;
+  }
+
+  // Keys the actions write, or null if an action may write any fact
+  private static Set<String> writesOf(List<Rule.Action> actions) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (Rule.Action action : actions) {
+      if (action instanceof AssignmentAction) {
+        keys.add(((AssignmentAction) action).getKey());
+      } else if (action instanceof BoundAction) {
+        ActionMetadata metadata = ((BoundAction) action).getMetadata();
+        if (metadata.returnsVoid()) {
+          continue; // Void actions return the facts they were given
+        }
+        if (metadata.getWrites().isEmpty()) {
+          return null;
+        }
+        keys.addAll(metadata.getWrites());
+      } else {
+        return null;
+      }
     }
+    return keys;
   }
 
   private Rule.Action parseAction(String actionString, String ruleName, int lineNumber) {
@@ -198,124 +349,64 @@ public final class YAMLRuleLoader {
       throw new RuleParseException("Assignment value cannot be empty", ruleName, lineNumber);
     }
 
-    // Validate value expression syntax
+    // Parse value expression once; firing only evaluates the AST
+    Expression value;
     try {
-      evaluator.parse(valueExpression);
+      value = evaluator.optimize(evaluator.parse(valueExpression));
     } catch (ParseException e) {
       throw new RuleParseException(
           "Invalid assignment value expression: " + e.getMessage(), ruleName, lineNumber, e);
     }
 
-    return facts -> {
-      Object value = evaluator.evaluate(valueExpression, facts);
-      return facts.put(key, value);
-    };
+    return new AssignmentAction(key, evaluator.compile(value), value, functionRegistry);
   }
 
   private Rule.Action parseFunctionCall(String actionString, String ruleName, int lineNumber) {
-    // Parse as expression to extract function name and arguments
-    try {
-      // Check if it looks like a function call
-      if (!actionString.contains("(") || !actionString.endsWith(")")) {
-        throw new RuleParseException(
-            "Invalid action syntax. Expected assignment 'key = value' or function call 'func(args)'",
-            ruleName,
-            lineNumber);
-      }
-
-      int openParen = actionString.indexOf("(");
-      String functionName = actionString.substring(0, openParen).trim();
-
-      // Validate function exists in action registry
-      if (!actionRegistry.hasAction(functionName)) {
-        throw new ActionNotFoundException(functionName, ruleName, lineNumber);
-      }
-
-      // Parse arguments by evaluating the full expression
-      // We will extract arguments at runtime from the parsed expression
-      return facts -> {
-        // Parse the action string as an expression to get arguments
-        String argsString = actionString.substring(openParen + 1, actionString.length() - 1).trim();
-
-        if (argsString.isEmpty()) {
-          return actionRegistry.invoke(functionName, facts);
-        }
-
-        // Split arguments by comma (respecting nested parentheses and quotes)
-        List<Object> args = parseArguments(argsString, facts);
-
-        return actionRegistry.invoke(functionName, facts, args.toArray());
-      };
-    } catch (ActionNotFoundException e) {
-      throw e;
-    } catch (RuleParseException e) {
-      throw e;
-    } catch (Exception e) {
+    // Check if it looks like a function call
+    if (!actionString.contains("(") || !actionString.endsWith(")")) {
       throw new RuleParseException(
-          "Failed to parse action function call: " + actionString, ruleName, lineNumber, e);
+          "Invalid action syntax. Expected assignment 'key = value' or function call 'func(args)'",
+          ruleName,
+          lineNumber);
     }
-  }
 
-  private List<Object> parseArguments(String argsString, Facts facts) {
-    List<Object> arguments = new ArrayList<>();
-
-    if (argsString.isEmpty()) {
-      return arguments;
+    // Parse the whole call once so arguments are kept as ASTs
+    Expression parsed;
+    try {
+      parsed = evaluator.parse(actionString);
+    } catch (ParseException e) {
+      throw new RuleParseException(
+          "Invalid action function call: " + e.getMessage(), ruleName, lineNumber, e);
     }
 
-    // Split by comma, respecting nested parentheses, brackets, and quotes
-    List<String> argTokens = splitArguments(argsString);
-
-    for (String arg : argTokens) {
-      arg = arg.trim();
-      // Evaluate each argument as an expression
-      Object value = evaluator.evaluate(arg, facts);
-      arguments.add(value);
+    if (!(parsed instanceof FunctionCallExpression)) {
+      throw new RuleParseException(
+          "Invalid action syntax. Expected assignment 'key = value' or function call 'func(args)'",
+          ruleName,
+          lineNumber);
     }
 
-    return arguments;
-  }
-
-  private List<String> splitArguments(String argsString) {
-    List<String> arguments = new ArrayList<>();
-    StringBuilder current = new StringBuilder();
-    int depth = 0;
-    boolean inString = false;
-    char stringChar = 0;
-
-    for (int i = 0; i < argsString.length(); i++) {
-      char c = argsString.charAt(i);
+    FunctionCallExpression call = (FunctionCallExpression) parsed;
+    String actionName = call.getFunctionName();
 
-      if (inString) {
-        current.append(c);
-        if (c == stringChar && (i == 0 || argsString.charAt(i - 1) != '\\')) {
-          inString = false;
-        }
-      } else {
-        if (c == '"' || c == '\'') {
-          inString = true;
-          stringChar = c;
-          current.append(c);
-        } else if (c == '(' || c == '[') {
-          depth++;
-          current.append(c);
-        } else if (c == ')' || c == ']') {
-          depth--;
-          current.append(c);
-        } else if (c == ',' && depth == 0) {
-          arguments.add(current.toString().trim());
-          current.setLength(0);
-        } else {
-          current.append(c);
-        }
-      }
+    // Validate action exists in action registry and resolve its metadata
+    if (!actionRegistry.hasAction(actionName)) {
+      throw new ActionNotFoundException(actionName, ruleName, lineNumber);
     }
+    BoundAction action = actionRegistry.bind(actionName, call.getArguments(), functionRegistry);
 
-    if (current.length() > 0) {
-      arguments.add(current.toString().trim());
+    ActionMetadata metadata = action.getMetadata();
+    int expected = metadata.getParameterCount() - (metadata.hasFactsParameter() ? 1 : 0);
+    if (call.getArguments().size() != expected) {
+      throw new RuleParseException(
+          String.format(
+              "Action '%s' expects %d argument(s) but got %d",
+              actionName, expected, call.getArguments().size()),
+          ruleName,
+          lineNumber);
     }
 
-    return arguments;
+    return action;
   }
 
   private void validateAssignmentKey(String key, String ruleName, int lineNumber) {
@@ -368,4 +459,29 @@ public final class YAMLRuleLoader {
       }
     }
   }
+
+  /** Rule read from YAML, before conditions are shared across the rule set and compiled. */
+  private static final class ParsedRule {
+    private final String name;
+    private final int priority;
+    private final String whenExpression;
+    private final Expression condition;
+    private final List<Rule.Action> actions;
+    private final int lineNumber;
+
+    ParsedRule(
+        String name,
+        int priority,
+        String whenExpression,
+        Expression condition,
+        List<Rule.Action> actions,
+        int lineNumber) {
+      this.name = name;
+      this.priority = priority;
+      this.whenExpression = whenExpression;
+      this.condition = condition;
+      this.actions = actions;
+      this.lineNumber = lineNumber;
+    }
+  }
 }
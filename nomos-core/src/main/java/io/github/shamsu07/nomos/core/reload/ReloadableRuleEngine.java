@@ -3,6 +3,7 @@ package io.github.shamsu07.nomos.core.reload;
 import io.github.shamsu07.nomos.core.action.ActionRegistry;
 import io.github.shamsu07.nomos.core.engine.RuleEngine;
 import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
@@ -15,6 +16,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -39,11 +41,29 @@ public final class ReloadableRuleEngine implements AutoCloseable {
       ActionRegistry actionRegistry,
       boolean stopOnFirstAppliedRule)
       throws IOException {
+    this(
+        functionRegistry,
+        actionRegistry,
+        stopOnFirstAppliedRule,
+        ExpressionCompiler.interpreter());
+  }
+
+  /**
+   * Create an engine whose loaded conditions and assignment values are compiled.
+   *
+   * @param expressionCompiler Compiler applied to every expression when rules are (re)loaded
+   */
+  public ReloadableRuleEngine(
+      FunctionRegistry functionRegistry,
+      ActionRegistry actionRegistry,
+      boolean stopOnFirstAppliedRule,
+      ExpressionCompiler expressionCompiler)
+      throws IOException {
 
     Objects.requireNonNull(functionRegistry, "FunctionRegistry cannot be null");
     Objects.requireNonNull(actionRegistry, "ActionRegistry cannot be null");
 
-    ExpressionEvaluator evaluator = new ExpressionEvaluator(functionRegistry);
+    ExpressionEvaluator evaluator = new ExpressionEvaluator(functionRegistry, expressionCompiler);
     this.loader = new YAMLRuleLoader(evaluator, functionRegistry, actionRegistry);
     this.engineRef = new AtomicReference<>(new RuleEngine(stopOnFirstAppliedRule));
     this.fileWatcher = new FileWatcher();
@@ -118,9 +138,9 @@ public final class ReloadableRuleEngine implements AutoCloseable {
     try (InputStream inputStream = openRulesInputStream()) {
       List<Rule> rules = loader.load(inputStream);
 
-      // Create new engine with loaded rules
+      // Create new engine with loaded rules (single sorted build)
       RuleEngine newEngine = new RuleEngine(stopOnFirstAppliedRule);
-      rules.forEach(newEngine::addRule);
+      newEngine.replaceAll(rules);
 
       // Atomic swap
       RuleEngine oldEngine = engineRef.getAndSet(newEngine);
@@ -165,6 +185,29 @@ public final class ReloadableRuleEngine implements AutoCloseable {
     return engineRef.get().execute(facts);
   }
 
+  /**
+   * Execute only the rules that can affect the requested facts (delegates to current engine)
+   *
+   * @param facts Input facts
+   * @param requestedOutputs Fact keys read from the result
+   * @return Updated facts after rule execution
+   * @see RuleEngine#execute(Facts, Set)
+   */
+  public Facts execute(Facts facts, Set<String> requestedOutputs) {
+    return engineRef.get().execute(facts, requestedOutputs);
+  }
+
+  /**
+   * Execute rules to a fixpoint (delegates to current engine)
+   *
+   * @param facts Input facts
+   * @return Facts at the fixpoint
+   * @see RuleEngine#executeChained(Facts)
+   */
+  public Facts executeChained(Facts facts) {
+    return engineRef.get().executeChained(facts);
+  }
+
   /**
    * Execute rules with trace (delegates to current engine)
    *
@@ -1,10 +1,14 @@
 package io.github.shamsu07.nomos.core.rule;
 
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.facts.FactsTransaction;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -16,15 +20,21 @@ public final class Rule {
   private final String name;
   private final int priority;
   private final String conditionExpression;
+  private final Expression parsedCondition;
   private final Predicate<Facts> condition;
   private final List<Action> actions;
+  private final Set<String> reads; // Null when unknown
+  private final Set<String> writes; // Null when unknown
 
   private Rule(Builder builder) {
     this.name = builder.name;
     this.priority = builder.priority;
     this.conditionExpression = builder.conditionExpression;
+    this.parsedCondition = builder.parsedCondition;
     this.condition = builder.condition;
     this.actions = Collections.unmodifiableList(new ArrayList<>(builder.actions));
+    this.reads = builder.reads == null ? null : Set.copyOf(builder.reads);
+    this.writes = builder.writes == null ? null : Set.copyOf(builder.writes);
   }
 
   public String getName() {
@@ -39,6 +49,15 @@ public final class Rule {
     return conditionExpression;
   }
 
+  /**
+   * Get the parsed condition AST, if the rule was built from an expression string.
+   *
+   * @return Parsed condition, or null for lambda-only rules
+   */
+  public Expression getParsedCondition() {
+    return parsedCondition;
+  }
+
   /**
    * Evaluate rule condition against facts
    *
@@ -67,10 +86,41 @@ public final class Rule {
     return current;
   }
 
+  /**
+   * Execute all actions for this rule inside an execution transaction.
+   *
+   * @param transaction Working copy the actions write into
+   */
+  public void apply(FactsTransaction transaction) {
+    Objects.requireNonNull(transaction, "Transaction cannot be null");
+    for (Action action : actions) {
+      action.apply(transaction);
+    }
+  }
+
   public List<Action> getActions() {
     return actions;
   }
 
+  /**
+   * Get the top-level facts the rule reads: those its condition reads and those the values written
+   * by its actions are computed from.
+   *
+   * @return Fact roots, or null if the rule may read any fact
+   */
+  public Set<String> getReads() {
+    return reads;
+  }
+
+  /**
+   * Get the top-level facts the actions write.
+   *
+   * @return Fact roots, or null if the actions may write any fact
+   */
+  public Set<String> getWrites() {
+    return writes;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -79,8 +129,11 @@ public final class Rule {
     private String name;
     private int priority = 0;
     private String conditionExpression;
+    private Expression parsedCondition;
     private Predicate<Facts> condition;
     private List<Action> actions = new ArrayList<>();
+    private Set<String> reads;
+    private Set<String> writes;
 
     /** Set rule name (required) */
     public Builder name(String name) {
@@ -100,6 +153,16 @@ public final class Rule {
       return this;
     }
 
+    /**
+     * Set condition as string expression together with its parsed AST (for YAML rules). The AST is
+     * kept so the expression is parsed once at load time, not on every evaluation.
+     */
+    public Builder when(String expression, Expression parsed) {
+      this.conditionExpression = expression;
+      this.parsedCondition = parsed;
+      return this;
+    }
+
     /** Set condition as lambda (for Java DSL). */
     public Builder when(Predicate<Facts> condition) {
       this.condition = condition;
@@ -113,6 +176,24 @@ public final class Rule {
       return this;
     }
 
+    /**
+     * Declare the facts the condition and the written values read, e.g. for a lambda condition.
+     * Nested keys count as their top-level fact. Without a declaration the rule may read any fact.
+     */
+    public Builder reads(String... keys) {
+      this.reads = rootsOf(keys);
+      return this;
+    }
+
+    /**
+     * Declare the facts the actions write. Nested keys count as their top-level fact. Without a
+     * declaration the actions may write any fact.
+     */
+    public Builder writes(String... keys) {
+      this.writes = rootsOf(keys);
+      return this;
+    }
+
     public Rule build() {
       Objects.requireNonNull(name, "Rule name is required");
       if (conditionExpression == null && condition == null) {
@@ -123,6 +204,17 @@ public final class Rule {
       }
       return new Rule(this);
     }
+
+    private static Set<String> rootsOf(String[] keys) {
+      Objects.requireNonNull(keys, "Keys cannot be null");
+      Set<String> roots = new HashSet<>();
+      for (String key : keys) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        int dot = key.indexOf('.');
+        roots.add(dot < 0 ? key : key.substring(0, dot));
+      }
+      return roots;
+    }
   }
 
   /** Functional interface for rule actions. */
@@ -135,5 +227,20 @@ public final class Rule {
      * @return Updated facts
      */
     Facts execute(Facts facts);
+
+    /**
+     * Apply action inside an execution transaction. The default runs {@link #execute} against a
+     * snapshot and adopts the result. Actions that only write facts can override this to write
+     * into the transaction directly.
+     *
+     * @param transaction Working copy of the current facts
+     */
+    default void apply(FactsTransaction transaction) {
+      Facts before = transaction.snapshot();
+      Facts after = execute(before);
+      if (after != before) {
+        transaction.reset(after);
+      }
+    }
   }
 }
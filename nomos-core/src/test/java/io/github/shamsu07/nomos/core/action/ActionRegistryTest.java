@@ -6,7 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -171,6 +175,40 @@ class ActionRegistryTest {
     assertFalse(metadata2.hasFactsParameter());
   }
 
+  @Test
+  void should_evaluateArguments_when_boundActionExecuted() {
+    TestActions actions = new TestActions();
+    registry.registerActionsFrom(actions);
+
+    BoundAction action =
+        registry.bind(
+            "sendEmail",
+            List.of(new VariableExpression("user.email"), new LiteralExpression("Hello")),
+            new FunctionRegistry());
+    action.execute(new Facts().put("user.email", "a@example.com"));
+
+    assertEquals("a@example.com", actions.lastEmailRecipient);
+    assertEquals("Hello", actions.lastEmailMessage);
+  }
+
+  @Test
+  void should_injectFacts_when_boundActionHasFactsParameter() {
+    registry.registerActionsFrom(new TestActions());
+
+    BoundAction action =
+        registry.bind("setDiscount", List.of(new LiteralExpression(15.0)), new FunctionRegistry());
+    Facts result = action.execute(new Facts());
+
+    assertEquals(15.0, result.get("discount"));
+  }
+
+  @Test
+  void should_throwException_when_bindingUnknownAction() {
+    assertThrows(
+        ActionNotFoundException.class,
+        () -> registry.bind("missing", List.of(), new FunctionRegistry()));
+  }
+
   static class TestActions {
 
     String lastLoggedEvent;
@@ -0,0 +1,154 @@
+package io.github.shamsu07.nomos.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  private final AtomicLong time = new AtomicLong();
+
+  @Test
+  void should_returnValue_when_keyStored() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ZERO);
+
+    assertNull(cache.get("a"));
+    cache.put("a", 1);
+
+    assertEquals(1, cache.get("a"));
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void should_reportHitRate_when_lookedUp() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ZERO);
+    assertEquals(0.0, cache.hitRate());
+
+    cache.put("a", 1);
+    cache.get("a");
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    assertEquals(0.75, cache.hitRate());
+  }
+
+  @Test
+  void should_throwException_when_valueNull() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ZERO);
+
+    assertThrows(NullPointerException.class, () -> cache.put("a", null));
+  }
+
+  @Test
+  void should_miss_when_entryExpired() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ofSeconds(5));
+    cache.put("a", 1);
+
+    time.addAndGet(Duration.ofSeconds(4).toNanos());
+    assertEquals(1, cache.get("a"));
+
+    time.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  void should_replaceEntry_when_storedAgain() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ZERO);
+
+    cache.put("a", 1);
+    cache.put("a", 2);
+
+    assertEquals(2, cache.get("a"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void should_keepQueuesBounded_when_sameKeyStoredRepeatedly() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ofSeconds(1));
+
+    for (int i = 0; i < 100_000; i++) {
+      assertNull(cache.get("a"));
+      cache.put("a", i);
+      time.addAndGet(Duration.ofSeconds(1).toNanos()); // Expires before the next lookup
+    }
+    cache.put("a", -1);
+
+    assertEquals(1, cache.size());
+    assertEquals(-1, cache.get("a"));
+    assertTrue(cache.queuedCount() <= 2 * 100 + 1, "queued " + cache.queuedCount());
+  }
+
+  @Test
+  void should_stayWithinMaximumSize_when_manyKeysStored() {
+    BoundedCache<Object, Integer> cache = cache(64, Duration.ZERO);
+
+    for (int i = 0; i < 1_000; i++) {
+      cache.put(i, i);
+    }
+
+    assertTrue(cache.size() <= 64, "size was " + cache.size());
+    assertEquals(1_000 - cache.size(), cache.evictionCount());
+  }
+
+  @Test
+  void should_keepFrequentlyReadEntries_when_oneOffKeysStream() {
+    BoundedCache<Object, Integer> cache = cache(10, Duration.ZERO);
+    for (int i = 0; i < 5; i++) {
+      cache.put("hot" + i, i);
+      cache.get("hot" + i);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      cache.put("once" + i, i);
+    }
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, cache.get("hot" + i));
+    }
+    assertNull(cache.get("once0"));
+  }
+
+  @Test
+  void should_evictExpiredFirst_when_full() {
+    BoundedCache<Object, Integer> cache = cache(2, Duration.ofSeconds(1));
+    cache.put("old", 1);
+    cache.get("old");
+    time.addAndGet(Duration.ofSeconds(2).toNanos());
+
+    cache.put("a", 2);
+    cache.put("b", 3);
+
+    assertEquals(2, cache.get("a"));
+    assertEquals(3, cache.get("b"));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void should_removeEntries_when_invalidateAll() {
+    BoundedCache<Object, Integer> cache = cache(100, Duration.ZERO);
+    cache.put("a", 1);
+
+    cache.invalidateAll();
+
+    assertEquals(0, cache.size());
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  void should_throwException_when_sizeNotPositive() {
+    assertThrows(IllegalArgumentException.class, () -> cache(0, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> cache(10, Duration.ofSeconds(-1)));
+  }
+
+  private BoundedCache<Object, Integer> cache(int maximumSize, Duration timeToLive) {
+    return new BoundedCache<>(maximumSize, timeToLive, time::get);
+  }
+}
@@ -3,11 +3,21 @@ package io.github.shamsu07.nomos.core.engine;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.rule.Rule;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -174,6 +184,357 @@ class RuleEngineTest {
     assertEquals("Match", result.getFiredRules().get(0));
   }
 
+  @Test
+  void should_notBlockRuleChanges_when_executionInProgress() throws Exception {
+    CountDownLatch evaluating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    engine.addRule(
+        Rule.builder()
+            .name("Slow")
+            .when(
+                facts -> {
+                  evaluating.countDown();
+                  try {
+                    return release.await(5, TimeUnit.SECONDS);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                  }
+                })
+            .then(facts -> facts.put("slow", true))
+            .build());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Facts> running = executor.submit(() -> engine.execute(new Facts()));
+      assertTrue(evaluating.await(5, TimeUnit.SECONDS));
+
+      // Writers swap snapshots without waiting for the running execution
+      engine.addRule(
+          Rule.builder().name("Added").when(facts -> true).then(facts -> facts).build());
+      assertTrue(engine.removeRule("Added"));
+      engine.clearRules();
+
+      release.countDown();
+      Facts result = running.get(5, TimeUnit.SECONDS);
+      // The running execution keeps the snapshot it started with
+      assertEquals(true, result.get("slow"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void should_returnUnmodifiableSnapshot_when_getRulesCalled() {
+    engine.addRule(Rule.builder().name("R1").when(facts -> true).then(facts -> facts).build());
+    List<Rule> snapshot = engine.getRules();
+    engine.clearRules();
+
+    assertEquals(1, snapshot.size());
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+  }
+
+  @Test
+  void should_keepPriorityAndInsertionOrder_when_addRulesCalled() {
+    engine.addRule(rule("Existing", 50));
+    engine.addRules(List.of(rule("Low", 10), rule("High", 100), rule("Tie", 50)));
+
+    assertEquals(
+        List.of("High", "Existing", "Tie", "Low"),
+        engine.getRules().stream().map(Rule::getName).toList());
+  }
+
+  @Test
+  void should_replaceExistingRule_when_upsertRuleCalled() {
+    engine.addRule(rule("A", 10));
+    engine.addRule(rule("B", 20));
+
+    assertTrue(engine.upsertRule(rule("A", 30)));
+    assertFalse(engine.upsertRule(rule("C", 0)));
+
+    assertEquals(List.of("A", "B", "C"), engine.getRules().stream().map(Rule::getName).toList());
+    assertEquals(30, engine.getRules().get(0).getPriority());
+  }
+
+  @Test
+  void should_swapAllRules_when_replaceAllCalled() {
+    engine.addRule(rule("Old", 10));
+    engine.replaceAll(List.of(rule("New1", 1), rule("New2", 2)));
+
+    assertFalse(engine.hasRule("Old"));
+    assertTrue(engine.hasRule("New1"));
+    assertEquals(List.of("New2", "New1"), engine.getRules().stream().map(Rule::getName).toList());
+  }
+
+  @Test
+  void should_removeAllRulesWithName_when_duplicateNames() {
+    engine.addRules(List.of(rule("Dup", 10), rule("Other", 5), rule("Dup", 1)));
+
+    assertTrue(engine.removeRule("Dup"));
+    assertFalse(engine.hasRule("Dup"));
+    assertEquals(List.of("Other"), engine.getRules().stream().map(Rule::getName).toList());
+  }
+
+  @Test
+  void should_throwException_when_nullRuleInBatch() {
+    List<Rule> rules = new ArrayList<>();
+    rules.add(null);
+    assertThrows(NullPointerException.class, () -> engine.addRules(rules));
+    assertThrows(NullPointerException.class, () -> engine.replaceAll(rules));
+  }
+
+  @Test
+  void should_leaveInputUnchanged_when_rulesFire() {
+    engine.addRule(
+        Rule.builder()
+            .name("First")
+            .priority(10)
+            .when(f -> true)
+            .then(f -> f.put("a", 1))
+            .then(f -> f.put("b", f.get("a", Integer.class) + 1))
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Second")
+            .priority(5)
+            .when(f -> f.contains("b"))
+            .then(f -> f.put("c", 3))
+            .build());
+
+    Facts input = new Facts().put("x", 0);
+    Facts result = engine.execute(input);
+
+    assertEquals(1, result.get("a"));
+    assertEquals(2, result.get("b"));
+    assertEquals(3, result.get("c"));
+    assertNull(input.get("a"));
+  }
+
+  @Test
+  void should_returnInputFacts_when_actionsChangeNothing() {
+    engine.addRule(rule("Identity", 1));
+    Facts input = new Facts().put("x", 0);
+    assertSame(input, engine.execute(input));
+  }
+
+  @Test
+  void should_fireEarlierRule_when_laterRuleMakesItTrue() {
+    engine.addRule(
+        Rule.builder()
+            .name("Gold")
+            .priority(2)
+            .when(facts -> facts.get("points", Integer.class) >= 100)
+            .reads("points")
+            .then(facts -> facts.put("tier", "GOLD"))
+            .writes("tier")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Bonus")
+            .priority(1)
+            .when(facts -> true)
+            .reads()
+            .then(facts -> facts.put("points", facts.get("points", Integer.class) + 100))
+            .writes("points")
+            .build());
+    Facts input = new Facts().put("points", 20);
+
+    assertNull(engine.execute(input).get("tier"));
+    Facts result = engine.executeChained(input);
+    assertEquals("GOLD", result.get("tier"));
+    assertEquals(120, result.get("points"));
+  }
+
+  @Test
+  void should_reevaluateOnlyReaders_when_ruleChangesFact() {
+    int[] evaluations = new int[2];
+    engine.addRule(
+        Rule.builder()
+            .name("Reads a")
+            .priority(3)
+            .when(facts -> ++evaluations[0] > 0 && facts.contains("a"))
+            .reads("a")
+            .then(facts -> facts.put("seenA", true))
+            .writes("seenA")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Reads b")
+            .priority(2)
+            .when(facts -> ++evaluations[1] > 0 && facts.contains("b"))
+            .reads("b")
+            .then(facts -> facts.put("seenB", true))
+            .writes("seenB")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Writes a")
+            .priority(1)
+            .when(facts -> true)
+            .reads()
+            .then(facts -> facts.put("a", 1))
+            .writes("a")
+            .build());
+
+    Facts result = engine.executeChained(new Facts());
+
+    assertEquals(true, result.get("seenA"));
+    assertNull(result.get("seenB"));
+    assertEquals(2, evaluations[0]);
+    assertEquals(1, evaluations[1]);
+  }
+
+  @Test
+  void should_stopAtFixpoint_when_ruleReadsWhatItWrites() {
+    engine.addRule(
+        Rule.builder()
+            .name("Count")
+            .when(facts -> facts.get("count", Integer.class) < 10)
+            .reads("count")
+            .then(facts -> facts.put("count", facts.get("count", Integer.class) + 1))
+            .writes("count")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Flag")
+            .when(facts -> facts.get("count", Integer.class) >= 0)
+            .reads("count")
+            .then(facts -> facts.put("flag", true))
+            .writes("flag")
+            .build());
+
+    Facts result = engine.executeChained(new Facts().put("count", 0));
+
+    assertEquals(10, result.get("count"));
+    assertEquals(true, result.get("flag"));
+  }
+
+  @Test
+  void should_throwException_when_chainingExceedsMaxFirings() {
+    engine.addRule(
+        Rule.builder()
+            .name("Forever")
+            .when(facts -> true)
+            .reads("count")
+            .then(facts -> facts.put("count", facts.get("count", Integer.class) + 1))
+            .writes("count")
+            .build());
+
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> engine.executeChained(new Facts().put("count", 0), 50));
+    assertTrue(exception.getMessage().contains("50 firings"));
+  }
+
+  @Test
+  void should_wakeUndeclaredRule_when_otherRuleChangesFacts() {
+    engine.addRule(
+        Rule.builder()
+            .name("Counter")
+            .priority(2)
+            .when(facts -> facts.get("count", Integer.class) < 3)
+            .then(facts -> facts.put("count", facts.get("count", Integer.class) + 1))
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Echo")
+            .priority(1)
+            .when(facts -> true)
+            .reads("count")
+            .then(facts -> facts.put("echo", facts.get("count")))
+            .writes("echo")
+            .build());
+
+    Facts result = engine.executeChained(new Facts().put("count", 0));
+
+    // Counter is not woken by its own write, only by Echo's
+    assertEquals(3, result.get("count"));
+    assertEquals(3, result.get("echo"));
+  }
+
+  @Test
+  void should_executeOnlyProducers_when_outputsRequested() {
+    int[] shippingEvaluations = new int[1];
+    engine.addRule(
+        Rule.builder()
+            .name("Tier")
+            .priority(3)
+            .when(facts -> facts.get("points", Integer.class) > 100)
+            .reads("points")
+            .then(facts -> facts.put("tier", "GOLD"))
+            .writes("tier")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Discount")
+            .priority(2)
+            .when(facts -> "GOLD".equals(facts.get("tier")))
+            .reads("tier")
+            .then(facts -> facts.put("discount.percent", 10))
+            .writes("discount.percent")
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Shipping")
+            .priority(1)
+            .when(facts -> ++shippingEvaluations[0] > 0)
+            .reads()
+            .then(facts -> facts.put("shipping", 0))
+            .writes("shipping")
+            .build());
+
+    Facts result = engine.execute(new Facts().put("points", 200), Set.of("discount.percent"));
+
+    assertEquals(10, result.get("discount.percent"));
+    assertNull(result.get("shipping"));
+    assertEquals(0, shippingEvaluations[0]);
+  }
+
+  @Test
+  void should_executeRuleWithUnknownWrites_when_outputsRequested() {
+    engine.addRule(
+        Rule.builder()
+            .name("Undeclared")
+            .when(facts -> true)
+            .reads()
+            .then(facts -> facts.put("discount", 5))
+            .build());
+    engine.addRule(
+        Rule.builder()
+            .name("Unrelated")
+            .when(facts -> true)
+            .reads()
+            .then(facts -> facts.put("shipping", 0))
+            .writes("shipping")
+            .build());
+
+    Facts result = engine.execute(new Facts(), Set.of("discount"));
+
+    assertEquals(5, result.get("discount"));
+    assertNull(result.get("shipping"));
+  }
+
+  @Test
+  void should_reusePlan_when_sameOutputsRequested() {
+    Rule discount =
+        Rule.builder()
+            .name("Discount")
+            .when(facts -> true)
+            .reads()
+            .then(facts -> facts.put("discount", 5))
+            .writes("discount")
+            .build();
+    RuleSnapshot snapshot = RuleSnapshot.of(List.of(discount));
+
+    RuleSnapshot plan = snapshot.forOutputs(Set.of("discount.percent"));
+
+    assertEquals(1, plan.size());
+    assertSame(plan, snapshot.forOutputs(new HashSet<>(List.of("discount.percent"))));
+    assertEquals(0, snapshot.forOutputs(Set.of("shipping")).size());
+    assertEquals(2, snapshot.with(discount).forOutputs(Set.of("discount.percent")).size());
+  }
+
   @Test
   void should_throwException_when_nullFactsPassedToExecute() {
     assertThrows(NullPointerException.class, () -> engine.execute(null));
@@ -193,4 +554,8 @@ class RuleEngineTest {
   void should_throwException_when_nullNamePassedToRemove() {
     assertThrows(NullPointerException.class, () -> engine.removeRule(null));
   }
+
+  private static Rule rule(String name, int priority) {
+    return Rule.builder().name(name).priority(priority).when(facts -> true).then(f -> f).build();
+  }
 }
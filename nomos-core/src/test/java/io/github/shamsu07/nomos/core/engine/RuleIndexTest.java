@@ -0,0 +1,219 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RuleIndexTest {
+
+  private FunctionRegistry functionRegistry;
+  private ProbeFunctions functions;
+  private YAMLRuleLoader loader;
+  private RuleEngine engine;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functions = new ProbeFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
+    loader =
+        new YAMLRuleLoader(
+            new ExpressionEvaluator(functionRegistry), functionRegistry, new ActionRegistry());
+    engine = new RuleEngine();
+  }
+
+  @Test
+  void should_evaluateOnlyMatchingRules_when_conditionsStartWithEqualityGuards() {
+    engine.addRules(
+        load(
+            rule("US", 3, "country == \"US\" && probe()", "discount = 10"),
+            rule("DE", 2, "country == \"DE\" && probe()", "discount = 20"),
+            rule("FR", 1, "\"FR\" == country && probe()", "discount = 30")));
+
+    Facts result = engine.execute(new Facts().put("country", "DE"));
+
+    assertEquals(20.0, result.get("discount"));
+    assertEquals(1, functions.probeCalls);
+  }
+
+  @Test
+  void should_matchAllGuards_when_ruleGuardsSeveralVariables() {
+    engine.addRules(
+        load(
+            rule("US web", 4, "country == \"US\" && channel == \"WEB\" && probe()", "a = 1"),
+            rule("US app", 3, "channel == \"APP\" && country == \"US\" && probe()", "b = 1"),
+            rule("DE web", 2, "country == \"DE\" && channel == \"WEB\" && probe()", "c = 1")));
+
+    Facts result = engine.execute(new Facts().put("country", "US").put("channel", "APP"));
+
+    assertEquals(1.0, result.get("b"));
+    assertEquals(1, functions.probeCalls);
+    assertEquals(1, RuleIndex.build(engine.getRules().toArray(new Rule[0])).partitionCount());
+  }
+
+  @Test
+  void should_fireInPriorityOrder_when_indexedAndUnindexedRulesMix() {
+    engine.addRules(
+        load(
+            rule("Low", 1, "country == \"US\"", "low = true"),
+            rule("Any", 2, "probe()", "any = true"),
+            rule("High", 3, "country == \"US\"", "high = true"),
+            rule("Other", 4, "country == \"DE\"", "other = true")));
+
+    List<String> fired = engine.executeWithTrace(new Facts().put("country", "US")).getFiredRules();
+
+    assertEquals(List.of("High", "Any", "Low"), fired);
+  }
+
+  @Test
+  void should_selectAgain_when_actionChangesGuardedFact() {
+    engine.addRules(
+        load(
+            rule("Relocate", 3, "country == \"US\"", "country = \"DE\""),
+            rule("US", 2, "country == \"US\"", "us = true"),
+            rule("DE", 1, "country == \"DE\"", "de = true")));
+
+    Facts result = engine.execute(new Facts().put("country", "US"));
+
+    assertEquals(true, result.get("de"));
+    assertEquals(null, result.get("us"));
+  }
+
+  @Test
+  void should_evaluateRule_when_guardFollowsOtherConjunct() {
+    engine.addRules(load(rule("US", 1, "probe() && country == \"US\"", "discount = 10")));
+
+    engine.execute(new Facts().put("country", "DE"));
+
+    assertEquals(1, functions.probeCalls);
+  }
+
+  @Test
+  void should_matchEqualitySemantics_when_valueTypesDiffer() {
+    engine.addRules(
+        load(
+            rule("Number", 3, "count == 1", "number = true"),
+            rule("Missing", 2, "coupon == null", "missing = true"),
+            rule("Flag", 1, "vip == true", "flag = true")));
+
+    Facts result = engine.execute(new Facts().put("count", 1).put("vip", true));
+
+    assertEquals(true, result.get("number")); // Integer 1 equals the literal 1.0 by value
+    assertEquals(true, result.get("missing"));
+    assertEquals(true, result.get("flag"));
+  }
+
+  @Test
+  void should_evaluateRules_when_valueIsNotPlainJdkValue() {
+    engine.addRules(load(rule("Tier", 1, "tier == \"GOLD\" && probe()", "discount = 10")));
+
+    Facts result = engine.execute(new Facts().put("tier", new Tier("GOLD")));
+
+    assertEquals(10.0, result.get("discount"));
+    assertEquals(1, functions.probeCalls);
+  }
+
+  @Test
+  void should_evaluateOnlyMatchingTiers_when_conditionsStartWithThresholds() {
+    engine.addRules(
+        load(
+            rule("Gold", 4, "balance >= 1000 && probe()", "gold = true"),
+            rule("Silver", 3, "balance >= 100 && balance < 1000 && probe()", "silver = true"),
+            rule("Bronze", 2, "10 < balance && balance <= 100 && probe()", "bronze = true"),
+            rule("None", 1, "balance <= 10 && probe()", "none = true")));
+
+    Facts result = engine.execute(new Facts().put("balance", 100));
+
+    assertEquals(true, result.get("silver"));
+    assertEquals(1, functions.probeCalls);
+    assertEquals(1, RuleIndex.build(engine.getRules().toArray(new Rule[0])).partitionCount());
+  }
+
+  @Test
+  void should_matchBounds_when_valueIsOnThreshold() {
+    engine.addRules(
+        load(
+            rule("Adult", 3, "age >= 18 && age < 65", "adult = true"),
+            rule("Senior", 2, "age >= 65", "senior = true"),
+            rule("Empty", 1, "age > 70 && age < 60 && probe()", "empty = true")));
+
+    assertEquals(true, engine.execute(new Facts().put("age", 18L)).get("adult"));
+    assertEquals(true, engine.execute(new Facts().put("age", 65.0)).get("senior"));
+    assertEquals(null, engine.execute(new Facts().put("age", 64.5f)).get("senior"));
+    assertEquals(0, functions.probeCalls);
+  }
+
+  @Test
+  void should_evaluateRules_when_thresholdValueIsNotNumber() {
+    engine.addRules(load(rule("Rich", 1, "balance > 100 && probe()", "rich = true")));
+
+    assertThrows(RuntimeException.class, () -> engine.execute(new Facts().put("balance", "poor")));
+    assertThrows(RuntimeException.class, () -> engine.execute(new Facts()));
+  }
+
+  @Test
+  void should_selectAgain_when_actionChangesThresholdFact() {
+    engine.addRules(
+        load(
+            rule("Bonus", 3, "balance < 100", "balance = 500"),
+            rule("Small", 2, "balance < 100", "small = true"),
+            rule("Large", 1, "balance >= 100", "large = true")));
+
+    Facts result = engine.execute(new Facts().put("balance", 50.0));
+
+    assertEquals(true, result.get("large"));
+    assertEquals(null, result.get("small"));
+  }
+
+  private List<Rule> load(String... rules) {
+    String yaml = "rules:\n" + String.join("", rules);
+    return loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String rule(String name, int priority, String when, String action) {
+    return String.format(
+        "  - name: \"%s\"\n    priority: %d\n    when: '%s'\n    then:\n      - %s\n",
+        name, priority, when, action);
+  }
+
+  // Equal to its name, as a custom fact type may be
+  static final class Tier {
+    private final String name;
+
+    Tier(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return name.equals(obj) || (obj instanceof Tier && name.equals(((Tier) obj).name));
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * name.hashCode();
+    }
+  }
+
+  public static class ProbeFunctions {
+    int probeCalls;
+
+    @NomosFunction("probe")
+    public boolean probe() {
+      probeCalls++;
+      return true;
+    }
+  }
+}
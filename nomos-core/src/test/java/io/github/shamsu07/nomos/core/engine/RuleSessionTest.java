@@ -0,0 +1,222 @@
+package io.github.shamsu07.nomos.core.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import io.github.shamsu07.nomos.core.rule.Rule;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RuleSessionTest {
+
+  private FunctionRegistry functionRegistry;
+  private ProbeFunctions functions;
+  private YAMLRuleLoader loader;
+  private RuleEngine engine;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functions = new ProbeFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
+    loader =
+        new YAMLRuleLoader(
+            new ExpressionEvaluator(functionRegistry), functionRegistry, new ActionRegistry());
+    engine = new RuleEngine();
+  }
+
+  @Test
+  void should_fireMatchingRules_when_fireAllRulesCalled() {
+    engine.addRules(
+        load(
+            rule("VIP", 2, "user.vip == true", "discount = 10"),
+            rule("Big cart", 1, "cart.total > 100", "shipping = 0")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("user.vip", true);
+    session.insert("cart.total", 50.0);
+
+    assertEquals(1, session.fireAllRules());
+    assertEquals(10.0, session.getFacts().get("discount"));
+    assertNull(session.getFacts().get("shipping"));
+    assertEquals(0, session.getAgendaSize());
+  }
+
+  @Test
+  void should_notFireAgain_when_factsUnchanged() {
+    engine.addRules(load(rule("Big cart", 1, "cart.total > 100", "shipping = 0")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("cart.total", 150.0);
+
+    assertEquals(1, session.fireAllRules());
+    assertEquals(0, session.fireAllRules());
+  }
+
+  @Test
+  void should_reevaluate_when_sameInstanceUpdatedAfterInPlaceChange() {
+    engine.addRules(load(rule("Big order", 1, "order.total > 100", "shipping = 0")));
+    RuleSession session = engine.newSession(functionRegistry);
+    Order order = new Order(10.0);
+    session.insert("order", order);
+    assertEquals(0, session.fireAllRules());
+
+    order.setTotal(500.0);
+    session.update("order", order);
+
+    assertEquals(1, session.getAgendaSize());
+    assertEquals(1, session.fireAllRules());
+    assertEquals(0.0, session.getFacts().get("shipping"));
+  }
+
+  @Test
+  void should_evaluateOnlyDependentRules_when_factUpdated() {
+    engine.addRules(
+        load(
+            rule("Cart", 2, "probe(cart.total) > 100", "shipping = 0"),
+            rule("User", 1, "probe(user.points) > 100", "gift = true")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("cart.total", 50.0);
+    session.insert("user.points", 50.0);
+    session.fireAllRules();
+    functions.probeCalls = 0;
+
+    session.update("cart.total", 150.0);
+
+    assertEquals(1, session.fireAllRules());
+    assertEquals(1, functions.probeCalls);
+    assertEquals(0.0, session.getFacts().get("shipping"));
+  }
+
+  @Test
+  void should_rejectWithoutEvaluating_when_alphaTestRemembersFalse() {
+    engine.addRules(load(rule("US", 1, "country == \"US\" && probe(total) > 100", "a = 1")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("country", "DE");
+    session.insert("total", 50.0);
+    session.fireAllRules();
+
+    session.update("total", 150.0);
+    session.fireAllRules();
+
+    assertEquals(0, functions.probeCalls);
+  }
+
+  @Test
+  void should_fireHigherPriorityRule_when_lowerRuleActivatesIt() {
+    engine.addRules(
+        load(
+            rule("Gold", 2, "points >= 100", "tier = \"GOLD\""),
+            rule("Bonus", 1, "bonus == true", "points = points + 100")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("points", 20.0);
+    session.insert("bonus", true);
+
+    assertEquals(2, session.fireAllRules());
+    assertEquals("GOLD", session.getFacts().get("tier"));
+  }
+
+  @Test
+  void should_matchAgain_when_factRetracted() {
+    engine.addRules(load(rule("No coupon", 1, "coupon == null", "reminder = true")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("coupon", "SAVE10");
+    assertEquals(0, session.fireAllRules());
+
+    assertTrue(session.retract("coupon"));
+    assertFalse(session.retract("coupon"));
+
+    assertEquals(1, session.fireAllRules());
+    assertEquals(true, session.getFacts().get("reminder"));
+  }
+
+  @Test
+  void should_stopAtLimit_when_ruleKeepsReactivatingItself() {
+    engine.addRules(load(rule("Count", 1, "count < 100", "count = count + 1")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("count", 0.0);
+
+    assertEquals(10, session.fireAllRules(10));
+    assertEquals(10.0, session.getFacts().get("count"));
+    assertEquals(90, session.fireAllRules());
+    assertEquals(100.0, session.getFacts().get("count"));
+  }
+
+  @Test
+  void should_keepRuleOnAgenda_when_conditionFails() {
+    engine.addRules(load(rule("Rich", 1, "balance > 100", "rich = true")));
+    RuleSession session = engine.newSession(functionRegistry);
+    session.insert("balance", "poor");
+
+    assertThrows(RuntimeException.class, session::fireAllRules);
+    assertEquals(1, session.getAgendaSize());
+
+    session.update("balance", 150.0);
+    assertEquals(1, session.fireAllRules());
+  }
+
+  @Test
+  void should_reevaluateLambdaRule_when_anyFactChanges() {
+    engine.addRule(
+        Rule.builder()
+            .name("Lambda")
+            .when(facts -> facts.contains("a") && facts.contains("b"))
+            .then(facts -> facts.put("both", true))
+            .build());
+    RuleSession session = engine.newSession();
+    session.insert("a", 1);
+    assertEquals(0, session.fireAllRules());
+
+    session.insert("b", 2);
+
+    assertEquals(1, session.fireAllRules());
+    assertThrows(IllegalArgumentException.class, () -> session.insert("b", 3));
+    assertThrows(IllegalArgumentException.class, () -> session.update("c", 3));
+  }
+
+  private List<Rule> load(String... rules) {
+    String yaml = "rules:\n" + String.join("", rules);
+    return loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String rule(String name, int priority, String when, String action) {
+    return String.format(
+        "  - name: \"%s\"\n    priority: %d\n    when: '%s'\n    then:\n      - %s\n",
+        name, priority, when, action);
+  }
+
+  public static class Order {
+    private double total;
+
+    Order(double total) {
+      this.total = total;
+    }
+
+    public double getTotal() {
+      return total;
+    }
+
+    public void setTotal(double total) {
+      this.total = total;
+    }
+  }
+
+  public static class ProbeFunctions {
+    int probeCalls;
+
+    @NomosFunction("probe")
+    public double probe(double value) {
+      probeCalls++;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.engine.RuleEngine;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.SharedExpression;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import io.github.shamsu07.nomos.core.loader.YAMLRuleLoader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CommonSubexpressionEliminatorTest {
+
+  private FunctionRegistry functionRegistry;
+  private ExpressionEvaluator evaluator;
+  private CommonSubexpressionEliminator eliminator;
+  private TestFunctions functions;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functions = new TestFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
+    evaluator = new ExpressionEvaluator(functionRegistry);
+    eliminator =
+        new CommonSubexpressionEliminator(functionRegistry, ExpressionCompiler.interpreter());
+  }
+
+  @Test
+  void should_shareOneNode_when_subexpressionOccursInSeveralExpressions() {
+    List<Expression> shared =
+        eliminate("cartTotal() > 100 && vip", "cartTotal() > 50", "cartTotal() > 30");
+
+    Expression first = ((BinaryExpression) ((BinaryExpression) shared.get(0)).getLeft()).getLeft();
+    Expression second = ((BinaryExpression) shared.get(1)).getLeft();
+    Expression third = ((BinaryExpression) shared.get(2)).getLeft();
+    assertInstanceOf(SharedExpression.class, first);
+    assertSame(first, second);
+    assertSame(first, third);
+  }
+
+  @Test
+  void should_keepExpression_when_nothingIsShared() {
+    Expression condition = evaluator.parse("cartTotal() > 100");
+    Expression other = evaluator.parse("age > 18");
+
+    List<Expression> shared = eliminator.eliminate(List.of(condition, other));
+
+    assertSame(condition, shared.get(0));
+    assertSame(other, shared.get(1));
+  }
+
+  @Test
+  void should_shareOutermostOnly_when_innerOccursNowhereElse() {
+    List<Expression> shared = eliminate("cartTotal() > 100", "cartTotal() > 100");
+
+    SharedExpression node = assertInstanceOf(SharedExpression.class, shared.get(0));
+    assertSame(node, shared.get(1));
+    BinaryExpression body = (BinaryExpression) node.getDelegate();
+    assertInstanceOf(FunctionCallExpression.class, body.getLeft());
+  }
+
+  @Test
+  void should_notShare_when_variableOrLiteral() {
+    Expression condition = evaluator.parse("age > 18 && age < 65");
+
+    List<Expression> shared = eliminator.eliminate(List.of(condition, evaluator.parse("age")));
+
+    assertSame(condition, shared.get(0));
+  }
+
+  @Test
+  void should_computeOnce_when_evaluatedInsideExecution() {
+    List<Expression> shared =
+        eliminate("cartTotal() > 100", "cartTotal() > 50", "cartTotal() > 30");
+    Facts facts = new Facts().put("cart", 80.0);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(false, shared.get(0).evaluate(facts, functionRegistry));
+      assertEquals(true, shared.get(1).evaluate(facts, functionRegistry));
+      assertEquals(true, shared.get(2).evaluate(facts, functionRegistry));
+    }
+
+    assertEquals(1, functions.cartTotalCalls);
+  }
+
+  @Test
+  void should_computeEachTime_when_noExecutionIsOpen() {
+    List<Expression> shared = eliminate("cartTotal() > 100", "cartTotal() > 50");
+    Facts facts = new Facts().put("cart", 80.0);
+
+    shared.get(0).evaluate(facts, functionRegistry);
+    shared.get(1).evaluate(facts, functionRegistry);
+
+    assertNull(EvaluationCache.current());
+    assertEquals(2, functions.cartTotalCalls);
+  }
+
+  @Test
+  void should_reuseValue_when_writeDoesNotTouchReads() {
+    List<Expression> shared = eliminate("cartTotal() > 100", "cartTotal() > 50");
+    Facts facts = new Facts().put("cart", 80.0);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      shared.get(0).evaluate(facts, functionRegistry);
+      shared.get(1).evaluate(facts.put("discount.percent", 10), functionRegistry);
+    }
+
+    assertEquals(1, functions.cartTotalCalls);
+  }
+
+  @Test
+  void should_recompute_when_readFactIsWritten() {
+    List<Expression> shared = eliminate("cartTotal() > 100", "cartTotal() > 50");
+    Facts facts = new Facts().put("cart", 80.0);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(false, shared.get(0).evaluate(facts, functionRegistry));
+      assertEquals(true, shared.get(0).evaluate(facts.put("cart", 120.0), functionRegistry));
+    }
+
+    assertEquals(2, functions.cartTotalCalls);
+  }
+
+  @Test
+  void should_recompute_when_readsAreUnknownAndAnyFactIsWritten() {
+    List<Expression> shared = eliminate("score() > 1", "score() > 2");
+    Facts facts = new Facts().put("score", 5);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      shared.get(0).evaluate(facts, functionRegistry);
+      shared.get(1).evaluate(facts, functionRegistry);
+      shared.get(1).evaluate(facts.put("other", 1), functionRegistry);
+    }
+
+    assertEquals(2, functions.scoreCalls);
+  }
+
+  @Test
+  void should_notCacheError_when_subexpressionFails() {
+    List<Expression> shared = eliminate("cartTotal() > 100", "cartTotal() > 50");
+    Facts facts = new Facts();
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertThrows(RuntimeException.class, () -> shared.get(0).evaluate(facts, functionRegistry));
+      assertThrows(RuntimeException.class, () -> shared.get(1).evaluate(facts, functionRegistry));
+    }
+
+    assertEquals(2, functions.cartTotalCalls);
+  }
+
+  @Test
+  void should_callSharedFunctionOnce_when_severalRulesUseIt() {
+    String yaml =
+        "rules:\n"
+            + "  - name: \"Big\"\n"
+            + "    priority: 3\n"
+            + "    when: \"cartTotal() > 100\"\n"
+            + "    then:\n"
+            + "      - discount.percent = 15\n"
+            + "  - name: \"Medium\"\n"
+            + "    priority: 2\n"
+            + "    when: \"cartTotal() > 50\"\n"
+            + "    then:\n"
+            + "      - discount.percent = 10\n"
+            + "  - name: \"Small\"\n"
+            + "    priority: 1\n"
+            + "    when: \"cartTotal() > 30\"\n"
+            + "    then:\n"
+            + "      - discount.reason = \"Small\"\n";
+    YAMLRuleLoader loader = new YAMLRuleLoader(evaluator, functionRegistry, new ActionRegistry());
+    RuleEngine engine = new RuleEngine();
+    engine.addRules(loader.load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))));
+
+    Facts result = engine.execute(new Facts().put("cart", 80.0));
+
+    assertEquals(10.0, result.get("discount.percent"));
+    assertEquals("Small", result.get("discount.reason"));
+    assertEquals(1, functions.cartTotalCalls);
+  }
+
+  private List<Expression> eliminate(String... expressions) {
+    List<Expression> parsed = new ArrayList<>();
+    for (String expression : expressions) {
+      parsed.add(evaluator.parse(expression));
+    }
+    return eliminator.eliminate(parsed);
+  }
+
+  public static class TestFunctions {
+    int cartTotalCalls;
+    int scoreCalls;
+
+    @NomosFunction(value = "cartTotal", reads = "cart")
+    public double cartTotal(Facts facts) {
+      cartTotalCalls++;
+      return facts.get("cart", Double.class);
+    }
+
+    @NomosFunction("score")
+    public int score(Facts facts) {
+      scoreCalls++;
+      return facts.get("score", Integer.class);
+    }
+  }
+}
@@ -3,7 +3,11 @@ package io.github.shamsu07.nomos.core.expression;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.shamsu07.nomos.core.cache.BoundedCache;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionNotFoundException;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
@@ -138,6 +142,17 @@ class ExpressionEvaluatorTest {
     assertEquals(true, result);
   }
 
+  @Test
+  void should_compareByValue_when_integerArithmeticMeetsNumberLiteral() {
+    Facts facts = new Facts().put("a", 4).put("b", 6).put("qty", 5);
+
+    assertEquals(true, evaluator.evaluate("a + b == 10", facts));
+    assertEquals(true, evaluator.evaluate("-qty == -5", facts));
+    assertEquals(true, evaluator.evaluate("+qty == 5", facts));
+    assertEquals(true, evaluator.evaluate("qty != 5.5", facts));
+    assertEquals(true, evaluator.evaluate("qty == 5 && qty * 1000000000 == 5000000000", facts));
+  }
+
   @Test
   void should_evaluateComparison_when_notEqual() {
     Object result = evaluator.evaluate("5 != 3", new Facts());
@@ -308,6 +323,78 @@ class ExpressionEvaluatorTest {
     assertEquals(15, result);
   }
 
+  @Test
+  void should_evaluateParsedExpression_when_reused() {
+    Expression ast = evaluator.parse("x * 2 > 10");
+    assertEquals(true, evaluator.evaluate(ast, new Facts().put("x", 6)));
+    assertEquals(false, evaluator.evaluate(ast, new Facts().put("x", 4)));
+  }
+
+  @Test
+  void should_reuseParsedExpression_when_stringEvaluatedAgain() {
+    assertEquals(true, evaluator.evaluate("x * 2 > 10", new Facts().put("x", 6)));
+    assertEquals(false, evaluator.evaluate("x * 2 > 10", new Facts().put("x", 4)));
+
+    BoundedCache<String, Expression> cache = evaluator.getParseCache();
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.hitCount());
+    assertEquals(0.5, cache.hitRate());
+  }
+
+  @Test
+  void should_stayWithinCacheSize_when_manyDistinctStrings() {
+    ExpressionEvaluator bounded =
+        new ExpressionEvaluator(functionRegistry, ExpressionCompiler.interpreter(), 32);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals((double) i + 1, bounded.evaluate(i + " + 1", new Facts()));
+    }
+
+    assertTrue(bounded.getParseCache().size() <= 32);
+  }
+
+  @Test
+  void should_notCache_when_parseFails() {
+    assertThrows(ParseException.class, () -> evaluator.evaluate("1 +", new Facts()));
+    assertThrows(ParseException.class, () -> evaluator.evaluate("1 +", new Facts()));
+
+    assertEquals(0, evaluator.getParseCache().size());
+  }
+
+  @Test
+  void should_seeRegistryChanges_when_parsedExpressionCached() {
+    functionRegistry.registerFunctionsFrom(new RateOne());
+    ExpressionEvaluator uncached =
+        new ExpressionEvaluator(functionRegistry, ExpressionCompiler.interpreter(), 0);
+    for (ExpressionEvaluator each : new ExpressionEvaluator[] {evaluator, uncached}) {
+      assertEquals(10.0, each.evaluate("rate() * 10", new Facts()));
+    }
+
+    functionRegistry.removeFunction("rate");
+    for (ExpressionEvaluator each : new ExpressionEvaluator[] {evaluator, uncached}) {
+      assertThrows(
+          FunctionNotFoundException.class, () -> each.evaluate("rate() * 10", new Facts()));
+    }
+
+    functionRegistry.registerFunctionsFrom(new RateTwo());
+    for (ExpressionEvaluator each : new ExpressionEvaluator[] {evaluator, uncached}) {
+      assertEquals(20.0, each.evaluate("rate() * 10", new Facts()));
+    }
+    assertEquals(1, evaluator.getParseCache().size());
+  }
+
+  @Test
+  void should_parseEachTime_when_cacheDisabled() {
+    ExpressionEvaluator uncached =
+        new ExpressionEvaluator(functionRegistry, ExpressionCompiler.interpreter(), 0);
+
+    assertEquals(42.0, uncached.evaluate("40 + 2", new Facts()));
+    assertNull(uncached.getParseCache());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ExpressionEvaluator(functionRegistry, ExpressionCompiler.interpreter(), -1));
+  }
+
   public static class TestFunctions {
 
     @NomosFunction("isVIP")
@@ -332,6 +419,22 @@ class ExpressionEvaluatorTest {
     }
   }
 
+  public static class RateOne {
+
+    @NomosFunction(value = "rate", deterministic = true)
+    public double rate() {
+      return 1;
+    }
+  }
+
+  public static class RateTwo {
+
+    @NomosFunction(value = "rate", deterministic = true)
+    public double rate() {
+      return 2;
+    }
+  }
+
   public static class User {
     private String name;
     private int age;
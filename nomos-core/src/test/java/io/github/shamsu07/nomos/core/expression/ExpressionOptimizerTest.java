@@ -0,0 +1,146 @@
+package io.github.shamsu07.nomos.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpressionOptimizerTest {
+
+  private FunctionRegistry functionRegistry;
+  private ExpressionEvaluator evaluator;
+  private ExpressionOptimizer optimizer;
+  private TestFunctions functions;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functions = new TestFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
+    evaluator = new ExpressionEvaluator(functionRegistry);
+    optimizer = new ExpressionOptimizer(functionRegistry);
+  }
+
+  @Test
+  void should_foldLiteralSubtree_when_operandsAreConstant() {
+    Expression optimized = optimize("price * (1 - 15 / 100)");
+
+    assertEquals(evaluator.parse("price * 0.85"), optimized);
+  }
+
+  @Test
+  void should_foldToLiteral_when_wholeExpressionIsConstant() {
+    assertEquals(new LiteralExpression(true), optimize("2 * 3 > 5 && !false"));
+  }
+
+  @Test
+  void should_dropConstant_when_trueAndBooleanExpression() {
+    assertEquals(evaluator.parse("age > 18"), optimize("true && age > 18"));
+    assertEquals(evaluator.parse("age > 18"), optimize("age > 18 && true"));
+    assertEquals(evaluator.parse("age > 18"), optimize("false || age > 18"));
+    assertEquals(evaluator.parse("age > 18"), optimize("age > 18 || false"));
+  }
+
+  @Test
+  void should_keepConstant_when_operandMayNotBeBoolean() {
+    Expression optimized = optimize("true && active");
+
+    assertEquals(evaluator.parse("true && active"), optimized);
+    Facts facts = new Facts().put("active", "yes");
+    assertThrows(
+        IllegalArgumentException.class, () -> optimized.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_shortCircuit_when_leftIsDecisive() {
+    assertEquals(new LiteralExpression(false), optimize("false && fail()"));
+    assertEquals(new LiteralExpression(true), optimize("true || fail()"));
+  }
+
+  @Test
+  void should_removeDoubleNegation_when_operandIsBoolean() {
+    assertEquals(evaluator.parse("active == true"), optimize("!(!(active == true))"));
+    assertEquals(evaluator.parse("!(!active)"), optimize("!(!active)"));
+  }
+
+  @Test
+  void should_keepSubtree_when_foldingFails() {
+    Expression optimized = optimize("1 / 0");
+
+    assertEquals(evaluator.parse("1 / 0"), optimized);
+    assertThrows(
+        ArithmeticException.class, () -> optimized.evaluate(new Facts(), functionRegistry));
+  }
+
+  @Test
+  void should_preEvaluate_when_deterministicFunctionWithConstantArguments() {
+    Expression optimized = optimize("price * taxRate(\"D\" + \"E\")");
+
+    assertEquals(evaluator.parse("price * 0.19"), optimized);
+    assertEquals(1, functions.taxRateCalls);
+  }
+
+  @Test
+  void should_notPreEvaluate_when_functionNotDeterministic() {
+    Expression optimized = optimize("random() > 0.5");
+
+    assertTrue(((BinaryExpression) optimized).getLeft() instanceof FunctionCallExpression);
+  }
+
+  @Test
+  void should_notPreEvaluate_when_argumentsNotConstant() {
+    assertEquals(evaluator.parse("taxRate(country)"), optimize("taxRate(country)"));
+    assertEquals(0, functions.taxRateCalls);
+  }
+
+  @Test
+  void should_notPreEvaluate_when_functionTakesFacts() {
+    assertEquals(evaluator.parse("isVIP()"), optimize("isVIP()"));
+  }
+
+  @Test
+  void should_returnSameInstance_when_nothingToOptimize() {
+    Expression parsed = evaluator.parse("age > 18 && name == \"John\"");
+
+    assertSame(parsed, optimizer.optimize(parsed));
+  }
+
+  private Expression optimize(String expression) {
+    return optimizer.optimize(evaluator.parse(expression));
+  }
+
+  public static class TestFunctions {
+    int taxRateCalls;
+
+    @NomosFunction(value = "taxRate", deterministic = true)
+    public double taxRate(String country) {
+      taxRateCalls++;
+      return "DE".equals(country) ? 0.19 : 0.2;
+    }
+
+    @NomosFunction("random")
+    public double random() {
+      return Math.random();
+    }
+
+    @NomosFunction(value = "isVIP", deterministic = true)
+    public boolean isVIP(Facts facts) {
+      return Boolean.TRUE.equals(facts.get("vip"));
+    }
+
+    @NomosFunction("fail")
+    public boolean fail() {
+      throw new IllegalStateException("Should not be evaluated");
+    }
+  }
+}
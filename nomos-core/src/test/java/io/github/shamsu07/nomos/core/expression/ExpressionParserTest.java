@@ -314,6 +314,21 @@ class ExpressionParserTest {
     assertEquals(TokenType.DIVIDE, binary.getOperator());
   }
 
+  @Test
+  void should_buildSameTree_when_parsingFromLexer() {
+    String input = "isVIP(user.tier, 'a\\'b') && -cart.total * 2 >= 10.5 || !(x != null)";
+
+    Expression streamed = new ExpressionParser(new Lexer(input)).parse();
+
+    assertEquals(parse(input), streamed);
+  }
+
+  @Test
+  void should_throwException_when_lexerFailsWhileParsing() {
+    assertThrows(ParseException.class, () -> new ExpressionParser(new Lexer("a & b")).parse());
+    assertThrows(ParseException.class, () -> new ExpressionParser(new Lexer("a +")).parse());
+  }
+
   private Expression parse(String input) {
     Lexer lexer = new Lexer(input);
     List<Token> tokens = lexer.tokenize();
@@ -254,4 +254,42 @@ class LexerTest {
   void should_throwException_when_unterminatedEscapeSequence() {
     assertThrows(ParseException.class, () -> new Lexer("\"trailing\\").tokenize());
   }
+
+  @Test
+  void should_scanTokensOnDemand_when_streaming() {
+    Lexer lexer = new Lexer("cart.total >= 12.5");
+
+    assertEquals(TokenType.IDENTIFIER, lexer.next());
+    assertTrue(lexer.lexemeEquals("cart"));
+    assertEquals(TokenType.DOT, lexer.next());
+    assertEquals(TokenType.IDENTIFIER, lexer.next());
+    assertEquals("total", lexer.lexeme());
+    assertEquals(TokenType.GREATER_EQUAL, lexer.next());
+    assertEquals(TokenType.NUMBER, lexer.next());
+    assertEquals(12.5, lexer.numberValue());
+    assertEquals(18, lexer.position());
+    assertEquals(TokenType.EOF, lexer.next());
+    assertEquals(TokenType.EOF, lexer.next());
+  }
+
+  @Test
+  void should_matchParseDouble_when_numberHasManyDigits() {
+    List<String> numbers =
+        List.of("0.1", "0.3", "123.456", "9007199254740993", "1.00000000000000000000000001");
+    for (String number : numbers) {
+      Lexer lexer = new Lexer(number);
+      lexer.next();
+      assertEquals(Double.parseDouble(number), lexer.numberValue(), number);
+    }
+  }
+
+  @Test
+  void should_resolveEscapes_when_stringValueRequested() {
+    Lexer lexer = new Lexer("'plain' \"a\\tb\"");
+
+    lexer.next();
+    assertEquals("plain", lexer.stringValue());
+    lexer.next();
+    assertEquals("a\tb", lexer.stringValue());
+  }
 }
@@ -219,6 +219,22 @@ class BinaryExpressionTest {
     assertEquals(true, result);
   }
 
+  @Test
+  void should_keepOperatorSemantics_when_integersAndDoublesMix() {
+    BinaryExpression sum =
+        new BinaryExpression(
+            new VariableExpression("a"), TokenType.PLUS, new VariableExpression("b"));
+    FunctionRegistry registry = new FunctionRegistry();
+
+    assertEquals(26.5, sum.evaluate(new Facts().put("a", 25).put("b", 1.5), registry));
+    assertEquals(3.5, sum.evaluate(new Facts().put("a", 2.0).put("b", 1.5), registry));
+    assertEquals(7, sum.evaluate(new Facts().put("a", 3).put("b", 4), registry));
+    assertEquals(
+        5_000_000_001L, sum.evaluate(new Facts().put("a", 5_000_000_000L).put("b", 1), registry));
+    assertEquals(2.5, sum.evaluate(new Facts().put("a", 1L).put("b", 1.5), registry));
+    assertEquals("x1", sum.evaluate(new Facts().put("a", "x").put("b", 1), registry));
+  }
+
   @Test
   void should_throwException_when_addingIncompatibleTypes() {
     BinaryExpression expr =
@@ -436,4 +452,95 @@ class BinaryExpressionTest {
     Object result = expr.evaluate(new Facts(), new FunctionRegistry());
     assertEquals(true, result);
   }
+
+  @Test
+  void should_keepInteger_when_integerArithmetic() {
+    Facts facts = new Facts().put("a", 7).put("b", 3);
+    FunctionRegistry registry = new FunctionRegistry();
+
+    assertEquals(10, binary("a", TokenType.PLUS, "b").evaluate(facts, registry));
+    assertEquals(21, binary("a", TokenType.MULTIPLY, "b").evaluate(facts, registry));
+    assertEquals(1, binary("a", TokenType.MODULO, "b").evaluate(facts, registry));
+    assertEquals(7.0 / 3.0, binary("a", TokenType.DIVIDE, "b").evaluate(facts, registry));
+  }
+
+  @Test
+  void should_promoteToLong_when_integerOverflows() {
+    Facts facts = new Facts().put("a", Integer.MAX_VALUE).put("b", 1);
+    Object result = binary("a", TokenType.PLUS, "b").evaluate(facts, new FunctionRegistry());
+    assertEquals(Integer.MAX_VALUE + 1L, result);
+  }
+
+  @Test
+  void should_promoteToDouble_when_longOverflows() {
+    Facts facts = new Facts().put("a", Long.MAX_VALUE).put("b", 2);
+    Object result = binary("a", TokenType.MULTIPLY, "b").evaluate(facts, new FunctionRegistry());
+    assertEquals(Long.MAX_VALUE * 2.0, result);
+  }
+
+  @Test
+  void should_keepLong_when_longAndInteger() {
+    Facts facts = new Facts().put("a", 5_000_000_000L).put("b", 1);
+    Object result = binary("a", TokenType.MINUS, "b").evaluate(facts, new FunctionRegistry());
+    assertEquals(4_999_999_999L, result);
+  }
+
+  @Test
+  void should_compareExactly_when_largeLongs() {
+    Facts facts = new Facts().put("a", Long.MAX_VALUE).put("b", Long.MAX_VALUE - 1);
+    Object result = binary("a", TokenType.GREATER, "b").evaluate(facts, new FunctionRegistry());
+    assertEquals(true, result);
+  }
+
+  @Test
+  void should_giveSameResults_when_operandTypesChange() {
+    BinaryExpression sum = binary("a", TokenType.PLUS, "b");
+    BinaryExpression less = binary("a", TokenType.LESS, "b");
+    BinaryExpression equal = binary("a", TokenType.EQUAL, "b");
+    FunctionRegistry registry = new FunctionRegistry();
+    Facts ints = new Facts().put("a", 2).put("b", 3);
+    Facts longs = new Facts().put("a", 2L).put("b", 3);
+    Facts doubles = new Facts().put("a", 2.0).put("b", 3.0);
+    Facts strings = new Facts().put("a", "x").put("b", "y");
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(5, sum.evaluate(ints, registry));
+      assertEquals(true, less.evaluate(ints, registry));
+      assertEquals(false, equal.evaluate(ints, registry));
+      assertEquals(5L, sum.evaluate(longs, registry));
+      assertEquals(true, less.evaluate(longs, registry));
+      assertEquals(false, equal.evaluate(longs, registry));
+      assertEquals(5.0, sum.evaluate(doubles, registry));
+      assertEquals(true, less.evaluate(doubles, registry));
+      assertEquals("xy", sum.evaluate(strings, registry));
+      assertEquals(true, less.evaluate(strings, registry));
+    }
+  }
+
+  @Test
+  void should_beEqual_when_integerAndLongWithSameValue() {
+    Facts facts = new Facts().put("a", 3).put("b", 3L);
+    BinaryExpression equal = binary("a", TokenType.EQUAL, "b");
+    FunctionRegistry registry = new FunctionRegistry();
+
+    equal.evaluate(new Facts().put("a", 1L).put("b", 2), registry);
+
+    assertEquals(true, equal.evaluate(facts, registry));
+  }
+
+  @Test
+  void should_throwException_when_integerModuloByZero() {
+    Facts facts = new Facts().put("a", 7).put("b", 0);
+    BinaryExpression expr = binary("a", TokenType.MODULO, "b");
+    FunctionRegistry registry = new FunctionRegistry();
+
+    ArithmeticException ex =
+        assertThrows(ArithmeticException.class, () -> expr.evaluate(facts, registry));
+    assertEquals("Modulo by zero", ex.getMessage());
+  }
+
+  private static BinaryExpression binary(String left, TokenType operator, String right) {
+    return new BinaryExpression(
+        new VariableExpression(left), operator, new VariableExpression(right));
+  }
 }
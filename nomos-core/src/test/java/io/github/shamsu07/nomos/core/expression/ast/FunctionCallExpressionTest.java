@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
 import io.github.shamsu07.nomos.core.expression.TokenType;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionNotFoundException;
@@ -16,11 +17,13 @@ import org.junit.jupiter.api.Test;
 class FunctionCallExpressionTest {
 
   private FunctionRegistry functionRegistry;
+  private TestFunctions functions;
 
   @BeforeEach
   void setup() {
     functionRegistry = new FunctionRegistry();
-    functionRegistry.registerFunctionsFrom(new TestFunctions());
+    functions = new TestFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
   }
 
   @Test
@@ -189,7 +192,139 @@ class FunctionCallExpressionTest {
     assertEquals(10, result);
   }
 
+  @Test
+  void should_relink_when_functionReplaced() {
+    FunctionCallExpression expr = new FunctionCallExpression("getConstant", List.of());
+    assertEquals(100, expr.evaluate(new Facts(), functionRegistry));
+
+    functionRegistry.removeFunction("getConstant");
+    functionRegistry.registerFunctionsFrom(new OtherFunctions());
+
+    assertEquals(200, expr.evaluate(new Facts(), functionRegistry));
+  }
+
+  @Test
+  void should_throwException_when_linkedFunctionRemoved() {
+    FunctionCallExpression expr = new FunctionCallExpression("getConstant", List.of());
+    expr.evaluate(new Facts(), functionRegistry);
+
+    functionRegistry.removeFunction("getConstant");
+
+    assertThrows(
+        FunctionNotFoundException.class, () -> expr.evaluate(new Facts(), functionRegistry));
+  }
+
+  @Test
+  void should_linkPerRegistry_when_sameExpressionUsedWithTwoRegistries() {
+    FunctionRegistry other = new FunctionRegistry();
+    other.registerFunctionsFrom(new OtherFunctions());
+    FunctionCallExpression expr = new FunctionCallExpression("getConstant", List.of());
+
+    assertEquals(100, expr.evaluate(new Facts(), functionRegistry));
+    assertEquals(200, expr.evaluate(new Facts(), other));
+    assertEquals(100, expr.evaluate(new Facts(), functionRegistry));
+  }
+
+  @Test
+  void should_invokeWideFunction_when_moreThanThreeArguments() {
+    FunctionCallExpression expr =
+        new FunctionCallExpression(
+            "sum4",
+            List.of(
+                new LiteralExpression(1),
+                new LiteralExpression(2),
+                new LiteralExpression(3),
+                new LiteralExpression(4)));
+    assertEquals(10, expr.evaluate(new Facts(), functionRegistry));
+  }
+
+  @Test
+  void should_memoizeCall_when_cacheableAndArgumentsEqual() {
+    FunctionCallExpression first = quote("A-1");
+    FunctionCallExpression second = quote("A-1");
+    Facts facts = new Facts().put("region", 2);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(20.0, first.evaluate(facts, functionRegistry));
+      assertEquals(20.0, second.evaluate(facts, functionRegistry));
+      assertEquals(20.0, first.evaluate(facts.put("discount", 5), functionRegistry));
+    }
+
+    assertEquals(1, functions.quoteCalls);
+  }
+
+  @Test
+  void should_callAgain_when_argumentsDiffer() {
+    Facts facts = new Facts().put("region", 2);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      quote("A-1").evaluate(facts, functionRegistry);
+      quote("B-22").evaluate(facts, functionRegistry);
+    }
+
+    assertEquals(2, functions.quoteCalls);
+  }
+
+  @Test
+  void should_callAgain_when_readFactChanges() {
+    FunctionCallExpression expr = quote("A-1");
+    Facts facts = new Facts().put("region", 2);
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(20.0, expr.evaluate(facts, functionRegistry));
+      assertEquals(30.0, expr.evaluate(facts.put("region", 3), functionRegistry));
+    }
+
+    assertEquals(2, functions.quoteCalls);
+  }
+
+  @Test
+  void should_notMemoize_when_noExecutionIsOpen() {
+    FunctionCallExpression expr = quote("A-1");
+    Facts facts = new Facts().put("region", 2);
+
+    expr.evaluate(facts, functionRegistry);
+    expr.evaluate(facts, functionRegistry);
+
+    assertEquals(2, functions.quoteCalls);
+  }
+
+  @Test
+  void should_notMemoize_when_functionNotCacheable() {
+    FunctionCallExpression expr = new FunctionCallExpression("nextId", List.of());
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(1, expr.evaluate(new Facts(), functionRegistry));
+      assertEquals(2, expr.evaluate(new Facts(), functionRegistry));
+    }
+  }
+
+  private static FunctionCallExpression quote(String sku) {
+    return new FunctionCallExpression("quote", List.of(new LiteralExpression(sku)));
+  }
+
+  public static class OtherFunctions {
+
+    @NomosFunction("getConstant")
+    public int getConstant() {
+      return 200;
+    }
+  }
+
   public static class TestFunctions {
+    int quoteCalls;
+    int nextId;
+
+    @NomosFunction(value = "quote", cacheable = true, reads = "region")
+    public double quote(Facts facts, Object sku) {
+      quoteCalls++;
+      return facts.get("region", Integer.class) * 5.0 * ((String) sku).length() / 1.5;
+    }
+
+    @NomosFunction("nextId")
+    public int nextId() {
+      return ++nextId;
+    }
 
     @NomosFunction("isVIP")
     public boolean isVIP(Facts facts) {
@@ -217,6 +352,14 @@ class FunctionCallExpressionTest {
       return ((Number) a).intValue() - ((Number) b).intValue();
     }
 
+    @NomosFunction("sum4")
+    public int sum4(Object a, Object b, Object c, Object d) {
+      return ((Number) a).intValue()
+          + ((Number) b).intValue()
+          + ((Number) c).intValue()
+          + ((Number) d).intValue();
+    }
+
     @NomosFunction("multiplyByFact")
     public int multiplyByFact(Facts facts, Object value) {
       int multiplier = facts.get("multiplier", Integer.class);
@@ -166,4 +166,18 @@ class UnaryExpressionTest {
     Object result = outer.evaluate(new Facts(), new FunctionRegistry());
     assertEquals(5.0, result);
   }
+
+  @Test
+  void should_keepInteger_when_negatingInteger() {
+    UnaryExpression expr = new UnaryExpression(TokenType.MINUS, new VariableExpression("value"));
+    FunctionRegistry registry = new FunctionRegistry();
+
+    assertEquals(-15, expr.evaluate(new Facts().put("value", 15), registry));
+    assertEquals(
+        -(long) Integer.MIN_VALUE,
+        expr.evaluate(new Facts().put("value", Integer.MIN_VALUE), registry));
+    assertEquals(-7L, expr.evaluate(new Facts().put("value", 7L), registry));
+    assertEquals(-1.5, expr.evaluate(new Facts().put("value", 1.5), registry));
+    assertEquals(-15, expr.evaluate(new Facts().put("value", 15), registry));
+  }
 }
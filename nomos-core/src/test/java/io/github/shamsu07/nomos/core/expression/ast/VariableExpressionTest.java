@@ -4,8 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import io.github.shamsu07.nomos.core.facts.FactSchema;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class VariableExpressionTest {
@@ -34,6 +36,19 @@ class VariableExpressionTest {
     assertEquals("Alice", result);
   }
 
+  @Test
+  void should_readBySlot_when_factsHaveSchema() {
+    FactSchema schema = FactSchema.of("cart.total");
+    VariableExpression expr = new VariableExpression("cart.total");
+    FunctionRegistry registry = new FunctionRegistry();
+
+    assertEquals(10, expr.evaluate(new Facts(schema).put("cart.total", 10), registry));
+    assertEquals(20, expr.evaluate(new Facts().put("cart.total", 20), registry));
+
+    FactSchema other = FactSchema.of("x", "cart.total");
+    assertEquals(30, expr.evaluate(new Facts(other).put("cart.total", 30), registry));
+  }
+
   @Test
   void should_evaluateDeepNestedProperty_when_multipleDots() {
     User user = new User("Bob", 25);
@@ -108,6 +123,74 @@ class VariableExpressionTest {
     assertEquals(25, result);
   }
 
+  @Test
+  void should_resolveEachReceiverType_when_sitePolymorphic() {
+    VariableExpression expr = new VariableExpression("item.city");
+    FunctionRegistry registry = new FunctionRegistry();
+    Object[] receivers = {
+      new Address("NYC", "NY"),
+      new Office("LA"),
+      Map.of("city", "SF"),
+      new User("NoCity", 1),
+      new Office("Austin"),
+      new Depot("Denver"),
+      new Warehouse("Boston"),
+      new Address("Miami", "FL")
+    };
+    Object[] expected = {"NYC", "LA", "SF", null, "Austin", "Denver", "Boston", "Miami"};
+
+    // Runs past the inline cache size so the megamorphic path is covered too
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < receivers.length; i++) {
+        Facts facts = new Facts().put("item", receivers[i]);
+        assertEquals(expected[i], expr.evaluate(facts, registry));
+      }
+    }
+  }
+
+  @Test
+  void should_mixMapsAndObjects_when_pathNested() {
+    Facts facts = new Facts().put("order.shipping", new Address("NYC", "NY"));
+    VariableExpression expr = new VariableExpression("order.shipping.city");
+    assertEquals("NYC", expr.evaluate(facts, new FunctionRegistry()));
+  }
+
+  public static class Office {
+    private final String city;
+
+    public Office(String city) {
+      this.city = city;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
+  public static class Depot {
+    private final String city;
+
+    public Depot(String city) {
+      this.city = city;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
+  public static class Warehouse {
+    private final String city;
+
+    public Warehouse(String city) {
+      this.city = city;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
   public static class User {
     private String name;
     private int age;
@@ -0,0 +1,190 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.TokenType;
+import io.github.shamsu07.nomos.core.expression.ast.BinaryExpression;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BytecodeCompilerTest {
+
+  private FunctionRegistry functionRegistry;
+  private ExpressionEvaluator evaluator;
+  private BytecodeCompiler compiler;
+  private Facts facts;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functionRegistry.registerFunctionsFrom(new TestFunctions());
+    evaluator = new ExpressionEvaluator(functionRegistry);
+    compiler = new BytecodeCompiler();
+    facts =
+        new Facts()
+            .put("age", 25)
+            .put("name", "John")
+            .put("active", true)
+            .put("cart.total", 150.0)
+            .put("missing", null);
+  }
+
+  @Test
+  void should_matchInterpreter_when_arithmetic() {
+    assertSameResult("1 + 2 * 3 - 4 / 2");
+    assertSameResult("age % 7");
+    assertSameResult("-age + +cart.total");
+    assertSameResult("\"Hello \" + name");
+  }
+
+  @Test
+  void should_matchInterpreter_when_comparison() {
+    assertSameResult("age >= 18 && age < 65");
+    assertSameResult("cart.total > 100");
+    assertSameResult("name == \"John\"");
+    assertSameResult("name != \"John\"");
+    assertSameResult("missing == null");
+    assertSameResult("age <= 25 || age > 100");
+  }
+
+  @Test
+  void should_matchInterpreter_when_logical() {
+    assertSameResult("!active");
+    assertSameResult("!(age > 30) && active");
+    assertSameResult("true || false");
+    assertSameResult("(age > 18 && active) == true");
+  }
+
+  @Test
+  void should_compareByValue_when_integerArithmeticMeetsNumberLiteral() {
+    assertEquals(true, compile("age + 5 == 30").evaluate(facts, functionRegistry));
+    assertEquals(true, compile("-age == -25").evaluate(facts, functionRegistry));
+    assertEquals(false, compile("+age != 25").evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_matchInterpreter_when_functionCall() {
+    assertSameResult("discount(cart.total) > 10");
+    assertSameResult("discount(cart.total) * 2");
+  }
+
+  @Test
+  void should_shortCircuit_when_andLeftIsFalse() {
+    Expression compiled = compile("age > 100 && fail()");
+
+    assertEquals(false, compiled.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_shortCircuit_when_orLeftIsTrue() {
+    Expression compiled = compile("age > 18 || fail()");
+
+    assertEquals(true, compiled.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_throwSameError_when_operandIsNotBoolean() {
+    Expression compiled = compile("age && active");
+
+    IllegalArgumentException ex =
+        assertThrows(
+            IllegalArgumentException.class, () -> compiled.evaluate(facts, functionRegistry));
+    assertEquals("Cannot convert to boolean: 25", ex.getMessage());
+  }
+
+  @Test
+  void should_throwSameError_when_divisionByZero() {
+    Expression compiled = compile("age / 0");
+
+    ArithmeticException ex =
+        assertThrows(ArithmeticException.class, () -> compiled.evaluate(facts, functionRegistry));
+    assertEquals("Division by zero", ex.getMessage());
+  }
+
+  @Test
+  void should_defineHiddenClass_when_expressionHasOperators() {
+    Expression parsed = evaluator.parse("age > 18");
+    Expression compiled = compiler.compile(parsed);
+
+    assertNotSame(parsed, compiled);
+    assertTrue(compiled.getClass().isHidden());
+    assertEquals("Compiled[" + parsed + "]", compiled.toString());
+  }
+
+  @Test
+  void should_returnInput_when_noOperators() {
+    Expression variable = new VariableExpression("age");
+    Expression literal = new LiteralExpression(42.0);
+
+    assertSame(variable, compiler.compile(variable));
+    assertSame(literal, compiler.compile(literal));
+  }
+
+  @Test
+  void should_fallBackToInterpreter_when_expressionTooLarge() {
+    Expression large = balancedSum(15);
+
+    Expression compiled = compiler.compile(large);
+
+    assertSame(large, compiled);
+  }
+
+  @Test
+  void should_useCompiler_when_configuredOnEvaluator() {
+    ExpressionEvaluator compiling = new ExpressionEvaluator(functionRegistry, compiler);
+    Expression parsed = compiling.parse("age + 1");
+
+    Expression compiled = compiling.compile(parsed);
+
+    assertTrue(compiled.getClass().isHidden());
+    assertEquals(26.0, compiling.evaluate(compiled, facts));
+    assertSame(parsed, evaluator.compile(parsed));
+  }
+
+  private Expression compile(String expression) {
+    return compiler.compile(evaluator.parse(expression));
+  }
+
+  private void assertSameResult(String expression) {
+    Expression parsed = evaluator.parse(expression);
+    Expression compiled = compiler.compile(parsed);
+
+    assertTrue(compiled.getClass().isHidden(), expression);
+    assertEquals(
+        parsed.evaluate(facts, functionRegistry),
+        compiled.evaluate(facts, functionRegistry),
+        expression);
+  }
+
+  // 2^depth variable reads, too many for one method
+  private static Expression balancedSum(int depth) {
+    if (depth == 0) {
+      return new VariableExpression("age");
+    }
+    return new BinaryExpression(balancedSum(depth - 1), TokenType.PLUS, balancedSum(depth - 1));
+  }
+
+  public static class TestFunctions {
+
+    @NomosFunction("discount")
+    public double discount(Object total) {
+      return ((Number) total).doubleValue() / 10;
+    }
+
+    @NomosFunction("fail")
+    public boolean fail() {
+      throw new IllegalStateException("Should not be evaluated");
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.shamsu07.nomos.core.expression.EvaluationCache;
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.VariableExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionNotFoundException;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import io.github.shamsu07.nomos.core.function.NomosFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MethodHandleCompilerTest {
+
+  private FunctionRegistry functionRegistry;
+  private TestFunctions functions;
+  private ExpressionEvaluator evaluator;
+  private MethodHandleCompiler compiler;
+  private Facts facts;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    functions = new TestFunctions();
+    functionRegistry.registerFunctionsFrom(functions);
+    evaluator = new ExpressionEvaluator(functionRegistry);
+    compiler = new MethodHandleCompiler(functionRegistry);
+    facts =
+        new Facts()
+            .put("age", 25)
+            .put("name", "John")
+            .put("active", true)
+            .put("cart.total", 150.0)
+            .put("vip", true);
+  }
+
+  @Test
+  void should_matchInterpreter_when_arithmetic() {
+    assertSameResult("1 + 2 * 3 - 4 / 2");
+    assertSameResult("age % 7");
+    assertSameResult("-age + +cart.total");
+    assertSameResult("\"Hello \" + name");
+  }
+
+  @Test
+  void should_matchInterpreter_when_comparisonAndLogical() {
+    assertSameResult("age >= 18 && age < 65");
+    assertSameResult("name != \"John\" || cart.total <= 150");
+    assertSameResult("!active");
+    assertSameResult("!(age > 30) && true");
+  }
+
+  @Test
+  void should_compareByValue_when_integerArithmeticMeetsNumberLiteral() {
+    assertEquals(true, compile("age + 5 == 30").evaluate(facts, functionRegistry));
+    assertEquals(true, compile("-age == -25").evaluate(facts, functionRegistry));
+    assertEquals(false, compile("+age != 25").evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_matchInterpreter_when_functionCall() {
+    assertSameResult("discount(cart.total) > 10");
+    assertSameResult("isVIP() && scale(age, 2) == 50");
+  }
+
+  @Test
+  void should_shortCircuit_when_andLeftIsFalse() {
+    assertEquals(false, compile("age > 100 && fail()").evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_shortCircuit_when_orLeftIsTrue() {
+    assertEquals(true, compile("age > 18 || fail()").evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_wrapFunctionError_when_functionThrows() {
+    Expression compiled = compile("fail() || true");
+
+    RuntimeException ex =
+        assertThrows(RuntimeException.class, () -> compiled.evaluate(facts, functionRegistry));
+    assertEquals("Error invoking function 'fail': Should not be evaluated", ex.getMessage());
+  }
+
+  @Test
+  void should_throwSameError_when_operandIsNotBoolean() {
+    Expression compiled = compile("age || active");
+
+    IllegalArgumentException ex =
+        assertThrows(
+            IllegalArgumentException.class, () -> compiled.evaluate(facts, functionRegistry));
+    assertEquals("Cannot convert to boolean: 25", ex.getMessage());
+  }
+
+  @Test
+  void should_useNewFunction_when_functionReRegistered() {
+    Expression compiled = compile("discount(cart.total) > 10");
+    assertEquals(true, compiled.evaluate(facts, functionRegistry));
+
+    functionRegistry.removeFunction("discount");
+    functionRegistry.registerFunctionsFrom(new SmallDiscount());
+
+    assertEquals(false, compiled.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_useEvaluationRegistry_when_registryDiffers() {
+    Expression compiled = compile("discount(cart.total) > 10");
+    FunctionRegistry other = new FunctionRegistry();
+    other.registerFunctionsFrom(new SmallDiscount());
+
+    assertEquals(false, compiled.evaluate(facts, other));
+  }
+
+  @Test
+  void should_throwFunctionNotFound_when_functionUnknownAtCompileTime() {
+    Expression compiled = compile("unknown() && true");
+
+    assertThrows(
+        FunctionNotFoundException.class, () -> compiled.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_delegateFunctionCalls_when_noRegistryGiven() {
+    Expression compiled = new MethodHandleCompiler().compile(evaluator.parse("scale(age, 2) > 40"));
+
+    assertEquals(true, compiled.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_notDefineClasses_when_compiling() {
+    Expression parsed = evaluator.parse("age > 18");
+    Expression compiled = compiler.compile(parsed);
+
+    assertNotSame(parsed, compiled);
+    assertFalse(compiled.getClass().isHidden());
+    assertEquals("Compiled[" + parsed + "]", compiled.toString());
+  }
+
+  @Test
+  void should_memoizeCall_when_functionCacheable() {
+    Expression compiled = compile("price(\"A\") > 10 && price(\"A\") < 100");
+
+    try (EvaluationCache cache = EvaluationCache.open()) {
+      assertEquals(true, compiled.evaluate(facts, functionRegistry));
+    }
+
+    assertEquals(1, functions.priceCalls);
+  }
+
+  @Test
+  void should_returnInput_when_noOperators() {
+    Expression variable = new VariableExpression("age");
+
+    assertSame(variable, compiler.compile(variable));
+  }
+
+  private Expression compile(String expression) {
+    return compiler.compile(evaluator.parse(expression));
+  }
+
+  private void assertSameResult(String expression) {
+    Expression parsed = evaluator.parse(expression);
+    Expression compiled = compiler.compile(parsed);
+
+    assertNotSame(parsed, compiled);
+    assertEquals(
+        parsed.evaluate(facts, functionRegistry),
+        compiled.evaluate(facts, functionRegistry),
+        expression);
+  }
+
+  public static class TestFunctions {
+    int priceCalls;
+
+    @NomosFunction(value = "price", cacheable = true)
+    public double price(Object sku) {
+      priceCalls++;
+      return 42;
+    }
+
+    @NomosFunction("discount")
+    public double discount(Object total) {
+      return ((Number) total).doubleValue() / 10;
+    }
+
+    @NomosFunction("scale")
+    public double scale(Object value, Object factor) {
+      return ((Number) value).doubleValue() * ((Number) factor).doubleValue();
+    }
+
+    @NomosFunction("isVIP")
+    public boolean isVIP(Facts facts) {
+      return Boolean.TRUE.equals(facts.get("vip"));
+    }
+
+    @NomosFunction("fail")
+    public boolean fail() {
+      throw new IllegalStateException("Should not be evaluated");
+    }
+  }
+
+  public static class SmallDiscount {
+
+    @NomosFunction("discount")
+    public double discount(Object total) {
+      return 1;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package io.github.shamsu07.nomos.core.expression.compile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
+import io.github.shamsu07.nomos.core.facts.Facts;
+import io.github.shamsu07.nomos.core.function.FunctionRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TieredCompilerTest {
+
+  private FunctionRegistry functionRegistry;
+  private ExpressionEvaluator evaluator;
+  private Facts facts;
+  private List<Runnable> pending;
+
+  @BeforeEach
+  void setup() {
+    functionRegistry = new FunctionRegistry();
+    evaluator = new ExpressionEvaluator(functionRegistry);
+    facts = new Facts().put("age", 25);
+    pending = new ArrayList<>();
+  }
+
+  @Test
+  void should_interpret_when_belowThreshold() {
+    TieredCompiler compiler = new TieredCompiler(new BytecodeCompiler(), 3, pending::add);
+    Expression parsed = evaluator.parse("age > 18");
+    Expression tiered = compiler.compile(parsed);
+
+    assertEquals(true, tiered.evaluate(facts, functionRegistry));
+    assertEquals(true, tiered.evaluate(facts, functionRegistry));
+
+    assertTrue(pending.isEmpty());
+    assertEquals(parsed.toString(), tiered.toString());
+  }
+
+  @Test
+  void should_scheduleCompilationOnce_when_thresholdReached() {
+    TieredCompiler compiler = new TieredCompiler(new BytecodeCompiler(), 3, pending::add);
+    Expression tiered = compiler.compile(evaluator.parse("age > 18"));
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(true, tiered.evaluate(facts, functionRegistry));
+    }
+
+    assertEquals(1, pending.size());
+  }
+
+  @Test
+  void should_keepInterpreting_when_compilationNotFinished() {
+    TieredCompiler compiler = new TieredCompiler(new BytecodeCompiler(), 1, pending::add);
+    Expression parsed = evaluator.parse("age + 1");
+    Expression tiered = compiler.compile(parsed);
+
+    assertEquals(26.0, tiered.evaluate(facts, functionRegistry));
+    assertEquals(26.0, tiered.evaluate(facts, functionRegistry));
+    assertEquals(parsed.toString(), tiered.toString());
+
+    pending.get(0).run();
+
+    assertEquals(26.0, tiered.evaluate(facts, functionRegistry));
+    assertEquals("Compiled[" + parsed + "]", tiered.toString());
+  }
+
+  @Test
+  void should_swapInCompiledForm_when_compiledInline() {
+    TieredCompiler compiler = new TieredCompiler(new MethodHandleCompiler(), 2, Runnable::run);
+    Expression parsed = evaluator.parse("age >= 18 && age < 65");
+    Expression tiered = compiler.compile(parsed);
+
+    tiered.evaluate(facts, functionRegistry);
+    tiered.evaluate(facts, functionRegistry);
+
+    assertEquals("Compiled[" + parsed + "]", tiered.toString());
+    assertEquals(true, tiered.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_keepInterpreting_when_delegateFails() {
+    ExpressionCompiler failing =
+        expression -> {
+          throw new IllegalStateException("Boom");
+        };
+    TieredCompiler compiler = new TieredCompiler(failing, 1, Runnable::run);
+    Expression tiered = compiler.compile(evaluator.parse("age > 18"));
+
+    assertEquals(true, tiered.evaluate(facts, functionRegistry));
+    assertEquals(true, tiered.evaluate(facts, functionRegistry));
+  }
+
+  @Test
+  void should_returnLiteral_when_compilingLiteral() {
+    TieredCompiler compiler = new TieredCompiler(new BytecodeCompiler(), 1);
+    Expression literal = new LiteralExpression(42.0);
+
+    assertSame(literal, compiler.compile(literal));
+  }
+
+  @Test
+  void should_throwException_when_thresholdNotPositive() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new TieredCompiler(new BytecodeCompiler(), 0));
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FactSchemaTest {
+
+  private final FactSchema schema = FactSchema.of("total", "user.tier", "user", "missing");
+
+  @Test
+  void should_assignSlotsInOrder_when_created() {
+    assertEquals(0, schema.slotOf("total"));
+    assertEquals(1, schema.slotOf("user.tier"));
+    assertEquals("user", schema.pathOf(2));
+    assertEquals(-1, schema.slotOf("other"));
+    assertEquals(List.of("total", "user.tier", "user", "missing"), schema.getPaths());
+  }
+
+  @Test
+  void should_ignoreDuplicates_when_created() {
+    assertEquals(1, FactSchema.of("a", "a").size());
+  }
+
+  @Test
+  void should_throwException_when_pathInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> FactSchema.of("user..tier"));
+    assertThrows(IllegalArgumentException.class, () -> FactSchema.of(""));
+  }
+
+  @Test
+  void should_readSlots_when_factsPut() {
+    Facts facts = new Facts(schema).put("total", 100.0).put("user.tier", "GOLD");
+
+    assertEquals(100.0, facts.getSlot(schema.slotOf("total")));
+    assertEquals("GOLD", facts.getSlot(schema.slotOf("user.tier")));
+    assertEquals(Map.of("tier", "GOLD"), facts.getSlot(schema.slotOf("user")));
+    assertNull(facts.getSlot(schema.slotOf("missing")));
+  }
+
+  @Test
+  void should_refreshNestedSlots_when_parentReplaced() {
+    Facts facts = new Facts(schema).put("user.tier", "GOLD");
+    Facts updated = facts.put("user", Map.of("tier", "SILVER"));
+
+    assertEquals("GOLD", facts.getSlot(schema.slotOf("user.tier")));
+    assertEquals("SILVER", updated.getSlot(schema.slotOf("user.tier")));
+  }
+
+  @Test
+  void should_initializeSlots_when_createdFromMap() {
+    Facts facts = new Facts(schema, Map.of("total", 5, "user", Map.of("tier", "GOLD")));
+    assertEquals(5, facts.getSlot(schema.slotOf("total")));
+    assertEquals("GOLD", facts.getSlot(schema.slotOf("user.tier")));
+  }
+
+  @Test
+  void should_seeInPlaceChanges_when_pathThroughCallerMap() {
+    Map<String, Object> user = new HashMap<>();
+    user.put("tier", "GOLD");
+    Facts facts = new Facts(schema).put("user", user);
+
+    user.put("tier", "SILVER");
+
+    assertEquals("SILVER", facts.getSlot(schema.slotOf("user.tier")));
+  }
+
+  @Test
+  void should_fallBackToPropertyLookup_when_pathThroughObject() {
+    FactSchema userSchema = FactSchema.of("user.name");
+    Facts facts = new Facts(userSchema).put("user", new FactsTest.User("John", 30));
+    assertEquals("John", facts.getSlot(0));
+  }
+
+  @Test
+  void should_keepSchemaAndSlots_when_transactionCommits() {
+    Facts facts = new Facts(schema).put("total", 1);
+    FactsTransaction transaction = new FactsTransaction(facts);
+    Facts before = transaction.put("total", 2).snapshot();
+    Facts after = transaction.put("total", 3).put("user.tier", "GOLD").commit();
+
+    assertSame(schema, after.getSchema());
+    assertEquals(1, facts.getSlot(0));
+    assertEquals(2, before.getSlot(0));
+    assertEquals(3, after.getSlot(0));
+    assertEquals("GOLD", after.getSlot(schema.slotOf("user.tier")));
+  }
+
+  @Test
+  void should_throwException_when_noSchema() {
+    assertThrows(IllegalStateException.class, () -> new Facts().getSlot(0));
+  }
+}
@@ -4,9 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -101,6 +103,108 @@ class FactsTest {
     assertEquals(true, facts.get("user.active"));
   }
 
+  @Test
+  void should_notAffectOriginal_when_nestedPut() {
+    Facts original = new Facts().put("user.name", "John").put("user.age", 30);
+    Facts updated = original.put("user.name", "Jane");
+
+    assertEquals("John", original.get("user.name"));
+    assertEquals("Jane", updated.get("user.name"));
+    assertEquals(30, updated.get("user.age"));
+  }
+
+  @Test
+  void should_notReflectSourceChanges_when_constructedFromMap() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("city", "NYC");
+    Map<String, Object> source = new HashMap<>();
+    source.put("address", nested);
+
+    Facts facts = new Facts(source);
+    nested.put("city", "LA");
+    source.put("extra", 1);
+
+    assertEquals("NYC", facts.get("address.city"));
+    assertNull(facts.get("extra"));
+  }
+
+  @Test
+  void should_putIntoCopiedMap_when_mapValueStored() {
+    Map<String, Object> address = new HashMap<>();
+    address.put("city", "NYC");
+    Facts facts = new Facts().put("address", address).put("address.zip", "10001");
+
+    assertEquals("NYC", facts.get("address.city"));
+    assertEquals("10001", facts.get("address.zip"));
+    assertFalse(address.containsKey("zip"));
+  }
+
+  @Test
+  void should_keepCallerMap_when_mapValuePut() {
+    Map<String, Object> address = new HashMap<>();
+    address.put("city", "NYC");
+    Facts facts = new Facts().put("address", address);
+
+    HashMap<?, ?> stored = facts.get("address", HashMap.class);
+    assertSame(address, stored);
+    address.put("zip", "10001");
+    assertEquals("10001", facts.get("address.zip"));
+  }
+
+  @Test
+  void should_keepHashMapCopies_when_constructedFromMap() {
+    Map<String, Object> source = new HashMap<>();
+    source.put("address", new HashMap<>(Map.of("city", "NYC")));
+
+    Facts facts = new Facts(source);
+
+    assertEquals("NYC", facts.get("address", HashMap.class).get("city"));
+  }
+
+  @Test
+  void should_acceptNullKeys_when_mapValueHasThem() {
+    Map<String, Object> address = new HashMap<>();
+    address.put(null, "unknown");
+    address.put("city", "NYC");
+    Facts facts = new Facts().put("address", address).put("address.zip", "10001");
+
+    assertEquals("unknown", facts.get("address", Map.class).get(null));
+    assertEquals("NYC", facts.get("address.city"));
+    Facts copied = new Facts(Map.of("address", address));
+    assertEquals("unknown", copied.get("address", Map.class).get(null));
+  }
+
+  @Test
+  void should_throwException_when_nestedPutThroughNonMap() {
+    Facts facts = new Facts().put("user", "John");
+    assertThrows(IllegalArgumentException.class, () -> facts.put("user.name", "Jane"));
+  }
+
+  @Test
+  void should_removeFact_when_removeCalled() {
+    Facts original = new Facts().put("user.name", "John").put("coupon", "SAVE10");
+    Facts removed = original.remove("coupon");
+
+    assertEquals("SAVE10", original.get("coupon"));
+    assertNull(removed.get("coupon"));
+    assertEquals("John", removed.get("user.name"));
+    assertSame(removed, removed.remove("coupon"));
+    assertThrows(IllegalArgumentException.class, () -> removed.remove("user.name"));
+  }
+
+  @Test
+  void should_keepAllFacts_when_manyPuts() {
+    Facts facts = new Facts();
+    for (int i = 0; i < 1000; i++) {
+      facts = facts.put("fact" + i, i);
+    }
+
+    assertEquals(1000, facts.asMap().size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, facts.get("fact" + i));
+    }
+  }
+
   static class User {
     private String name;
     private int age;
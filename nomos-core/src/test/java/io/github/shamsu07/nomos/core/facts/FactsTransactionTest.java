@@ -0,0 +1,88 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class FactsTransactionTest {
+
+  @Test
+  void should_returnOriginal_when_nothingWritten() {
+    Facts facts = new Facts().put("a", 1);
+    FactsTransaction transaction = new FactsTransaction(facts);
+    assertSame(facts, transaction.commit());
+  }
+
+  @Test
+  void should_notModifyInput_when_writesCommitted() {
+    Facts facts = new Facts().put("a", 1);
+    FactsTransaction transaction = new FactsTransaction(facts);
+
+    Facts result = transaction.put("a", 2).put("b", 3).put("user.name", "John").commit();
+
+    assertEquals(1, facts.get("a"));
+    assertNull(facts.get("b"));
+    assertEquals(2, result.get("a"));
+    assertEquals(3, result.get("b"));
+    assertEquals("John", result.get("user.name"));
+  }
+
+  @Test
+  void should_keepSnapshotUnchanged_when_laterWrites() {
+    FactsTransaction transaction = new FactsTransaction(new Facts());
+    for (int i = 0; i < 100; i++) {
+      transaction.put("fact" + i, i);
+    }
+    Facts snapshot = transaction.snapshot();
+
+    for (int i = 0; i < 100; i++) {
+      transaction.put("fact" + i, -i);
+    }
+    Facts result = transaction.commit();
+
+    assertNotSame(snapshot, result);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, snapshot.get("fact" + i));
+      assertEquals(-i, result.get("fact" + i));
+    }
+  }
+
+  @Test
+  void should_returnSameSnapshot_when_noWritesInBetween() {
+    FactsTransaction transaction = new FactsTransaction(new Facts()).put("a", 1);
+    assertSame(transaction.snapshot(), transaction.snapshot());
+  }
+
+  @Test
+  void should_readWorkingCopy_when_getCalled() {
+    FactsTransaction transaction = new FactsTransaction(new Facts()).put("a", 1).put("b.c", 2);
+    assertEquals(1, transaction.get("a"));
+    assertEquals(2, transaction.get("b.c"));
+  }
+
+  @Test
+  void should_adoptFacts_when_reset() {
+    FactsTransaction transaction = new FactsTransaction(new Facts()).put("a", 1);
+    Facts replacement = new Facts().put("b", 2);
+
+    transaction.reset(replacement);
+    transaction.put("c", 3);
+    Facts result = transaction.commit();
+
+    assertNull(result.get("a"));
+    assertEquals(2, result.get("b"));
+    assertEquals(3, result.get("c"));
+    assertNull(replacement.get("c"));
+  }
+
+  @Test
+  void should_throwException_when_writeAfterCommit() {
+    FactsTransaction transaction = new FactsTransaction(new Facts());
+    transaction.commit();
+    assertThrows(IllegalStateException.class, () -> transaction.put("a", 1));
+  }
+}
@@ -0,0 +1,128 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+  @Test
+  void should_keepOldVersion_when_plusCalled() {
+    PersistentMap first = PersistentMap.EMPTY.plus("a", 1);
+    PersistentMap second = first.plus("a", 2).plus("b", 3);
+
+    assertEquals(1, first.get("a"));
+    assertEquals(1, first.size());
+    assertEquals(2, second.get("a"));
+    assertEquals(3, second.get("b"));
+    assertEquals(2, second.size());
+  }
+
+  @Test
+  void should_returnSameInstance_when_valueUnchanged() {
+    PersistentMap map = PersistentMap.EMPTY.plus("a", "x");
+    assertSame(map, map.plus("a", "x"));
+    assertSame(map, map.minus("missing"));
+  }
+
+  @Test
+  void should_matchHashMap_when_manyEntriesAddedAndRemoved() {
+    PersistentMap map = PersistentMap.EMPTY;
+    Map<String, Object> expected = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      map = map.plus("key" + i, i);
+      expected.put("key" + i, i);
+    }
+    for (int i = 0; i < 5000; i += 3) {
+      map = map.minus("key" + i);
+      expected.remove("key" + i);
+    }
+
+    assertEquals(expected.size(), map.size());
+    assertEquals(expected, map);
+    assertEquals(expected, new HashMap<>(map));
+  }
+
+  @Test
+  void should_handleCollisions_when_keysShareHashCode() {
+    // "Aa" and "BB" have the same String hash code
+    PersistentMap map = PersistentMap.EMPTY.plus("Aa", 1).plus("BB", 2);
+
+    assertEquals(1, map.get("Aa"));
+    assertEquals(2, map.get("BB"));
+    assertEquals(2, map.size());
+
+    PersistentMap removed = map.minus("Aa");
+    assertNull(removed.get("Aa"));
+    assertEquals(2, removed.get("BB"));
+    assertEquals(1, removed.size());
+  }
+
+  @Test
+  void should_distinguishNullValue_when_containsKeyCalled() {
+    PersistentMap map = PersistentMap.EMPTY.plus("a", null);
+    assertTrue(map.containsKey("a"));
+    assertFalse(map.containsKey("b"));
+    assertNull(map.get("a"));
+  }
+
+  @Test
+  void should_keepNestedMaps_when_fromCalled() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("city", "NYC");
+    Map<String, Object> source = new HashMap<>();
+    source.put("address", nested);
+
+    PersistentMap map = PersistentMap.from(source);
+
+    assertSame(nested, map.get("address"));
+    assertSame(map, PersistentMap.from(map));
+  }
+
+  @Test
+  void should_storeNullKey_when_plusCalled() {
+    PersistentMap map = PersistentMap.EMPTY.plus(null, 1).plus("a", 2);
+    assertTrue(map.containsKey(null));
+    assertEquals(1, map.get(null));
+    assertEquals(2, map.size());
+
+    PersistentMap removed = map.minus(null);
+    assertFalse(removed.containsKey(null));
+    assertEquals(1, removed.size());
+  }
+
+  @Test
+  void should_notChangeFrozenMap_when_transientWritesContinue() {
+    PersistentMap.Transient working = new PersistentMap.Transient(PersistentMap.EMPTY);
+    for (int i = 0; i < 500; i++) {
+      working.put("key" + i, i);
+    }
+    PersistentMap frozen = working.persistent();
+
+    for (int i = 0; i < 500; i++) {
+      working.put("key" + i, -i);
+    }
+    working.remove("key0");
+    PersistentMap after = working.persistent();
+
+    assertEquals(500, frozen.size());
+    assertEquals(499, after.size());
+    for (int i = 1; i < 500; i++) {
+      assertEquals(i, frozen.get("key" + i));
+      assertEquals(-i, after.get("key" + i));
+    }
+  }
+
+  @Test
+  void should_throwException_when_modifiedThroughMapInterface() {
+    PersistentMap map = PersistentMap.EMPTY.plus("a", 1);
+    assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.shamsu07.nomos.core.facts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorsTest {
+
+  @Test
+  void should_readProperty_when_getterExists() {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(FactsTest.User.class, "name");
+    assertEquals("John", accessor.apply(new FactsTest.User("John", 30)));
+  }
+
+  @Test
+  void should_readBooleanProperty_when_isGetter() {
+    FactsTest.User user = new FactsTest.User("John", 30);
+    user.setActive(true);
+    assertEquals(true, PropertyAccessors.forProperty(FactsTest.User.class, "active").apply(user));
+  }
+
+  @Test
+  void should_returnNull_when_propertyMissing() {
+    assertNull(PropertyAccessors.forProperty(FactsTest.User.class, "missing"));
+  }
+
+  @Test
+  void should_readComponent_when_record() {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(Point.class, "x");
+    assertEquals(3, accessor.apply(new Point(3, 4)));
+  }
+
+  @Test
+  void should_readField_when_publicField() {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(Holder.class, "value");
+    assertEquals("held", accessor.apply(new Holder()));
+  }
+
+  @Test
+  void should_generateLambda_when_getterAccessible() {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(FactsTest.User.class, "name");
+    assertTrue(accessor.getClass().isHidden());
+  }
+
+  @Test
+  void should_propagateException_when_getterThrows() {
+    Function<Object, Object> accessor = PropertyAccessors.forProperty(Failing.class, "value");
+    assertThrows(IllegalStateException.class, () -> accessor.apply(new Failing()));
+    assertNull(new Facts().put("failing", new Failing()).get("failing.value"));
+  }
+
+  @Test
+  void should_reuseAccessor_when_requestedTwice() {
+    assertSame(
+        PropertyAccessors.forProperty(FactsTest.User.class, "age"),
+        PropertyAccessors.forProperty(FactsTest.User.class, "age"));
+  }
+
+  record Point(int x, int y) {}
+
+  public static class Holder {
+    public final String value = "held";
+  }
+
+  public static class Failing {
+    public String getValue() {
+      throw new IllegalStateException("Not available");
+    }
+  }
+}
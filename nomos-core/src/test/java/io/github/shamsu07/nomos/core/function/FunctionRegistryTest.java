@@ -3,10 +3,21 @@ package io.github.shamsu07.nomos.core.function;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.shamsu07.nomos.core.cache.BoundedCache;
+import io.github.shamsu07.nomos.core.expression.ast.FunctionCallExpression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -136,6 +147,176 @@ class FunctionRegistryTest {
     assertFalse(metadata2.hasFactsParameter());
   }
 
+  @Test
+  void should_cacheResults_when_cacheSizeAnnotated() {
+    CachedFunctions functions = new CachedFunctions();
+    registry.registerFunctionsFrom(functions);
+
+    assertEquals("GOLD", registry.invoke("tier", "c-1"));
+    assertEquals("GOLD", registry.invoke("tier", "c-1"));
+    assertEquals("SILVER", registry.invoke("tier", "c-22"));
+
+    BoundedCache<List<Object>, Object> cache = registry.getResultCache("tier");
+    assertEquals(2, functions.tierCalls);
+    assertEquals(1, cache.hitCount());
+    assertEquals(2, cache.missCount());
+    assertEquals(Duration.ofSeconds(5), cache.getTimeToLive());
+  }
+
+  @Test
+  void should_useCache_when_calledFromExpression() {
+    CachedFunctions functions = new CachedFunctions();
+    registry.registerFunctionsFrom(functions);
+    FunctionCallExpression call =
+        new FunctionCallExpression("tier", List.of(new LiteralExpression("c-1")));
+
+    call.evaluate(new Facts(), registry);
+    call.evaluate(new Facts(), registry);
+
+    assertEquals(1, functions.tierCalls);
+  }
+
+  @Test
+  void should_keyOnDeclaredReads_when_functionTakesFacts() {
+    CachedFunctions functions = new CachedFunctions();
+    registry.registerFunctionsFrom(functions);
+
+    assertEquals("VIP", registry.invoke("segment", new Facts().put("user", "VIP")));
+    assertEquals("VIP", registry.invoke("segment", new Facts().put("user", "VIP").put("x", 1)));
+    assertEquals("NEW", registry.invoke("segment", new Facts().put("user", "NEW")));
+
+    assertEquals(2, functions.segmentCalls);
+  }
+
+  @Test
+  void should_cacheNullResult_when_functionReturnsNull() {
+    CachedFunctions functions = new CachedFunctions();
+    registry.registerFunctionsFrom(functions);
+
+    assertNull(registry.invoke("segment", new Facts()));
+    assertNull(registry.invoke("segment", new Facts()));
+
+    assertEquals(1, functions.segmentCalls);
+  }
+
+  @Test
+  void should_cacheResults_when_enabledProgrammatically() {
+    registry.registerFunctionsFrom(new TestFunctions());
+
+    BoundedCache<List<Object>, Object> cache = registry.cacheResults("add", 100, Duration.ZERO);
+    registry.invoke("add", 1, 2);
+    registry.invoke("add", 1, 2);
+
+    assertEquals(1, cache.hitCount());
+    assertEquals(int.class, registry.getFunction("add").getReturnType());
+  }
+
+  @Test
+  void should_throwException_when_cachingFactsFunctionWithoutReads() {
+    registry.registerFunctionsFrom(new TestFunctions());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> registry.cacheResults("isVIP", 100, Duration.ZERO));
+  }
+
+  @Test
+  void should_throwException_when_resultsAlreadyCached() {
+    registry.registerFunctionsFrom(new TestFunctions());
+    registry.cacheResults("add", 100, Duration.ZERO);
+
+    assertThrows(
+        IllegalStateException.class, () -> registry.cacheResults("add", 100, Duration.ZERO));
+  }
+
+  @Test
+  void should_dropResultCache_when_functionRemoved() {
+    registry.registerFunctionsFrom(new CachedFunctions());
+
+    registry.removeFunction("tier");
+
+    assertNull(registry.getResultCache("tier"));
+  }
+
+  @Test
+  void should_registerNothing_when_annotatedCacheRejected() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> registry.registerFunctionsFrom(new UncacheableFunctions()));
+
+    assertFalse(registry.hasFunction("score"));
+  }
+
+  @Test
+  void should_cacheOnce_when_cachingConcurrently() throws Exception {
+    registry.registerFunctionsFrom(new TestFunctions());
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      for (int round = 0; round < 50; round++) {
+        registry.removeFunction("add");
+        registry.registerFunctionsFrom(new AddFunction());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          results.add(
+              executor.submit(
+                  () -> {
+                    start.await();
+                    try {
+                      registry.cacheResults("add", 100, Duration.ZERO);
+                      return true;
+                    } catch (IllegalStateException e) {
+                      return false;
+                    }
+                  }));
+        }
+        start.countDown();
+
+        int cached = 0;
+        for (Future<Boolean> result : results) {
+          cached += result.get() ? 1 : 0;
+        }
+        assertEquals(1, cached);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(3, registry.invoke("add", 1, 2));
+  }
+
+  static class UncacheableFunctions {
+
+    @NomosFunction(value = "score", cacheSize = 100)
+    public int score(Facts facts) {
+      return 1;
+    }
+  }
+
+  static class AddFunction {
+
+    @NomosFunction("add")
+    public int add(int a, int b) {
+      return a + b;
+    }
+  }
+
+  static class CachedFunctions {
+    int tierCalls;
+    int segmentCalls;
+
+    @NomosFunction(value = "tier", cacheSize = 100, cacheTtlMillis = 5000)
+    public String tier(String customerId) {
+      tierCalls++;
+      return customerId.length() == 3 ? "GOLD" : "SILVER";
+    }
+
+    @NomosFunction(value = "segment", reads = "user", cacheSize = 100)
+    public String segment(Facts facts) {
+      segmentCalls++;
+      return facts.get("user", String.class);
+    }
+  }
+
   static class TestFunctions {
 
     @NomosFunction("isVIP")
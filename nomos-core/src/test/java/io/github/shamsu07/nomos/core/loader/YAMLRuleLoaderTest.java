@@ -2,13 +2,21 @@ package io.github.shamsu07.nomos.core.loader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.action.BoundAction;
 import io.github.shamsu07.nomos.core.action.NomosAction;
 import io.github.shamsu07.nomos.core.expression.ExpressionEvaluator;
+import io.github.shamsu07.nomos.core.expression.compile.BytecodeCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.MethodHandleCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.TieredCompiler;
+import io.github.shamsu07.nomos.core.facts.FactSchema;
 import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.function.NomosFunction;
@@ -18,6 +26,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -240,6 +249,83 @@ class YAMLRuleLoaderTest {
     assertFalse(rule.evaluate(regularFacts));
   }
 
+  @Test
+  void should_keepParsedCondition_when_ruleLoaded() {
+    String yaml =
+        """
+            rules:
+              - name: "Parsed Condition"
+                when: "amount > 10"
+                then:
+                  - discount = 5
+            """;
+
+    Rule rule = loader.load(toInputStream(yaml)).get(0);
+
+    assertEquals("amount > 10", rule.getConditionExpression());
+    assertEquals(evaluator.parse("amount > 10"), rule.getParsedCondition());
+    assertTrue(rule.evaluate(new Facts().put("amount", 20)));
+    assertFalse(rule.evaluate(new Facts().put("amount", 5)));
+  }
+
+  @Test
+  void should_computeDependencies_when_ruleLoaded() {
+    String yaml =
+        """
+            rules:
+              - name: "Known"
+                when: "cart.total > add(user.points, 1)"
+                then:
+                  - discount.percent = cart.total / 10
+                  - status = "APPLIED"
+                  - sendEmail(audit.email)
+              - name: "Declared"
+                when: "true"
+                then:
+                  - grantPoints(10)
+              - name: "Unknown"
+                when: "isVIP()"
+                then:
+                  - resetFacts()
+            """;
+
+    List<Rule> rules = loader.load(toInputStream(yaml));
+
+    assertEquals(Set.of("cart", "user"), rules.get(0).getReads()); // Void actions change nothing
+    assertEquals(Set.of("discount", "status"), rules.get(0).getWrites());
+    assertNull(rules.get(1).getReads()); // grantPoints takes Facts
+    assertEquals(Set.of("user"), rules.get(1).getWrites());
+    assertNull(rules.get(2).getReads()); // isVIP takes Facts without declared reads
+    assertNull(rules.get(2).getWrites()); // resetFacts returns Facts without declared writes
+  }
+
+  @Test
+  void should_computeDependencies_when_valuesAreCompiled() {
+    String yaml =
+        """
+            rules:
+              - name: "Compiled"
+                when: "cart.total > 100"
+                then:
+                  - discount.amount = cart.total * 0.1 + user.points
+            """;
+
+    for (ExpressionCompiler compiler :
+        List.of(
+            new BytecodeCompiler(),
+            new MethodHandleCompiler(),
+            new TieredCompiler(new BytecodeCompiler(), 1_000))) {
+      ExpressionEvaluator compiling = new ExpressionEvaluator(functionRegistry, compiler);
+      YAMLRuleLoader compilingLoader =
+          new YAMLRuleLoader(compiling, functionRegistry, actionRegistry);
+
+      Rule rule = compilingLoader.load(toInputStream(yaml)).get(0);
+
+      assertEquals(Set.of("cart", "user"), rule.getReads(), compiler.getClass().getSimpleName());
+      assertEquals(Set.of("discount"), rule.getWrites(), compiler.getClass().getSimpleName());
+    }
+  }
+
   @Test
   void should_executeMixedActions_when_assignmentsAndFunctions() {
     String yaml =
@@ -285,6 +371,30 @@ class YAMLRuleLoaderTest {
     assertThrows(RuleParseException.class, () -> loader.load(toInputStream(yaml)));
   }
 
+  @Test
+  void should_loadSchema_when_factsListed() {
+    String yaml =
+        """
+        facts:
+          - user.tier
+          - cart.total
+        """;
+
+    FactSchema schema = loader.loadSchema(toInputStream(yaml));
+
+    assertEquals(List.of("user.tier", "cart.total"), schema.getPaths());
+  }
+
+  @Test
+  void should_throwException_when_schemaMissingFactsKey() {
+    String yaml =
+        """
+        rules: []
+        """;
+
+    assertThrows(RuleParseException.class, () -> loader.loadSchema(toInputStream(yaml)));
+  }
+
   @Test
   void should_throwException_when_missingName() {
     String yaml =
@@ -392,6 +502,44 @@ class YAMLRuleLoaderTest {
     assertThrows(RuleParseException.class, () -> loader.load(toInputStream(yaml)));
   }
 
+  @Test
+  void should_throwException_when_actionArgumentCountMismatch() {
+    String yaml =
+        """
+            rules:
+              - name: "Wrong Arity"
+                when: "true"
+                then:
+                  - addToLog("INFO")
+            """;
+
+    RuleParseException e =
+        assertThrows(RuleParseException.class, () -> loader.load(toInputStream(yaml)));
+    assertTrue(e.getMessage().contains("expects 2 argument(s) but got 1"));
+  }
+
+  @Test
+  void should_bindActionAtLoadTime_when_functionCallAction() {
+    String yaml =
+        """
+            rules:
+              - name: "Bound Action"
+                when: "true"
+                then:
+                  - addToLog("INFO", "a, b")
+            """;
+
+    Rule rule = loader.load(toInputStream(yaml)).get(0);
+
+    BoundAction action = assertInstanceOf(BoundAction.class, rule.getActions().get(0));
+    assertEquals("addToLog", action.getMetadata().getName());
+    assertEquals(2, action.getArguments().size());
+
+    rule.execute(new Facts());
+    rule.execute(new Facts());
+    assertEquals(List.of("INFO: a, b", "INFO: a, b"), testActions.logEntries);
+  }
+
   @Test
   void should_throwException_when_nullInputStream() {
     assertThrows(NullPointerException.class, () -> loader.load(null));
@@ -676,6 +824,16 @@ class YAMLRuleLoaderTest {
     public void processValue(Object value) {
       this.lastProcessedValue = ((Number) value).intValue();
     }
+
+    @NomosAction(value = "grantPoints", writes = "user.points")
+    public Facts grantPoints(Facts facts, int points) {
+      return facts.put("user.points", points);
+    }
+
+    @NomosAction("resetFacts")
+    public Facts resetFacts(Facts facts) {
+      return new Facts();
+    }
   }
 
   public static class User {
@@ -2,10 +2,15 @@ package io.github.shamsu07.nomos.core.rule;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.shamsu07.nomos.core.expression.ast.Expression;
+import io.github.shamsu07.nomos.core.expression.ast.LiteralExpression;
 import io.github.shamsu07.nomos.core.facts.Facts;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class RuleTest {
@@ -23,6 +28,28 @@ class RuleTest {
     assertEquals(10, rule.getPriority());
   }
 
+  @Test
+  void should_keepTopLevelKeys_when_dependenciesDeclared() {
+    Rule rule =
+        Rule.builder()
+            .name("Rule")
+            .when(facts -> true)
+            .reads("user.tier", "cart.total", "cart.items")
+            .writes("discount.percent")
+            .then(facts -> facts)
+            .build();
+
+    assertEquals(Set.of("user", "cart"), rule.getReads());
+    assertEquals(Set.of("discount"), rule.getWrites());
+  }
+
+  @Test
+  void should_haveUnknownDependencies_when_notDeclared() {
+    Rule rule = Rule.builder().name("Rule").when(facts -> true).then(facts -> facts).build();
+    assertNull(rule.getReads());
+    assertNull(rule.getWrites());
+  }
+
   @Test
   void should_usePriorityZero_when_notSpecified() {
     Rule rule = Rule.builder().name("Rule").when(facts -> true).then(facts -> facts).build();
@@ -119,6 +146,26 @@ class RuleTest {
     assertEquals("user.type == 'VIP'", rule.getConditionExpression());
   }
 
+  @Test
+  void should_storeParsedCondition_when_whenWithAstUsed() {
+    Expression parsed = new LiteralExpression(true);
+    Rule rule =
+        Rule.builder()
+            .name("Rule")
+            .when("true", parsed)
+            .when(facts -> true)
+            .then(facts -> facts)
+            .build();
+    assertEquals("true", rule.getConditionExpression());
+    assertSame(parsed, rule.getParsedCondition());
+  }
+
+  @Test
+  void should_haveNoParsedCondition_when_lambdaOnly() {
+    Rule rule = Rule.builder().name("Rule").when(facts -> true).then(facts -> facts).build();
+    assertNull(rule.getParsedCondition());
+  }
+
   @Test
   void should_returnImmutableActionsList_when_getActionsCalled() {
     Rule rule = Rule.builder().name("Rule").when(facts -> true).then(facts -> facts).build();
@@ -7,25 +7,25 @@ import io.github.shamsu07.nomos.example.model.User;
 
 public class DiscountFunctions {
 
-  @NomosFunction("isVIP")
+  @NomosFunction(value = "isVIP", reads = "user")
   public boolean isVIP(Facts facts) {
     User user = facts.get("user", User.class);
     return "VIP".equals(user.getType());
   }
 
-  @NomosFunction("isPremium")
+  @NomosFunction(value = "isPremium", reads = "user")
   public boolean isPremium(Facts facts) {
     User user = facts.get("user", User.class);
     return "PREMIUM".equals(user.getType());
   }
 
-  @NomosFunction("cartTotal")
+  @NomosFunction(value = "cartTotal", reads = "cart")
   public double cartTotal(Facts facts) {
     Cart cart = facts.get("cart", Cart.class);
     return cart.getTotal();
   }
 
-  @NomosFunction("itemCount")
+  @NomosFunction(value = "itemCount", reads = "cart")
   public int itemCount(Facts facts) {
     Cart cart = facts.get("cart", Cart.class);
     return cart.getItemCount();
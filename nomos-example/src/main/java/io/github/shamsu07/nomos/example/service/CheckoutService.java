@@ -4,11 +4,14 @@ import io.github.shamsu07.nomos.core.facts.Facts;
 import io.github.shamsu07.nomos.core.reload.ReloadableRuleEngine;
 import io.github.shamsu07.nomos.example.model.Cart;
 import io.github.shamsu07.nomos.example.model.User;
+import java.util.Set;
 import org.springframework.stereotype.Service;
 
 @Service
 public class CheckoutService {
 
+  private static final Set<String> DISCOUNT_OUTPUTS = Set.of("discount.percent");
+
   private final ReloadableRuleEngine ruleEngine;
 
   public CheckoutService(ReloadableRuleEngine ruleEngine) {
@@ -21,8 +24,8 @@ public class CheckoutService {
     facts = facts.put("user", user);
     facts = facts.put("cart", cart);
 
-    // Execute rules
-    Facts result = ruleEngine.execute(facts);
+    // Execute only the rules that can affect the discount
+    Facts result = ruleEngine.execute(facts, DISCOUNT_OUTPUTS);
 
     // Apply discount if calculated
     Double discountPercent = result.get("discount.percent", Double.class);
@@ -1,6 +1,10 @@
 package io.github.shamsu07.nomos.spring;
 
 import io.github.shamsu07.nomos.core.action.ActionRegistry;
+import io.github.shamsu07.nomos.core.expression.compile.BytecodeCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.ExpressionCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.MethodHandleCompiler;
+import io.github.shamsu07.nomos.core.expression.compile.TieredCompiler;
 import io.github.shamsu07.nomos.core.function.FunctionRegistry;
 import io.github.shamsu07.nomos.core.reload.ReloadableRuleEngine;
 import java.io.IOException;
@@ -56,7 +60,10 @@ public class NomosAutoConfiguration {
 
     ReloadableRuleEngine engine =
         new ReloadableRuleEngine(
-            functionRegistry, actionRegistry, properties.isStopOnFirstAppliedRule());
+            functionRegistry,
+            actionRegistry,
+            properties.isStopOnFirstAppliedRule(),
+            expressionCompiler(properties, functionRegistry));
 
     // Load rules if location specified
     if (properties.getRuleLocation() != null && !properties.getRuleLocation().isEmpty()) {
@@ -79,4 +86,25 @@ public class NomosAutoConfiguration {
 
     return engine;
   }
+
+  private static ExpressionCompiler expressionCompiler(
+      NomosProperties properties, FunctionRegistry functionRegistry) {
+    ExpressionCompiler compiler;
+    switch (properties.getExpressionCompiler()) {
+      case BYTECODE:
+        compiler = new BytecodeCompiler();
+        break;
+      case METHOD_HANDLES:
+        compiler = new MethodHandleCompiler(functionRegistry);
+        break;
+      default:
+        return ExpressionCompiler.interpreter();
+    }
+
+    // Interpret cold rules so reloads stay fast; compile only the ones that get hot
+    if (properties.getCompileThreshold() > 0) {
+      return new TieredCompiler(compiler, properties.getCompileThreshold());
+    }
+    return compiler;
+  }
 }
@@ -1,5 +1,6 @@
 package io.github.shamsu07.nomos.spring;
 
+import io.github.shamsu07.nomos.core.expression.compile.TieredCompiler;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "nomos")
@@ -17,6 +18,12 @@ public class NomosProperties {
   /** Fail application startup if rules cannot be loaded (default: true for fail-fast behavior) */
   private boolean failOnLoadError = true;
 
+  /** How rule expressions are executed once parsed */
+  private ExpressionCompilerMode expressionCompiler = ExpressionCompilerMode.INTERPRETER;
+
+  /** Evaluations before an expression is compiled in the background (0: compile at load time) */
+  private int compileThreshold = TieredCompiler.DEFAULT_THRESHOLD;
+
   public String getRuleLocation() {
     return ruleLocation;
   }
@@ -48,4 +55,29 @@ public class NomosProperties {
   public void setFailOnLoadError(boolean failOnLoadError) {
     this.failOnLoadError = failOnLoadError;
   }
+
+  public ExpressionCompilerMode getExpressionCompiler() {
+    return expressionCompiler;
+  }
+
+  public void setExpressionCompiler(ExpressionCompilerMode expressionCompiler) {
+    this.expressionCompiler = expressionCompiler;
+  }
+
+  public int getCompileThreshold() {
+    return compileThreshold;
+  }
+
+  public void setCompileThreshold(int compileThreshold) {
+    this.compileThreshold = compileThreshold;
+  }
+
+  public enum ExpressionCompilerMode {
+    /** Evaluate the parsed AST directly */
+    INTERPRETER,
+    /** Compile to hidden classes */
+    BYTECODE,
+    /** Compile to method handle trees, without defining classes */
+    METHOD_HANDLES
+  }
 }